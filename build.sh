@@ -0,0 +1,47 @@
+#!/bin/sh
+#
+#	build.sh compiles the Java classifier into build/classes.
+#
+#	The sources in src build with a plain javac. SimdDistance, the Vector API
+#	implementation of the distance loops, sits in src-simd and is compiled
+#	only when the JDK has the jdk.incubator.vector module; VectorDistance
+#	loads it by reflection and falls back to the plain loop when it is missing.
+#	To use it at run time, start java with --add-modules jdk.incubator.vector.
+#
+#	MachineLearner and Perceptron are left out as they do not compile.
+#
+#	With the argument test, the checks in test (plain classes with a main()
+#	that exits with status 1 on a failure) are compiled into
+#	build/test-classes and run one after another.
+#
+#	Usage: ./build.sh [test]
+#
+set -e
+cd "$(dirname "$0")"
+
+OUT=build/classes
+TEST_OUT=build/test-classes
+rm -rf "$OUT" "$TEST_OUT"
+mkdir -p "$OUT"
+
+SOURCES=$(find src -name '*.java' ! -name MachineLearner.java ! -name Perceptron.java)
+
+if java --list-modules 2>/dev/null | grep -q '^jdk.incubator.vector@'; then
+	MODULES="--add-modules jdk.incubator.vector"
+	javac -nowarn $MODULES -d "$OUT" $SOURCES $(find src-simd -name '*.java')
+	echo "Built $OUT with SimdDistance"
+else
+	MODULES=""
+	javac -nowarn -d "$OUT" $SOURCES
+	echo "Built $OUT without SimdDistance (jdk.incubator.vector not found)"
+fi
+
+if [ "$1" = "test" ]; then
+	mkdir -p "$TEST_OUT"
+	javac -nowarn -cp "$OUT" -d "$TEST_OUT" $(find test -name '*.java')
+
+	for TEST in $(find test -name '*Test.java'); do
+		CLASS="$(sed -n 's/^package \(.*\);/\1/p' "$TEST").$(basename "$TEST" .java)"
+		java $MODULES -cp "$OUT:$TEST_OUT" "$CLASS"
+	done
+fi
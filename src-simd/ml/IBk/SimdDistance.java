@@ -0,0 +1,159 @@
+/**
+ *	SimdDistance is the implementation of DistanceFunctions on the JDK Vector
+ *	API (jdk.incubator.vector). Each loop handles as many attributes at once
+ *	as the preferred species has lanes, keeps one partial result per lane, and
+ *	adds the lanes together at the end; the attributes left over after the
+ *	last full vector are added one at a time. The bound is checked every
+ *	CHECK attributes by adding up the lanes so far without changing them (and
+ *	not at all when the bound is POSITIVE_INFINITY), so a result that is not
+ *	abandoned is the same with or without a bound.
+ *
+ *	VectorDistance only loads this class by reflection, so the rest of the
+ *	classifier builds and runs without the module. The class sits in its own
+ *	source root, src-simd, which build.sh compiles only when the JDK has
+ *	jdk.incubator.vector (javac and java need --add-modules
+ *	jdk.incubator.vector to use it).
+ *
+ *	@author		Glenn Abastillas
+ *	@version	1.0.0
+ *	@since		October 18, 2026
+ *	@update		October 18, 2026 moved to src-simd so src builds without the module
+ *
+ *	SimdDistance implements the following methods:
+ *		double squaredEuclidean(double[], int, double[], int, int, double):	get the sum of squared differences
+ *		double manhattan(double[], int, double[], int, int, double):			get the sum of absolute differences
+ *		double chebyshev(double[], int, double[], int, int, double):			get the largest absolute difference
+ *		double minkowski(double[], int, double[], int, int, double, double):	get the sum of absolute differences raised to a power
+ *
+ *	SimdDistance is used by the following classes: VectorDistance
+ */
+package edu.classifier.ml;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+final class SimdDistance implements DistanceFunctions{
+
+	private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+	private static final int				   CHECK   = 64;	// attributes between checks of the bound (a multiple of every lane count)
+
+	@Override
+	public double squaredEuclidean(double[] a, int aOffset, double[] b, int bOffset, int length, double bound){
+		DoubleVector sums  = DoubleVector.zero(SPECIES);
+		int			 upper = SPECIES.loopBound(length);
+		int			 i	   = 0;
+
+		while(i < upper){
+			int stop = Math.min(upper, i + CHECK);
+
+			for(; i < stop; i += SPECIES.length()){
+				DoubleVector difference = DoubleVector.fromArray(SPECIES, a, aOffset + i).sub(DoubleVector.fromArray(SPECIES, b, bOffset + i));
+				sums = sums.add(difference.mul(difference));
+			}
+			if(i < upper && bound < Double.POSITIVE_INFINITY){
+				double partial = sums.reduceLanes(VectorOperators.ADD);
+
+				if(partial > bound){
+					return partial;
+				}
+			}
+		}
+
+		double sum = sums.reduceLanes(VectorOperators.ADD);
+
+		for(; i < length; i++){
+			double difference = a[aOffset + i] - b[bOffset + i];
+			sum += difference * difference;
+		}
+		return sum;
+	}
+
+	@Override
+	public double manhattan(double[] a, int aOffset, double[] b, int bOffset, int length, double bound){
+		DoubleVector sums  = DoubleVector.zero(SPECIES);
+		int			 upper = SPECIES.loopBound(length);
+		int			 i	   = 0;
+
+		while(i < upper){
+			int stop = Math.min(upper, i + CHECK);
+
+			for(; i < stop; i += SPECIES.length()){
+				sums = sums.add(DoubleVector.fromArray(SPECIES, a, aOffset + i).sub(DoubleVector.fromArray(SPECIES, b, bOffset + i)).abs());
+			}
+			if(i < upper && bound < Double.POSITIVE_INFINITY){
+				double partial = sums.reduceLanes(VectorOperators.ADD);
+
+				if(partial > bound){
+					return partial;
+				}
+			}
+		}
+
+		double sum = sums.reduceLanes(VectorOperators.ADD);
+
+		for(; i < length; i++){
+			sum += Math.abs(a[aOffset + i] - b[bOffset + i]);
+		}
+		return sum;
+	}
+
+	@Override
+	public double chebyshev(double[] a, int aOffset, double[] b, int bOffset, int length, double bound){
+		DoubleVector maxima = DoubleVector.broadcast(SPECIES, Double.NEGATIVE_INFINITY);
+		int			 upper	= SPECIES.loopBound(length);
+		int			 i		= 0;
+
+		while(i < upper){
+			int stop = Math.min(upper, i + CHECK);
+
+			for(; i < stop; i += SPECIES.length()){
+				maxima = maxima.max(DoubleVector.fromArray(SPECIES, a, aOffset + i).sub(DoubleVector.fromArray(SPECIES, b, bOffset + i)).abs());
+			}
+			if(i < upper && bound < Double.POSITIVE_INFINITY){
+				double partial = maxima.reduceLanes(VectorOperators.MAX);
+
+				if(partial > bound){
+					return partial;
+				}
+			}
+		}
+
+		double max = maxima.reduceLanes(VectorOperators.MAX);
+
+		for(; i < length; i++){
+			max = Math.max(max, Math.abs(a[aOffset + i] - b[bOffset + i]));
+		}
+		return max;
+	}
+
+	@Override
+	public double minkowski(double[] a, int aOffset, double[] b, int bOffset, int length, double p, double bound){
+		DoubleVector sums  = DoubleVector.zero(SPECIES);
+		int			 upper = SPECIES.loopBound(length);
+		int			 i	   = 0;
+
+		while(i < upper){
+			int stop = Math.min(upper, i + CHECK);
+
+			for(; i < stop; i += SPECIES.length()){
+				DoubleVector difference = DoubleVector.fromArray(SPECIES, a, aOffset + i).sub(DoubleVector.fromArray(SPECIES, b, bOffset + i)).abs();
+				sums = sums.add(difference.lanewise(VectorOperators.POW, p));
+			}
+			if(i < upper && bound < Double.POSITIVE_INFINITY){
+				double partial = sums.reduceLanes(VectorOperators.ADD);
+
+				if(partial > bound){
+					return partial;
+				}
+			}
+		}
+
+		double sum = sums.reduceLanes(VectorOperators.ADD);
+
+		for(; i < length; i++){
+			sum += Math.pow(Math.abs(a[aOffset + i] - b[bOffset + i]), p);
+		}
+		return sum;
+	}
+}
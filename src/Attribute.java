@@ -10,6 +10,8 @@
  * 	@since		February 9, 2016
  *
  *	update	February 10, 2016	added getLabel(int) method; returns String
+ *	update	October 18, 2026	labels are looked up in a hash map (label to code) and an array (code to label);
+ *								numeric attributes parse their values without a lookup
  * 
  * 	Attribute() inherits from the DataObject() class, which provides basic functionality to access and change its data members.
  * 	Methods inherited from DataObject include: 
@@ -22,6 +24,9 @@
  * 
  * 	Attribute() also has the following methods:
  * 		getValue(String):	get the attribute's value corresponding to label parameter
+ *		valueOf(String):	get the attribute's value corresponding to label parameter as a double
+ *		getLabelCount():	get the number of label codes
+ *		getLabelsByCode():	get the labels ordered by their codes
  *		getLabel(int):		get the the label value corresponding to the int index input (added February 10, 2016)
  *		getLabel(Double):	get the the label value corresponding to the Double index input
  *		getIndex():			get the index for this attribute when part of an AttributeSet
@@ -38,6 +43,9 @@ import java.util.*;
 
 public class Attribute extends DataObject{
 
+	protected HashMap<String, Integer> codes = new HashMap<String, Integer>();	// label (lower case) to code
+	protected String[]				   labelsByCode;							// code to label; null if the label was repeated with a later code
+
 	/**
 	 * Constructor with no parameters
 	 */
@@ -82,8 +90,19 @@ public class Attribute extends DataObject{
 		this.setName(name);
 		this.setType(type);
 
+		this.labelsByCode = new String[labels.length];
+
 		for(int i = 0; i < labels.length; i++){
-			this.data.put(labels[i].toLowerCase(), (double)i);
+			String label = labels[i].toLowerCase();
+			Integer previousCode = this.codes.put(label, i);
+
+			// A repeated label keeps its last code, as in the TreeMap
+			if(previousCode != null){
+				this.labelsByCode[previousCode] = null;
+			}
+
+			this.getData().put(label, (double)i);
+			this.labelsByCode[i] = label;
 		}
 	}
 
@@ -93,17 +112,32 @@ public class Attribute extends DataObject{
 	 *	@return Double	value	numerical value of label
 	 */
 	public Double getValue(String label){
-		Double value = 999.99;
-		for(Map.Entry<String, Double> e: this.data.entrySet()){
-			if(label.toLowerCase().equals(e.getKey())){
-				value = e.getValue();
-				break;
-			}
+		return this.valueOf(label);
+	}
+
+	/**
+	 *	Get value for String input for this attribute without boxing. Numeric
+	 *	attributes parse the label as a number. Nominal attributes look the label
+	 *	up in the label dictionary and parse it as a number if it is not found.
+	 *	@param	String	label	label to be converted into a numerical value for this attribute
+	 *	@return double	value	numerical value of label
+	 */
+	public double valueOf(String label){
+		if(this.type == 1){
+			return Double.parseDouble(label);
 		}
-		if(value.equals(999.99)){
-			value = Double.parseDouble(label);
+
+		// Labels are stored in lower case; only lower-case the input if it is not found as is
+		Integer code = this.codes.get(label);
+
+		if(code == null){
+			code = this.codes.get(label.toLowerCase());
 		}
-		return value;
+
+		if(code == null){
+			return Double.parseDouble(label);
+		}
+		return code;
 	}
 
 	/** 
@@ -121,15 +155,33 @@ public class Attribute extends DataObject{
 	 *	@return	String	label	label of integer value input. If value is not found in this Attribute's data, 'NA' is returned.
 	 */
 	public String getLabel(Double value){
-		String label = "NA";
-		for(Map.Entry<String, Double> e: this.data.entrySet()){
-			//System.out.println("Attribute.java\tKey:\t" + e.getKey() + "\tValue:\t" + value);
-			if(value.equals(e.getValue())){
-				label = e.getKey();
-				break;
-			}
+		if(this.type == 1){
+			return value.toString();
 		}
-		return label;
+
+		double code = value;
+		int    index = (int) code;
+
+		if(index == code && index >= 0 && index < this.labelsByCode.length && this.labelsByCode[index] != null){
+			return this.labelsByCode[index];
+		}
+		return "NA";
+	}
+
+	/**
+	 *	Get the number of label codes of this attribute
+	 *	@return	int	number of codes (labels given to the constructor)
+	 */
+	public int getLabelCount(){
+		return this.labelsByCode.length;
+	}
+
+	/**
+	 *	Get the labels of this attribute ordered by their codes
+	 *	@return	String[] where index i holds the label with code i, or null if code i is not used
+	 */
+	public String[] getLabelsByCode(){
+		return this.labelsByCode.clone();
 	}
 
 	/** 
@@ -169,7 +221,7 @@ public class Attribute extends DataObject{
 			output += "numeric ";
 		}
 
-		for(Map.Entry<String, Double> entry : this.data.entrySet()){
+		for(Map.Entry<String, Double> entry : this.getData().entrySet()){
 			output += entry.getKey() + " ";
 		}
 
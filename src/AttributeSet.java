@@ -47,7 +47,7 @@ public class AttributeSet extends DataObjectSet<Attribute>{
 	 */
 	public AttributeSet(Attribute[] attributes){
 		for(Attribute a: attributes){
-			this.data.add(a);
+			this.append(a);
 		}
 	}
 
@@ -66,7 +66,7 @@ public class AttributeSet extends DataObjectSet<Attribute>{
 	 */
 	public int getIndex(Attribute attribute) throws NoSuchElementException{
 		System.err.println("In getIndex() method:\t" + attribute.getName());
-		if(!this.data.contains(attribute)){
+		if(!this.contains(attribute)){
 			throw new NoSuchElementException("In getIndex() method, specified attribute does not exist in this AttributeSet."); 
 		}
 		return this.data.indexOf(attribute);
@@ -0,0 +1,254 @@
+/**
+ *	BinaryDataSet reads and writes a compact binary form of a DataSet (*.glb).
+ *	A text data set (e.g., *.gla) is converted once with convert(); after that
+ *	the binary file is opened with read(), which maps its column blocks with
+ *	FileChannel.map instead of parsing anything. DataSet.load() does this
+ *	automatically for file names ending in ".glb".
+ *
+ *	File layout (big-endian):
+ *		int			magic number ("GLB1")
+ *		int			header length in bytes
+ *		header		data set name, attributes (name, type, labels in code order), dimension, number of examples
+ *		padding		to the next multiple of 8 bytes
+ *		columns		one block of (number of examples) doubles per attribute
+ *		labels		one block of (number of examples) int label codes
+ *
+ *  @author		Glenn Abastillas
+ *  @version	1.0.0
+ *  @since		October 18, 2026
+ *
+ * 	BinaryDataSet implements the following methods:
+ *		void convert(String, String):	convert a text data set file into a binary data set file
+ *		void write(DataSet, String):	write a loaded DataSet to a binary data set file
+ *		DataSet read(String):			map a binary data set file into a DataSet
+ *
+ *	BinaryDataSet is used by the following classes: DataSet
+ */
+
+package edu.classifier.dataset;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Iterator;
+
+import edu.templates.data.DataObjectSet;
+
+public class BinaryDataSet{
+
+	public static final String EXTENSION = ".glb";
+
+	private static final int MAGIC = 0x474C4231;	// "GLB1"
+
+	/**
+	 *	Convert a text data set file into a binary data set file. The text file is
+	 *	read twice (once to count the examples and once to write them), one line
+	 *	at a time, so files larger than the heap can be converted.
+	 *	@param	textFileName: pathway to text file containing dataset information
+	 *	@param	binaryFileName: pathway to the binary file to write
+	 */
+	public static void convert(String textFileName, String binaryFileName) throws IOException{
+		int size = countExamples(textFileName);
+
+		try(GlaReader reader = new GlaReader(textFileName)){
+			write(reader.getName(), reader.getAttributeSet(), size, reader, binaryFileName);
+		}
+	}
+
+	/**
+	 *	Write a loaded DataSet to a binary data set file
+	 *	@param	dataSet: DataSet to write
+	 *	@param	binaryFileName: pathway to the binary file to write
+	 */
+	public static void write(DataSet dataSet, String binaryFileName) throws IOException{
+		write(dataSet.getName(), dataSet.getAttributeSet(), dataSet.size(), dataSet.getExampleSet().iterator(), binaryFileName);
+	}
+
+	/**
+	 *	Map a binary data set file into a DataSet. The examples of the returned
+	 *	DataSet are ColumnExample views over a MappedExampleColumns store.
+	 *	@param	binaryFileName: pathway to the binary file to read
+	 *	@return	DataSet backed by the mapped file
+	 */
+	public static DataSet read(String binaryFileName) throws IOException{
+		try(RandomAccessFile file = new RandomAccessFile(binaryFileName, "r"); FileChannel channel = file.getChannel()){
+
+			ByteBuffer prefix = channel.map(FileChannel.MapMode.READ_ONLY, 0, 8);
+
+			if(prefix.getInt() != MAGIC){
+				throw new IOException("In read() method, " + binaryFileName + " is not a binary data set file.");
+			}
+
+			byte[] header = new byte[prefix.getInt()];
+			channel.map(FileChannel.MapMode.READ_ONLY, 8, header.length).get(header);
+
+			DataInputStream input = new DataInputStream(new ByteArrayInputStream(header));
+			String name = input.readUTF();
+			AttributeSet attributeSet = new AttributeSet();
+
+			// Rebuild each Attribute with its labels in code order
+			int attributes = input.readInt();
+			for(int i = 0; i < attributes; i++){
+				String attributeName = input.readUTF();
+				int type = input.readInt();
+				String[] labels = new String[input.readInt()];
+
+				for(int j = 0; j < labels.length; j++){
+					labels[j] = input.readUTF();
+				}
+				attributeSet.add(new Attribute(attributeName, Integer.toString(type), labels));
+			}
+
+			int dimension = input.readInt();
+			int size	  = input.readInt();
+
+			// Map each column block and the label block without reading them
+			long position = align(8L + header.length);
+			DoubleBuffer[] columns = new DoubleBuffer[dimension];
+
+			for(int i = 0; i < dimension; i++){
+				columns[i] = channel.map(FileChannel.MapMode.READ_ONLY, position, size * 8L).asDoubleBuffer();
+				position  += size * 8L;
+			}
+			IntBuffer labels = channel.map(FileChannel.MapMode.READ_ONLY, position, size * 4L).asIntBuffer();
+
+			// Every row is a distinct example, so the ExampleSet does not need a membership check
+			ExampleSet exampleSet = new ExampleSet(new MappedExampleColumns(columns, labels), DataObjectSet.NONE);
+
+			return new DataSet(name, attributeSet, exampleSet);
+		}
+	}
+
+	/**
+	 *	Write the header and the column blocks of a binary data set file
+	 *	@param	name: data set name
+	 *	@param	attributeSet: attributes of the data set, class attribute last
+	 *	@param	size: number of examples that examples will return
+	 *	@param	examples: Iterator over the examples to write
+	 *	@param	binaryFileName: pathway to the binary file to write
+	 */
+	private static void write(String name, AttributeSet attributeSet, int size, Iterator<Example> examples, String binaryFileName) throws IOException{
+		ByteArrayOutputStream headerBytes = new ByteArrayOutputStream();
+		DataOutputStream output = new DataOutputStream(headerBytes);
+		int dimension = attributeSet.size() - 1;
+
+		output.writeUTF(name);
+		output.writeInt(attributeSet.size());
+
+		for(Attribute attribute : attributeSet){
+			String[] labels = attribute.getLabelsByCode();
+
+			output.writeUTF(attribute.getName());
+			output.writeInt(attribute.getType());
+			output.writeInt(labels.length);
+
+			// Codes not used by any label (e.g., a repeated label) are written as empty labels
+			for(String label : labels){
+				output.writeUTF((label == null) ? "" : label);
+			}
+		}
+
+		output.writeInt(dimension);
+		output.writeInt(size);
+		output.flush();
+
+		byte[] header = headerBytes.toByteArray();
+		long dataStart = align(8L + header.length);
+		long length	   = dataStart + size * (dimension * 8L + 4L);
+
+		try(RandomAccessFile file = new RandomAccessFile(binaryFileName, "rw"); FileChannel channel = file.getChannel()){
+			file.setLength(0);
+			file.setLength(length);
+
+			ByteBuffer prefix = ByteBuffer.allocate(8 + header.length);
+			prefix.putInt(MAGIC).putInt(header.length).put(header).flip();
+			channel.write(prefix, 0);
+
+			// Map each column block for writing; rows arrive in order so each block is filled front to back
+			MappedByteBuffer[] blocks = new MappedByteBuffer[dimension];
+			DoubleBuffer[] columns = new DoubleBuffer[dimension];
+
+			for(int i = 0; i < dimension; i++){
+				blocks[i]  = channel.map(FileChannel.MapMode.READ_WRITE, dataStart + i * (size * 8L), size * 8L);
+				columns[i] = blocks[i].asDoubleBuffer();
+			}
+
+			MappedByteBuffer labelBlock = channel.map(FileChannel.MapMode.READ_WRITE, dataStart + dimension * (size * 8L), size * 4L);
+			IntBuffer labels = labelBlock.asIntBuffer();
+			double[] row = new double[dimension];
+
+			for(int count = 0; count < size; count++){
+				if(!examples.hasNext()){
+					throw new IOException("In write() method, expected " + size + " examples but got " + count + ".");
+				}
+
+				Example example = examples.next();
+				Double label = example.getLabel();
+
+				if(label != Math.rint(label)){
+					throw new IOException("In write() method, class label " + label + " is not a label code.");
+				}
+
+				example.copyInto(row);
+
+				for(int i = 0; i < dimension; i++){
+					columns[i].put(row[i]);
+				}
+				labels.put(label.intValue());
+			}
+
+			for(MappedByteBuffer block : blocks){
+				block.force();
+			}
+			labelBlock.force();
+		}
+	}
+
+	/**
+	 *	Count the example lines of a text data set file without parsing them
+	 *	@param	textFileName: pathway to text file containing dataset information
+	 *	@return	number of lines starting with '#'
+	 */
+	private static int countExamples(String textFileName) throws IOException{
+		int count = 0;
+
+		try(BufferedReader reader = new BufferedReader(new FileReader(textFileName))){
+			String line;
+
+			while((line = reader.readLine()) != null){
+				if(line.startsWith("#")){
+					count++;
+				}
+			}
+		}
+		return count;
+	}
+
+	/**
+	 *	Round a file position up to the next multiple of 8 bytes
+	 *	@param	position: byte offset
+	 *	@return	aligned byte offset
+	 */
+	private static long align(long position){
+		return (position + 7L) & ~7L;
+	}
+
+	public static void main(String[] args) throws IOException{
+		String fileName = "/Users/ducrix/Documents/Research/Java/classifier/resources/data/ml/test_cars.gla";
+
+		BinaryDataSet.convert(fileName, fileName.replace(".gla", EXTENSION));
+		DataSet dataSet = new DataSet(fileName.replace(".gla", EXTENSION));
+
+		System.out.println("Name:\t" + dataSet.getName() + "\tExamples:\t" + dataSet.size());
+	}
+}
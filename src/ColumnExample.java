@@ -0,0 +1,108 @@
+/**
+ *	ColumnExample is an Example that reads its values and class label from a
+ *	row of an ExampleColumns store instead of keeping its own copy. It holds
+ *	only the store and the row number, so an ExampleSet of millions of these
+ *	costs one small object per example on top of the columns themselves.
+ *
+ *  @author		Glenn Abastillas
+ *  @version	1.0.0
+ *  @since		October 18, 2026
+ *
+ * 	ColumnExample() inherits from the Example() class. Methods overridden from Example include:
+ *		Double getLabel():			get the class label stored for this row
+ *		ArrayList data():			get this row's values in attribute order
+ *		double valueAt(int):		get the value at an attribute index
+ *		int dimension():			get the number of attribute values
+ *		void copyInto(double[]):	copy this row's values into an array
+ *
+ * 	ColumnExample() also has the following methods:
+ *		int getRow():					get the row of this example in its store
+ *		ExampleColumns getColumns():	get the store this example reads from
+ */
+
+package edu.classifier.dataset;
+
+import java.util.ArrayList;
+
+public class ColumnExample extends Example{
+
+	protected ExampleColumns columns;	// store holding this example's values
+	protected int			 row;		// row of this example in columns
+
+	/**
+	 *	Constructor with the store and row to read from
+	 *	@param	columns: ExampleColumns store
+	 *	@param	row: row of this example in columns
+	 */
+	public ColumnExample(ExampleColumns columns, int row){
+		this.columns = columns;
+		this.row	 = row;
+	}
+
+	/**
+	 *	Get example's class label
+	 *	@return	Double	classLabel	label code stored for this row
+	 */
+	@Override
+	public Double getLabel(){
+		return (double) this.columns.labelAt(this.row);
+	}
+
+	/**
+	 *	Get the value at an attribute index
+	 *	@param	index: attribute index (0 to dimension() - 1)
+	 *	@return	double value at index
+	 */
+	@Override
+	public double valueAt(int index){
+		return this.columns.valueAt(this.row, index);
+	}
+
+	/**
+	 *	Get the number of attribute values in this example
+	 *	@return	integer number of values
+	 */
+	@Override
+	public int dimension(){
+		return this.columns.dimension();
+	}
+
+	/**
+	 *	Copy this example's values into an array in attribute order
+	 *	@param	destination: array of at least dimension() values
+	 */
+	@Override
+	public void copyInto(double[] destination){
+		this.columns.copyRow(this.row, destination);
+	}
+
+	/**
+	 *	Get this example's values in attribute order
+	 *	@return	ArrayList<Double> of this row's values
+	 */
+	@Override
+	public ArrayList<Double> data(){
+		ArrayList<Double> data = new ArrayList<Double>(this.columns.dimension());
+
+		for(int i = 0; i < this.columns.dimension(); i++){
+			data.add(this.columns.valueAt(this.row, i));
+		}
+		return data;
+	}
+
+	/**
+	 *	Get the row of this example in its store
+	 *	@return	row number
+	 */
+	public int getRow(){
+		return this.row;
+	}
+
+	/**
+	 *	Get the store this example reads from
+	 *	@return	ExampleColumns object
+	 */
+	public ExampleColumns getColumns(){
+		return this.columns;
+	}
+}
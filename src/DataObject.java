@@ -5,6 +5,9 @@
  *	
  *	@update		Feburary 16, 2016: 	Updated the getValues(int) method to correctly return the value at the given index. Removed the -1 operation on the input because
  *				the ArrayList is already -1 in size as the classification label is stored in a different variable. (Will be formatted later)
+ *	@update		October 18, 2026:	Added valueAt(int), dimension() and copyInto(double[]) to read values without copying data into an ArrayList.
+ *	@update		October 18, 2026:	data is made on first use by getData(), so objects that never read it do not allocate it.
+ *	@update		October 18, 2026:	iterator() reads the values in place instead of copying them into an ArrayList.
  *	
  *	DataObject provides universal data and methods that are used by edu.classifier.Attribute and edu.classifier.Example. 
  *	These data pertain to the names, types, and lists of data for each class:
@@ -26,11 +29,24 @@ public class DataObject implements Iterable<Double>{
 	protected int    type;		// This variable will be used by edu.classifier.Attribute
 	protected int 	 index = 0; // This variable will be used to indicate the index of this object
 
-	protected TreeMap<String, Double> data = new TreeMap<String, Double>();	// This variable will be used by edu.classifier.Attribute and edu.classifier.Example
+	protected TreeMap<String, Double> data = null;	// This variable will be used by edu.classifier.Attribute; made on first use by getData(), so Examples never make it
 
 	protected static final String[] nominal = new String[]{"nominal", "nom", "c", "0"};	// This variable is used to check the kind of data an attribute receives.
 	protected static final String[] numeric = new String[]{"numeric", "num", "n", "1"};	// This variable is used to check the kind of data an attribute receives.
 	
+	/**
+	 *	Get the TreeMap of labels and values, making it on first use. Subclasses
+	 *	that keep their values somewhere else (e.g., Example) override every
+	 *	method that reads it, so they never pay for an empty TreeMap.
+	 *	@return	data
+	 */
+	protected TreeMap<String, Double> getData(){
+		if(this.data == null){
+			this.data = new TreeMap<String, Double>();
+		}
+		return this.data;
+	}
+
 	// Set name to string input
 	public void setName(String name){
 		this.name = name;
@@ -66,34 +82,73 @@ public class DataObject implements Iterable<Double>{
 	 *	@param	index: integer referring to the location of the value in data
 	 */
 	public Double getValue(int index){
-		ArrayList<Double> values = this.data();
+		int size = this.dimension();
 
-		if(index > values.size()){
+		if(index > size){
 
 			// If the index is greater than the size of the ArrayList, return the last object in the list
-			return values.get(values.size());
+			return this.valueAt(size);
 
-		} else if(index < 0 && (index + values.size()) > 0.0){
+		} else if(index < 0 && (index + size) > 0.0){
 
 			// If the number of values minus index value are greater than zero, return that index (e.g., -2 + 3 = index of 1)
-			return values.get(values.size()+index);
+			return this.valueAt(size+index);
 
-		} else if(index < 0 && (index + values.size()) <= 0.0){
+		} else if(index < 0 && (index + size) <= 0.0){
 
 			// If the number of values minus index value are less than or equal to zero, return the zeroeth index
-			return values.get(0);
+			return this.valueAt(0);
 
 		} else {
 
 			// Return 
-			return values.get(index);
+			return this.valueAt(index);
+		}
+	}
+
+	/**
+	 *	Return the value of data at the index specified without copying data into a list.
+	 *	Subclasses that keep their values in an array override this method.
+	 *	@param	index: integer referring to the location of the value in data (0 to dimension() - 1)
+	 *	@return	double value at index
+	 */
+	public double valueAt(int index){
+		if(index < 0 || index >= this.getData().size()){
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.getData().size());
+		}
+
+		for(Double value : this.getData().values()){
+			if(index-- == 0){
+				return value;
+			}
+		}
+		return 0.0;
+	}
+
+	/**
+	 *	Get the number of values in data without copying data into a list
+	 *	@return	integer number of values
+	 */
+	public int dimension(){
+		return this.getData().size();
+	}
+
+	/**
+	 *	Copy the values of data into an array in order
+	 *	@param	destination: array of at least dimension() values
+	 */
+	public void copyInto(double[] destination){
+		int index = 0;
+
+		for(Double value : this.getData().values()){
+			destination[index++] = value;
 		}
 	}
 
 	// Return ArrayList<Double> of values for this object
 	public ArrayList<Double> data(){
 		ArrayList<Double> values = new ArrayList<Double>();
-		for(Map.Entry<String, Double> entry: this.data.entrySet()){
+		for(Map.Entry<String, Double> entry: this.getData().entrySet()){
 			//System.out.println(entry.getValue());
 			values.add(entry.getValue());
 		}
@@ -105,17 +160,59 @@ public class DataObject implements Iterable<Double>{
 	public ArrayList<String> labels(){
 		ArrayList<String> labels = new ArrayList<String>();
 
-		for(Map.Entry<String, Double> entry: this.data.entrySet()){
+		for(Map.Entry<String, Double> entry: this.getData().entrySet()){
 			//System.out.println(entry.getValue());
 			labels.add(entry.getKey());
 		}
 		return labels;
 	}
 
-	// Iterator for the values in TreeMap data, allow foreach iteration
+	/**
+	 *	Get a hash code computed from this object's content rather than its identity
+	 *	@return	hash of the name, type and data of this object
+	 */
+	public int contentHashCode(){
+		return Objects.hash(this.name, this.type, this.getData());
+	}
+
+	/**
+	 *	Check if another object has the same content as this object
+	 *	@param	other: DataObject to compare with
+	 *	@return	true if the name, type and data are equal
+	 */
+	public boolean contentEquals(DataObject other){
+		return other != null && other.getClass() == this.getClass() && Objects.equals(this.name, other.name) && this.type == other.type && this.getData().equals(other.getData());
+	}
+
+	/**
+	 *	Get an iterator over this object's values, allowing foreach iteration.
+	 *	Values kept in the TreeMap are iterated in place; otherwise the
+	 *	iterator reads valueAt(i) for i from 0 to dimension() - 1, so no list
+	 *	of the values is made.
+	 *	@return	Iterator over the values in order
+	 */
 	@Override
 	public Iterator<Double> iterator(){
-		return this.data().iterator();
+		if(this.data != null){
+			return Collections.unmodifiableCollection(this.data.values()).iterator();
+		}
+
+		return new Iterator<Double>(){
+			private int next = 0;
+
+			@Override
+			public boolean hasNext(){
+				return this.next < DataObject.this.dimension();
+			}
+
+			@Override
+			public Double next(){
+				if(this.next >= DataObject.this.dimension()){
+					throw new NoSuchElementException();
+				}
+				return DataObject.this.valueAt(this.next++);
+			}
+		};
 	}
 
 	/**
@@ -123,7 +220,7 @@ public class DataObject implements Iterable<Double>{
 	 *	@return	integer of the size of elements in data
 	 */
 	public int size(){
-		return this.data().size();
+		return this.dimension();
 	}
 
 	public static void main(String[] args){
@@ -13,6 +13,10 @@
  * 		K get(int):				get K element at int index
  * 		Integer size():			get size of object's ArrayList
  * 		Iterator<K> iterator():	get iterator for this object's ArrayList (overridden)
+ * 		boolean contains(K):	check if an element is in this set
+ * 		void setMembership(int):	set how membership is checked: IDENTITY (default), CONTENT, or NONE
+ * 		void added(K, int):		hook called after an element is added (overridden by subclasses that index their elements)
+ * 		void removed(K, int):	hook called after an element is removed (overridden by subclasses that index their elements)
  * 
  *	DataObjectSet is inherited by the following classes: AttributeSet, ExampleSet
  */
@@ -22,18 +26,102 @@ import java.util.*;
 
 public abstract class DataObjectSet<K> implements Iterable<K>{
 
+	public static final int IDENTITY = 0;	// an element is in the set if the same object was added (default)
+	public static final int CONTENT	 = 1;	// an element is in the set if an element with the same content was added
+	public static final int NONE	 = 2;	// no membership check; add() appends every element (trusted bulk loads)
+
 	protected ArrayList<K> data = new ArrayList<K>();	
+	protected int		   membership = IDENTITY;									// how add() and contains() check membership
+	protected Set<Object>  members	  = Collections.newSetFromMap(new IdentityHashMap<>());	// keys of the elements in data; null if membership is NONE
 
 	// Add K element to the data ArrayList if it does not exist
 	public void add(K element){
-		if(!this.data.contains(element)){
-			this.data.add(element);
+		if(this.membership == NONE || !this.contains(element)){
+			this.append(element);
+		}
+	}
+
+	// Add K element to the end of the data ArrayList without checking if it exists
+	protected void append(K element){
+		this.data.add(element);
+
+		if(this.members != null){
+			this.members.add(this.key(element));
 		}
+		this.added(element, this.data.size() - 1);
 	}
 
 	// Remove K element at int index from Arraylist
 	public void remove(int index){
-		this.data.remove(index);
+		K element = this.data.remove(index);
+
+		if(this.members != null){
+			this.members.remove(this.key(element));
+		}
+		this.removed(element, index);
+	}
+
+	/**
+	 *	Check if an element is in this set using this set's membership strategy.
+	 *	With NONE, this falls back to a linear scan of data.
+	 *	@param	element: element to look for
+	 *	@return	true if element is in this set
+	 */
+	public boolean contains(K element){
+		if(this.members == null){
+			return this.data.contains(element);
+		}
+		return this.members.contains(this.key(element));
+	}
+
+	/**
+	 *	Set how this set checks membership in add() and contains()
+	 *	@param	membership: IDENTITY, CONTENT, or NONE
+	 */
+	public void setMembership(int membership) throws IllegalArgumentException{
+		if(membership != IDENTITY && membership != CONTENT && membership != NONE){
+			throw new IllegalArgumentException("In setMembership() method, unknown membership strategy " + membership + ".");
+		}
+
+		this.membership = membership;
+
+		if(membership == IDENTITY){
+			this.members = Collections.newSetFromMap(new IdentityHashMap<>());
+		} else if(membership == CONTENT){
+			this.members = new HashSet<>();
+		} else {
+			this.members = null;
+		}
+
+		// Rebuild the keys of the elements already in this set
+		if(this.members != null){
+			for(K element : this.data){
+				this.members.add(this.key(element));
+			}
+		}
+	}
+
+	/**
+	 *	Get how this set checks membership
+	 *	@return	IDENTITY, CONTENT, or NONE
+	 */
+	public int getMembership(){
+		return this.membership;
+	}
+
+	// Return the key used for element in members
+	private Object key(K element){
+		return (this.membership == CONTENT) ? new ContentKey(element) : element;
+	}
+
+	// Called after element is added at index; subclasses override this to keep their own indices up to date
+	protected void added(K element, int index){
+		// Nothing to update
+	}
+
+	// Called after element is removed from index; elements after it have moved down by one
+	protected void removed(K element, int index){
+		// Nothing to update
 	}
 
 	// Return K element at int index
@@ -64,4 +152,39 @@ public abstract class DataObjectSet<K> implements Iterable<K>{
 		return this.data;
 	}
 
+	/**
+	 *	ContentKey wraps an element so that it is hashed and compared by its
+	 *	content. DataObjects use contentHashCode() and contentEquals(); other
+	 *	elements use their own hashCode() and equals().
+	 */
+	private static final class ContentKey{
+
+		private final Object element;
+		private final int	 hash;
+
+		ContentKey(Object element){
+			this.element = element;
+			this.hash	 = (element instanceof DataObject) ? ((DataObject) element).contentHashCode() : Objects.hashCode(element);
+		}
+
+		@Override
+		public int hashCode(){
+			return this.hash;
+		}
+
+		@Override
+		public boolean equals(Object other){
+			if(!(other instanceof ContentKey) || ((ContentKey) other).hash != this.hash){
+				return false;
+			}
+
+			Object otherElement = ((ContentKey) other).element;
+
+			if(this.element instanceof DataObject && otherElement instanceof DataObject){
+				return ((DataObject) this.element).contentEquals((DataObject) otherElement);
+			}
+			return Objects.equals(this.element, otherElement);
+		}
+	}
+
 }
\ No newline at end of file
@@ -7,7 +7,9 @@
  *	this data set and can be accessed using methods in this class or accessed
  *	directory by retrieving the entire set. The same goes for ExampleSet. The
  *	Factory class is used to construct Attributes and Examples as well
- *	as the AttributeSet and ExampleSet respectively.
+ *	as the AttributeSet and ExampleSet respectively. Examples may optionally
+ *	be kept in columnar storage (see ExampleColumns). Train, validation, and
+ *	test sets and folds are stratified views made by StratifiedSplitter.
  *	
  *  @author		Glenn Abastillas
  *  @version	1.0.0
@@ -21,13 +23,18 @@ import edu.classifier.dataset.Attribute;
 import edu.classifier.dataset.AttributeSet;
 import edu.classifier.dataset.Example;
 import edu.classifier.dataset.ExampleSet;
+import edu.classifier.dataset.ExampleColumns;
 import edu.classifier.dataset.Factory;
+import edu.classifier.dataset.GlaReader;
+import edu.classifier.dataset.ParallelGlaLoader;
+import edu.classifier.dataset.BinaryDataSet;
+import edu.classifier.dataset.StratifiedSplitter;
+import edu.templates.data.DataObjectSet;
 
-import java.io.BufferedReader;
-import java.io.FileReader;
-import java.io.File;
 import java.io.IOException;
 import java.io.FileNotFoundException;
+import java.io.UncheckedIOException;
+import java.nio.file.NoSuchFileException;
 import java.lang.IndexOutOfBoundsException;
 import java.lang.Math;
 import java.util.ArrayList;
@@ -40,6 +47,7 @@ public class DataSet{
 	private AttributeSet attributeSet = new AttributeSet();
 	private ExampleSet exampleSet 	  = new ExampleSet();
 	private Long randomNumberSeed 	  = 7L;
+	private boolean columnar 		  = false;	// if true, examples are loaded into an ExampleColumns store
 
 	public DataSet(){
 		// Empty constructor
@@ -53,6 +61,28 @@ public class DataSet{
 		this.load(dataSetFile);
 	}
 
+	/**
+	 *	Constructor with the parts of an already loaded data set (e.g., from BinaryDataSet)
+	 *	@param	dataSetName: name of the data set
+	 *	@param	attributeSet: AttributeSet of the data set
+	 *	@param	exampleSet: ExampleSet of the data set
+	 */
+	DataSet(String dataSetName, AttributeSet attributeSet, ExampleSet exampleSet){
+		this.dataSetName  = dataSetName;
+		this.attributeSet = attributeSet;
+		this.exampleSet	  = exampleSet;
+	}
+
+	/**
+	 *	Constructor with a String parameter to the data set file and the storage to use
+	 *	@param	filename: pathway to text file containing dataset information
+	 *	@param	columnar: if true, examples are kept in an ExampleColumns store
+	 */
+	public DataSet(String dataSetFile, boolean columnar){
+		this.columnar = columnar;
+		this.load(dataSetFile);
+	}
+
 	/**
 	 *	Print formatted data set to screen.
 	 */
@@ -74,26 +104,123 @@ public class DataSet{
 	 *	Loads data in specified file into memory and extracts any attributes 
 	 *	(indicated by '@' in the document) and examples (indicated by '#' in the
 	 *	document) Attributes and Examples are then constructed into set objects 
-	 *	(e.g., AttributeSet) by a Factory object.
+	 *	(e.g., AttributeSet) by a Factory object. The file is read one line at a
+	 *	time by a GlaReader, so only the parsed examples are kept in memory.
+	 *	Binary data set files (ending in ".glb", see BinaryDataSet) are mapped
+	 *	into memory instead of being parsed.
 	 *	@param	filename: pathway to text file containing dataset information
 	 */
 	public void load(String fileName){
-		ArrayList<String> inputFile = this.open(fileName);
+		if(fileName.endsWith(BinaryDataSet.EXTENSION)){
+			this.loadBinary(fileName);
+			return;
+		}
+
+		try(GlaReader reader = new GlaReader(fileName)){
+			this.load(reader);
+		} catch(FileNotFoundException e){
+			System.out.println("[FileNotFoundException] Unable to open file " + fileName);
+		} catch(IOException | UncheckedIOException e){
+			System.out.println("[IOException] Unable to open file " + fileName);
+		}
+	}
+
+	/**
+	 *	Loads data in specified file into memory like load(String), parsing the
+	 *	examples on several threads with a ParallelGlaLoader. Examples are added
+	 *	to this data set in file order.
+	 *	@param	filename: pathway to text file containing dataset information
+	 *	@param	threads: number of threads to parse examples with
+	 */
+	public void load(String fileName, int threads){
+		try{
+			ParallelGlaLoader loader = new ParallelGlaLoader(fileName, threads);
+			this.dataSetName = loader.getName();
+
+			for(Attribute attribute : loader.getAttributeSet()){
+				attributeSet.add(attribute);
+			}
+
+			this.prepareExampleSet();
+			loader.readInto(exampleSet);
 
-		this.dataSetName = inputFile.get(0);
+		} catch(NoSuchFileException e){
+			System.out.println("[FileNotFoundException] Unable to open file " + fileName);
+		} catch(IOException e){
+			System.out.println("[IOException] Unable to open file " + fileName);
+		}
+	}
 
-		// Create Attribute or Example objects from the information in the specified file and add them to their appropriate set object (e.g., Attribute --> AttributeSet)
-		for(String line : inputFile){
-			if(line.substring(0,1).equals("@")){
-				attributeSet.add(Factory.makeAttribute(line));
+	/**
+	 *	Maps a binary data set file into this data set. If this data set has no
+	 *	examples yet, the mapped examples are used as they are; otherwise they
+	 *	are added to this data set's ExampleSet.
+	 *	@param	filename: pathway to binary data set file
+	 */
+	private void loadBinary(String fileName){
+		try{
+			DataSet binaryDataSet = BinaryDataSet.read(fileName);
+			this.dataSetName = binaryDataSet.getName();
+
+			for(Attribute attribute : binaryDataSet.getAttributeSet()){
+				attributeSet.add(attribute);
 			}
 
-			if(line.substring(0,1).equals("#")){
-				exampleSet.add(Factory.makeExample(attributeSet, line));
+			if(exampleSet.size() == 0){
+				exampleSet = binaryDataSet.getExampleSet();
+			} else {
+				for(Example example : binaryDataSet.getExampleSet()){
+					exampleSet.add(example);
+				}
 			}
+
+		} catch(FileNotFoundException e){
+			System.out.println("[FileNotFoundException] Unable to open file " + fileName);
+		} catch(IOException e){
+			System.out.println("[IOException] Unable to open file " + fileName);
 		}
 	}
 
+	/**
+	 *	Loads the attributes and remaining examples of a GlaReader into this data set
+	 *	@param	reader: GlaReader opened on a data set file
+	 */
+	public void load(GlaReader reader){
+		this.dataSetName = reader.getName();
+
+		// Use the reader's attributes so that attributes found later in the file are included
+		if(attributeSet.size() == 0){
+			attributeSet = reader.getAttributeSet();
+		} else {
+			for(Attribute attribute : reader.getAttributeSet()){
+				attributeSet.add(attribute);
+			}
+		}
+
+		this.prepareExampleSet();
+
+		// Add each Example object to the ExampleSet as it is parsed
+		while(reader.hasNext()){
+			exampleSet.add(reader.next());
+		}
+	}
+
+	/**
+	 *	Prepare an empty ExampleSet for loading once all the attributes are known.
+	 *	Switch to columnar storage if requested, and turn off the membership check
+	 *	as every Example parsed from a file is a new object.
+	 */
+	private void prepareExampleSet(){
+		if(exampleSet.size() > 0){
+			return;
+		}
+
+		if(this.columnar && !exampleSet.isColumnar()){
+			exampleSet = new ExampleSet(new ExampleColumns(attributeSet.size() - 1));
+		}
+		exampleSet.setMembership(DataObjectSet.NONE);
+	}
+
 	/**
 	 *	Get this data set's attributes
 	 *	@return	AttributeSet object containing this data set's attributes
@@ -137,53 +264,14 @@ public class DataSet{
 	}
 
 	/**
-	 *	Get a subset of this data set's ExampleSet
-	 *	Private method used by getTrainSet(), getTestSet(), getTrainTestSet()
-	 *	and getValidationSet()
-	 *	@param	percentageOfExamplesForSet: decimal number indicating percentage
-	 *	@return	ExampleSet of randomly selected Example objects
+	 *	Get a StratifiedSplitter over this data set's ExampleSet. The splitter is
+	 *	seeded with randomNumberSeed, so every split of the same examples with the
+	 *	same seed is the same. Used by getTrainSet(), getTestSet(), getTrainTestSet(),
+	 *	getValidationSet() and getFolds().
+	 *	@return	StratifiedSplitter over exampleSet
 	 */
-	private ExampleSet getSubset(Double percentageOfExamplesForSet){
-
-		ArrayList<Integer> stratumCounts	= new ArrayList<>();
-		ArrayList<Double>  stratumClass		= new ArrayList<>(exampleSet.getLabels());
-
-		ExampleSet exampleSetSubsetOutput	= new ExampleSet();
-		Random randomNumberGenerator 		= new Random();
-
-		// Loop through the class labels to get the number of examples needed for each in this subset
-		for(Double classLabel : stratumClass){
-			stratumCounts.add(Math.round((float) (percentageOfExamplesForSet * Collections.frequency(exampleSet.getAllLabels(), classLabel))));
-		}
-
-		//-x System.out.println("Get Subset: " + percentageOfExamplesForSet);
-		//-x System.out.println("Stratum Counts: " + stratumCounts);
-
-		// Loop through the class labels to sample examples for each
-		for(int i=0; i<stratumClass.size();i++){
-
-			ExampleSet stratumExamples = exampleSet.getExamplesWithLabel(stratumClass.get(i));
-			ArrayList<Integer> exampleIndices  = new ArrayList<>();
-
-			Integer stratumSize = stratumCounts.get(i);
-
-			//-x System.err.println("In for loop: " + stratumSize);
-
-			// Fabricate random numbers pertaining to the indices of examples of this stratum
-			while(stratumSize > 0){
-
-				int randomIndex = randomNumberGenerator.nextInt(stratumExamples.size());
-
-				// If this random number has not already been used, add it and its associated example to the list
-				if(!exampleIndices.contains(randomIndex)){
-					exampleIndices.add(randomIndex);
-					exampleSetSubsetOutput.add(stratumExamples.get(randomIndex));
-					stratumSize--;
-				}
-				//-x System.err.println("In while loop: " + randomIndex + "\t" + exampleIndices);
-			}
-		}
-		return exampleSetSubsetOutput;
+	private StratifiedSplitter getSplitter(){
+		return new StratifiedSplitter(this.exampleSet, this.randomNumberSeed);
 	}
 
 	/**
@@ -191,7 +279,7 @@ public class DataSet{
 	 *	@return a set of examples containing 40% of all examples not already in trainSet
 	 */
 	public ExampleSet getTestSet(){
-		return this.getSubset(0.4);
+		return this.getTrainTestSet(0.6).get(1);
 	}
 
 	/**
@@ -199,7 +287,7 @@ public class DataSet{
 	 *	@return	a set of examples containing 60% of all examples
 	 */
 	public ExampleSet getTrainSet(){
-		return this.getSubset(0.6);
+		return this.getTrainSet(0.6);
 	}
 
 	/**
@@ -208,7 +296,7 @@ public class DataSet{
 	 *	@return	a set of examples randomly selected
 	 */
 	public ExampleSet getTrainSet(Double percentForTrainingSet){
-		return this.getSubset(percentForTrainingSet);
+		return this.getTrainTestSet(percentForTrainingSet).get(0);
 	}
 
 	/**
@@ -221,27 +309,13 @@ public class DataSet{
 	}
 
 	/**
-	 *	Get both training and testing sets according to a percentage
+	 *	Get both training and testing sets according to a percentage. Both sets
+	 *	are views over this data set's ExampleSet (see ExampleSetView).
 	 *	@param	percentageOfExamplesForSet: decimal number indicating percentage
 	 *	@return	list containing both training and testing sets
 	 */
 	public ArrayList<ExampleSet> getTrainTestSet(Double percentForTrainingSet){
-		ArrayList<ExampleSet> trainTestSet = new ArrayList<ExampleSet>();
-		ExampleSet trainSet = this.getTrainSet(percentForTrainingSet);
-		ExampleSet testSet 	= new ExampleSet();
-
-		// Loop through the example set to create a test set
-		// from Example objects not already in trainSet
-		for(Example example : this.exampleSet){
-			if(!trainSet.contains(example)){
-				testSet.add(example);
-			}
-		}
-
-		trainTestSet.add(trainSet);
-		trainTestSet.add(testSet);
-
-		return trainTestSet;
+		return this.getSplitter().getTrainTestSet(percentForTrainingSet);
 	}
 
 	/**
@@ -253,64 +327,30 @@ public class DataSet{
 	 */
 	public ArrayList<ExampleSet> getValidationSet(Double percentForTrainingSet, Double percentForValidationSet) throws IndexOutOfBoundsException{
 
-		// STEP 1: Check to see if the percentage for the trainSet and validationSet add to 1.0 or greater - this means there are no Examples in the testSet.
+		// Check to see if the percentage for the trainSet and validationSet add to 1.0 or greater - this means there are no Examples in the testSet.
 		if((percentForTrainingSet + percentForValidationSet) >= 1.0){
 			System.out.println("Percentages for Train Set and Validation Set are equal to or greater than 100%. No Examples left for Test Set. ");
 			throw new IndexOutOfBoundsException();
 		}
 
-		Integer numberOfExamplesForValidationSet 	 = Math.round((float) (percentForValidationSet * (exampleSet.size())));
-		ArrayList<ExampleSet> trainValidationTestSet = new ArrayList<ExampleSet>();
-
-		ExampleSet trainSet 		= this.getTrainSet(percentForTrainingSet);
-		ExampleSet validationSet 	= new ExampleSet();
-		ExampleSet testSet 			= new ExampleSet();
-
-		// STEP 2: Get Examples for validationSet and testSet
-		for(Example example : this.exampleSet){
-			if(numberOfExamplesForValidationSet > 0 && !trainSet.contains(example)){
-				validationSet.add(example);
-				numberOfExamplesForValidationSet--;
-				
-			} else if(numberOfExamplesForValidationSet == 0 && !trainSet.contains(example)){
-				testSet.add(example);
-			}
-		}
-
-		// STEP 3: Add trainSet, validationSet, and testSet to ArrayList<ExampleSet>
-		trainValidationTestSet.add(trainSet);
-		trainValidationTestSet.add(validationSet);
-		trainValidationTestSet.add(testSet);
-
-		return trainValidationTestSet;
+		return this.getSplitter().getTrainValidationTestSet(percentForTrainingSet, percentForValidationSet);
 	}
 
 	/**
-	 *	Read in a text file and return an ArrayList<String>
-	 *	containing non-empty lines from the input document
-	 *	@param	fileName: file name location
-	 *	@return	list of lines containing text from fileName
+	 *	Return k stratified folds of this data set's examples for cross validation
+	 *	@param	k: number of folds
+	 *	@return	list of k folds, each a list containing a training and testing set
 	 */
-	private ArrayList<String> open(String fileName){
-		ArrayList<String> openedFileArrayList = new ArrayList<String>();
-		String 			  bufferedReaderLine  = null;
-		
-		try{
-			FileReader 	   fileReader 	  = new FileReader(new File(fileName));
-			BufferedReader bufferedReader = new BufferedReader(fileReader);
-
-			while((bufferedReaderLine = bufferedReader.readLine()) != null){
-				if(bufferedReaderLine.replace(" ", "").length() > 0){
-					openedFileArrayList.add(bufferedReaderLine);
-				}
-			}
-		} catch(FileNotFoundException e){
-			System.out.println("[FileNotFoundException] Unable to open file " + fileName);
-		} catch(IOException e){
-			System.out.println("[IOException] Unable to open file " + fileName);
-		} 
+	public ArrayList<ArrayList<ExampleSet>> getFolds(int k){
+		return this.getSplitter().getFolds(k);
+	}
 
-		return openedFileArrayList;
+	/**
+	 *	Set the seed used to shuffle examples when splitting this data set
+	 *	@param	randomNumberSeed: seed for the random number generator
+	 */
+	public void setRandomNumberSeed(Long randomNumberSeed){
+		this.randomNumberSeed = randomNumberSeed;
 	}
 
 	/**
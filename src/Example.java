@@ -8,6 +8,8 @@
  *  @since		February 9, 2016
  *  
  *  update	February 10, 2016	added comments to getLabel() method and edited documentation to update new method names (e.g., getName())
+ *  update	October 18, 2026	values are kept in a double[] in attribute order instead of the TreeMap (keys "10" sorted before "2")
+ *  update	October 18, 2026	added getValueArray() and getValueOffset() so distances can read the values in place
  *  
  * 	Example() inherits from the DataObject() class, which provides basic functionality to access and change its data members.
  * 	Methods inherited from DataObject include: 
@@ -23,9 +25,11 @@
  *		getLabel():			set the attribute's label corresponding to Double value parameter
  *		getIndex():			get the index for this attribute when part of an AttributeSet
  *		setIndex(int):		set the index for this attribute when part of an AttributeSet
- *		iterator():			iterate over the values in the data variable (values are the keys of the TreeMap)
+ *		iterator():			iterate over the values in attribute order, read in place with valueAt()
+ *		getValueArray():	get the array holding this example's values, or null if they are not kept in one
+ *		getValueOffset():	get the index of this example's first value in getValueArray()
  *
- *	Example is inherited by the following classes: ExampleSet
+ *	Example is inherited by the following classes: ExampleSet, ColumnExample, SparseExample, PackedExample
  */
 
 package edu.classifier.dataset;
@@ -35,19 +39,31 @@ import java.util.*;
 
 public class Example extends DataObject{
 
-	protected Double classLabel;
+	protected Double   classLabel;
+	protected double[] values;		// feature values in attribute order; used instead of the inherited TreeMap
 
 	// Constructor #1: Array of Double values required
 	public Example(Double[] values){
+		this.values = new double[values.length-1];
+
 		for(int i = 0; i < values.length-1; i++){
-			//System.out.println("values[i]: " + values[i] + ";\tInteger.toString: " + Integer.toString(i));
-			this.data.put(Integer.toString(i), values[i]);
+			this.values[i] = values[i];
 		}
 
-		//System.out.println("size " + this.data.size());
 		this.classLabel = values[values.length-1];
 	}
 
+	// Constructor #2: Array of double values and the class label
+	public Example(double[] values, double classLabel){
+		this.values		= values;
+		this.classLabel = classLabel;
+	}
+
+	// Constructor #3: used by subclasses that keep their values somewhere else (e.g., ColumnExample)
+	protected Example(){
+		// Empty constructor
+	}
+
 	/** 
 	 *	Get example's class label
 	 *	@return	Double	classLabel	label of this example's classification.
@@ -56,20 +72,132 @@ public class Example extends DataObject{
 		return this.classLabel;
 	}
 
+	/**
+	 *	Get the value at an attribute index
+	 *	@param	index: attribute index (0 to dimension() - 1)
+	 *	@return	double value at index
+	 */
+	@Override
+	public double valueAt(int index){
+		return this.values[index];
+	}
+
+	/**
+	 *	Get the number of attribute values in this example
+	 *	@return	integer number of values
+	 */
+	@Override
+	public int dimension(){
+		return this.values.length;
+	}
+
+	/**
+	 *	Copy this example's values into an array in attribute order
+	 *	@param	destination: array of at least dimension() values
+	 */
+	@Override
+	public void copyInto(double[] destination){
+		System.arraycopy(this.values, 0, destination, 0, this.values.length);
+	}
+
+	/**
+	 *	Get the array this example's values are kept in, so they can be read
+	 *	without copying. Subclasses that do not keep their values in one row of
+	 *	an array (e.g., ColumnExample, whose rows are spread over one array per
+	 *	attribute, SparseExample and PackedExample) return null.
+	 *	@return	array holding dimension() values from getValueOffset() (not a copy), or null
+	 */
+	public double[] getValueArray(){
+		return this.values;
+	}
+
+	/**
+	 *	Get the index of this example's first value in getValueArray()
+	 *	@return	offset of the first value
+	 */
+	public int getValueOffset(){
+		return 0;
+	}
+
+	/**
+	 *	Get a hash code computed from this example's values and class label
+	 *	@return	hash of the values and label
+	 */
+	@Override
+	public int contentHashCode(){
+		int hash = Double.hashCode(this.getLabel());
+		int dimension = this.dimension();
+
+		for(int i = 0; i < dimension; i++){
+			hash = 31 * hash + Double.hashCode(this.valueAt(i));
+		}
+		return hash;
+	}
+
+	/**
+	 *	Check if another example has the same values and class label
+	 *	@param	other: DataObject to compare with
+	 *	@return	true if other is an Example with equal values and label
+	 */
+	@Override
+	public boolean contentEquals(DataObject other){
+		if(!(other instanceof Example)){
+			return false;
+		}
+
+		Example example = (Example) other;
+		int dimension = this.dimension();
+
+		if(example.dimension() != dimension || !example.getLabel().equals(this.getLabel())){
+			return false;
+		}
+
+		for(int i = 0; i < dimension; i++){
+			if(Double.doubleToLongBits(this.valueAt(i)) != Double.doubleToLongBits(example.valueAt(i))){
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 *	Get this example's values in attribute order
+	 *	@return	ArrayList<Double> of this example's values
+	 */
+	@Override
+	public ArrayList<Double> data(){
+		ArrayList<Double> data = new ArrayList<Double>(this.values.length);
+
+		for(double value : this.values){
+			data.add(value);
+		}
+		return data;
+	}
+
+	/**
+	 *	Get the attribute index of each value in this example as a String
+	 *	@return	ArrayList<String> of attribute indices
+	 */
+	@Override
+	public ArrayList<String> labels(){
+		ArrayList<String> labels = new ArrayList<String>();
+
+		for(int i = 0; i < this.size(); i++){
+			labels.add(Integer.toString(i));
+		}
+		return labels;
+	}
+
 	public void asString(AttributeSet attributeSet){
 		String output = "#";
 		int index = 0;
 		
-		for(Map.Entry<String, Double> entry : this.data.entrySet()){
-			//Double entryValue = ;
-			//System.out.println("Index:\t" + index);
-			//System.out.println("Value:\t" + entry.getValue());
-			//System.out.println("Label:\t" + attributeSet.get(index).getLabel(entry.getValue()));
-			output += attributeSet.get(index).getLabel(entry.getValue()) + " ";
+		for(Double value : this.data()){
+			output += attributeSet.get(index).getLabel(value) + " ";
 			index++;
 		}
 
-		output += attributeSet.get(index).getLabel(this.classLabel);
+		output += attributeSet.get(index).getLabel(this.getLabel());
 		System.out.println(output);
 	}
 
@@ -0,0 +1,192 @@
+/**
+ *	ExampleColumns is a columnar store for the values of many Example objects.
+ *	Each attribute is kept in its own double[] and the class labels are kept
+ *	as integer codes in an int[]. Rows are appended to the end of the store and
+ *	are never moved, so a row number stays valid for the life of the store.
+ *
+ *	Reading one attribute for every example (e.g., ExampleSet.getFeatureValues)
+ *	walks a single array from start to end instead of visiting one object per
+ *	example. Row-level access is done through ColumnExample objects, which are
+ *	lightweight views holding only this store and a row number.
+ *
+ *  @author		Glenn Abastillas
+ *  @version	1.0.0
+ *  @since		October 18, 2026
+ *
+ * 	ExampleColumns has the following methods:
+ *		int add(Example):				append an Example's values and label; returns its row
+ *		int add(double[], double):		append an array of values and a label; returns its row
+ *		double valueAt(int, int):		get the value at a row and column
+ *		int labelAt(int):				get the label code of a row
+ *		void copyRow(int, double[]):	copy a row's values into an array
+ *		void copyColumn(int, double[]):	copy a column's values into an array
+ *		ColumnExample example(int):		get a view over a row
+ *		int size():						get the number of rows
+ *		int dimension():				get the number of columns
+ *
+ *	ExampleColumns is used by the following classes: ExampleSet, ColumnExample
+ *	ExampleColumns is inherited by the following classes: MappedExampleColumns
+ */
+
+package edu.classifier.dataset;
+
+import java.util.Arrays;
+
+public class ExampleColumns{
+
+	protected double[][] columns;	// one array of values per attribute
+	protected int[]		 labels;	// class label code of each row
+	protected int		 size = 0;	// number of rows in use
+
+	/**
+	 *	Constructor with the number of attributes (not including the class label)
+	 *	@param	dimension: number of attributes per example
+	 */
+	public ExampleColumns(int dimension){
+		this(dimension, 16);
+	}
+
+	/**
+	 *	Constructor with the number of attributes and an initial number of rows
+	 *	@param	dimension: number of attributes per example
+	 *	@param	capacity: number of rows to allocate before growing
+	 */
+	public ExampleColumns(int dimension, int capacity){
+		this.columns = new double[dimension][Math.max(capacity, 1)];
+		this.labels	 = new int[Math.max(capacity, 1)];
+	}
+
+	/**
+	 *	Constructor for subclasses that keep their columns somewhere else (e.g., MappedExampleColumns)
+	 */
+	protected ExampleColumns(){
+		// Empty constructor
+	}
+
+	/**
+	 *	Append an Example's values and label to this store
+	 *	@param	example: Example object to copy
+	 *	@return	row of the appended example
+	 */
+	public int add(Example example){
+		double[] row = new double[example.dimension()];
+		example.copyInto(row);
+
+		return this.add(row, example.getLabel());
+	}
+
+	/**
+	 *	Append an array of values and a label to this store
+	 *	@param	values: feature values in attribute order
+	 *	@param	label: class label; must be a whole number as it is stored as a code
+	 *	@return	row of the appended values
+	 */
+	public int add(double[] values, double label) throws IllegalArgumentException{
+		if(values.length != this.columns.length){
+			throw new IllegalArgumentException("In add() method, expected " + this.columns.length + " values but got " + values.length + ".");
+		}
+
+		if(label != Math.rint(label)){
+			throw new IllegalArgumentException("In add() method, class label " + label + " is not a label code.");
+		}
+
+		// Grow every column and the labels together when they are full
+		if(this.size == this.labels.length){
+			int capacity = this.labels.length * 2;
+
+			for(int i = 0; i < this.columns.length; i++){
+				this.columns[i] = Arrays.copyOf(this.columns[i], capacity);
+			}
+			this.labels = Arrays.copyOf(this.labels, capacity);
+		}
+
+		for(int i = 0; i < values.length; i++){
+			this.columns[i][this.size] = values[i];
+		}
+		this.labels[this.size] = (int) label;
+
+		return this.size++;
+	}
+
+	/**
+	 *	Get the value at a row and column
+	 *	@param	row: row of the example
+	 *	@param	column: index of the attribute
+	 *	@return	value stored at row and column
+	 */
+	public double valueAt(int row, int column){
+		return this.columns[column][row];
+	}
+
+	/**
+	 *	Get the class label code of a row
+	 *	@param	row: row of the example
+	 *	@return	label code stored for row
+	 */
+	public int labelAt(int row){
+		return this.labels[row];
+	}
+
+	/**
+	 *	Copy the values of a row into an array
+	 *	@param	row: row of the example
+	 *	@param	destination: array of at least dimension() values
+	 */
+	public void copyRow(int row, double[] destination){
+		for(int i = 0; i < this.columns.length; i++){
+			destination[i] = this.columns[i][row];
+		}
+	}
+
+	/**
+	 *	Copy the values of a column into an array
+	 *	@param	column: index of the attribute
+	 *	@param	destination: array of at least size() values
+	 */
+	public void copyColumn(int column, double[] destination){
+		System.arraycopy(this.columns[column], 0, destination, 0, this.size);
+	}
+
+	/**
+	 *	Get a view over a row of this store
+	 *	@param	row: row of the example
+	 *	@return	ColumnExample reading its values from this store
+	 */
+	public ColumnExample example(int row){
+		return new ColumnExample(this, row);
+	}
+
+	/**
+	 *	Check if an Example is a view over this store
+	 *	@param	example: Example object to check
+	 *	@return	true if example reads its values from this store
+	 */
+	public boolean owns(Example example){
+		return (example instanceof ColumnExample) && ((ColumnExample) example).getColumns() == this;
+	}
+
+	/**
+	 *	Get the number of rows in this store
+	 *	@return	number of rows
+	 */
+	public int size(){
+		return this.size;
+	}
+
+	/**
+	 *	Get the number of attributes per row
+	 *	@return	number of columns
+	 */
+	public int dimension(){
+		return this.columns.length;
+	}
+
+	public static void main(String[] args){
+		ExampleColumns columns = new ExampleColumns(3, 1);
+		columns.add(new Example(new Double[]{1.0, 2.0, 3.0, 1.0}));
+		columns.add(new double[]{4.0, 5.0, 6.0}, 0.0);
+
+		System.out.println("Size:\t" + columns.size() + "\tDimension:\t" + columns.dimension());
+		System.out.println("Row 1:\t" + columns.example(1).data() + "\tLabel:\t" + columns.example(1).getLabel());
+	}
+}
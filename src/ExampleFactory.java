@@ -9,16 +9,35 @@
  * there is a base method that does just that as well as a method for converting
  * String examples into arrays of Doubles.
  *
+ * Examples made from Strings are either dense (Example) or sparse
+ * (SparseExample). By default (AUTO) an example is made sparse when it has at
+ * least SPARSE_MIN_DIMENSION values and at most SPARSE_DENSITY of them are
+ * non-zero, as in bag-of-words data. A data set file can fix the choice with a
+ * directive line after the data set name: "!sparse" or "!dense" (see
+ * getRepresentation()).
+ *
+ * When every attribute but the class is nominal, PACKED ("!packed") makes
+ * PackedExample objects, which keep each value as a one-hot bit in long
+ * words so Hamming distance is counted 64 bits at a time. An example with a
+ * value that is not one of its attribute's labels is made dense instead.
+ * The bit layout is worked out once per AttributeSet and shared.
+ *
  *  @author		Glenn Abastillas
  *  @version	1.0.0
  *  @since		February 16, 2016
  *  
+ *  update	October 18, 2026	added PACKED for bit-packed examples of all-nominal data
+ *  
  * 	ExampleFactory() is an class that creates Example.class objects from textual input from .gla files in the following format:
  *
  *		Example of a String line input:		'value1 value2 value3 classLabel'
  *
  * 	ExampleFactory implements the following methods:
- *		Example makeExample(String):	String input gets converted into an Example object.
+ *		Example makeExample(String):							String input gets converted into an Example object.
+ *		Example makeExample(AttributeSet, String, int):			String input gets converted into a dense or sparse Example object.
+ *		Example makeExample(double[], double, int):				values get converted into a dense or sparse Example object.
+ *		int getRepresentation(String):							get the representation named by a directive line (e.g., "!sparse")
+ *		int[] getPackedOffsets(AttributeSet):					get the shared bit layout of an all-nominal AttributeSet
  *
  * 	ExampleFactory is inherited by the following classes: DataSet
  *
@@ -26,11 +45,26 @@
 
 package edu.classifier.dataset;
 
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+
 import edu.classifier.dataset.Example;
 import edu.classifier.dataset.ExampleSet;
+import edu.classifier.dataset.PackedExample;
 
 public class ExampleFactory{
 
+	public static final int AUTO   = 0;		// choose dense or sparse from each example's density
+	public static final int DENSE  = 1;		// always make Example objects
+	public static final int SPARSE = 2;		// always make SparseExample objects
+	public static final int PACKED = 3;		// make PackedExample objects (all-nominal AttributeSets only)
+
+	public static final double SPARSE_DENSITY		= 0.1;	// largest fraction of non-zero values AUTO makes sparse
+	public static final int	   SPARSE_MIN_DIMENSION = 32;	// fewest values AUTO makes sparse; small examples stay dense
+
+	private static final Map<AttributeSet, int[]> PACKED_OFFSETS = Collections.synchronizedMap(new WeakHashMap<AttributeSet, int[]>());	// bit layout of each AttributeSet packed so far
+
 	/**
 	 * Create an Example object from an array of doubles as input
 	 * @param	exampleAsArrayOfDoubles: array containing double values corresponding to examples' values
@@ -45,16 +79,86 @@ public class ExampleFactory{
 	 * Create an Example object from a string input and a specified AttributeSet
 	 * @param	attributeSet: AttributeSet object containing Attributes
 	 * @param	exampleAsString: String representation of the example from a data set
-	 * @return	Example object
+	 * @return	Example object; a SparseExample if the example is sparse enough
 	 */
 	public static Example makeExample(AttributeSet attributeSet, String exampleAsString){
+		return ExampleFactory.makeExample(attributeSet, exampleAsString, AUTO);
+	}
+
+	/**
+	 * Create an Example object from a string input and a specified AttributeSet
+	 * @param	attributeSet: AttributeSet object containing Attributes
+	 * @param	exampleAsString: String representation of the example from a data set
+	 * @param	representation: AUTO, DENSE, SPARSE, or PACKED
+	 * @return	Example object
+	 */
+	public static Example makeExample(AttributeSet attributeSet, String exampleAsString, int representation) throws IllegalArgumentException{
 		String[] exampleAsSplitString = exampleAsString.replace("#", "").split(" ");
-		Double[] doubleExampleInput   = new Double[exampleAsSplitString.length];
+		int		 labelIndex			  = exampleAsSplitString.length - 1;
+		double[] doubleExampleInput   = new double[labelIndex];
+
+		for(int i = 0; i < labelIndex; i++){
+			doubleExampleInput[i] = attributeSet.get(i).valueOf(exampleAsSplitString[i]);
+		}
+
+		double classLabel = attributeSet.get(labelIndex).valueOf(exampleAsSplitString[labelIndex]);
+
+		if(representation == PACKED){
+			PackedExample packed = PackedExample.pack(doubleExampleInput, classLabel, ExampleFactory.getPackedOffsets(attributeSet));
+			return (packed != null) ? packed : new Example(doubleExampleInput, classLabel);
+		}
+		return ExampleFactory.makeExample(doubleExampleInput, classLabel, representation);
+	}
+
+	/**
+	 * Get the bit layout PackedExample objects of an AttributeSet share
+	 * @param	attributeSet: AttributeSet object whose attributes, except the class (last), are all nominal
+	 * @return	first bit of each attribute, and the total number of bits at the end
+	 */
+	public static int[] getPackedOffsets(AttributeSet attributeSet) throws IllegalArgumentException{
+		int[] offsets = PACKED_OFFSETS.get(attributeSet);
+
+		if(offsets == null){
+			offsets = PackedExample.getOffsets(attributeSet);
+			PACKED_OFFSETS.put(attributeSet, offsets);
+		}
+		return offsets;
+	}
+
+	/**
+	 * Create a dense or sparse Example object from an array of values
+	 * @param	values: feature values in attribute order
+	 * @param	classLabel: label of the example's classification
+	 * @param	representation: AUTO, DENSE, or SPARSE (PACKED needs an AttributeSet, so it makes a dense Example here)
+	 * @return	Example object
+	 */
+	public static Example makeExample(double[] values, double classLabel, int representation){
+		if(representation == SPARSE){
+			return new SparseExample(values, classLabel);
+		}
+
+		if(representation == AUTO && values.length >= SPARSE_MIN_DIMENSION && SparseExample.countNonZeros(values) <= SPARSE_DENSITY * values.length){
+			return new SparseExample(values, classLabel);
+		}
+		return new Example(values, classLabel);
+	}
+
+	/**
+	 * Get the representation named by a directive line of a data set file
+	 * @param	directive: line starting with '!' (e.g., "!sparse", "!dense", or "!packed")
+	 * @return	SPARSE, DENSE, PACKED, or AUTO if the directive names none of them
+	 */
+	public static int getRepresentation(String directive){
+		String name = directive.replace("!", "").trim().toLowerCase();
 
-		for(int i = 0; i < exampleAsSplitString.length; i++){
-			doubleExampleInput[i] = attributeSet.get(i).getValue(exampleAsSplitString[i]);
+		if(name.equals("sparse")){
+			return SPARSE;
+		} else if(name.equals("dense")){
+			return DENSE;
+		} else if(name.equals("packed")){
+			return PACKED;
 		}
-		return new Example(doubleExampleInput);
+		return AUTO;
 	}
 
 	/**
@@ -12,41 +12,184 @@
  *	classes in this ExampleSet, (3) getAllLabels: see each Example objects'
  *	label, (4) getMajorityLabel: see the most frequent label or class among all
  *	the Example objects, and (5) isHomogenous: check to see if all examples in 
- *	this ExampleSet are of the same class.
+ *	this ExampleSet are of the same class. The positions of the examples with
+ *	each label are indexed as examples are added and removed, so label queries
+ *	do not rescan the whole set. The positions for a label sit in a growable
+ *	int[], four bytes per example.
+ *
+ *	An ExampleSet may optionally keep its values in an ExampleColumns store
+ *	(one double[] per attribute and an int[] of label codes). In that case the
+ *	Example objects it holds are ColumnExample views over the store. Under
+ *	IDENTITY membership, an Example copied into the store counts as a member
+ *	as long as its view is in the set, so adding it twice adds it once.
  *	
  *  @author		Glenn Abastillas
  *  @version	1.0.0
  *  @since		February 10, 2016
  *  
- * ExampleSet is inherited by the following classes: DataSet (comment added February 14, 2016) 
+ * ExampleSet is inherited by the following classes: DataSet (comment added February 14, 2016), ExampleSetView
  */
 package edu.classifier.dataset;
 
-import java.util.Collections;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Set;
+import java.util.WeakHashMap;
 
 import edu.templates.data.DataObjectSet;
 import edu.classifier.dataset.Example;
 
 public class ExampleSet extends DataObjectSet<Example>{
 
+	protected ExampleColumns columns = null;	// optional columnar storage; when set, every Example in data is a view over it
+
+	// Examples copied into a columnar store, mapped to their views, so IDENTITY membership still recognizes them (Example does not override equals(), so keys compare by identity)
+	protected WeakHashMap<Example, ColumnExample> copies = new WeakHashMap<>();
+
+	// Positions in data of the examples with each class label, in order of first appearance of the label
+	protected LinkedHashMap<Double, Positions> labelIndex = new LinkedHashMap<>();
+
 	public ExampleSet(){
 		// Empty constructor
 	}
 
+	/**
+	 *	Constructor for a columnar ExampleSet. Every row already in the store is
+	 *	added as a ColumnExample view and Example objects added later are copied
+	 *	into the store.
+	 *	@param	columns: ExampleColumns store holding this set's values
+	 */
+	public ExampleSet(ExampleColumns columns){
+		this(columns, IDENTITY);
+	}
+
+	/**
+	 *	Constructor for a columnar ExampleSet with a membership strategy
+	 *	@param	columns: ExampleColumns store holding this set's values
+	 *	@param	membership: IDENTITY, CONTENT, or NONE (see DataObjectSet)
+	 */
+	public ExampleSet(ExampleColumns columns, int membership){
+		this.columns = columns;
+		this.setMembership(membership);
+
+		for(int row = 0; row < columns.size(); row++){
+			this.append(columns.example(row));
+		}
+	}
+
 	/**
 	 *	Constructor for ExampleSet taking in an array of Example objects
 	 *	@param	examples: array of Example objects
 	 */
 	public ExampleSet(Example[] examples){
 		for(Example a: examples){
-			this.data.add(a);
+			this.append(a);
+		}
+	}
+
+	/**
+	 *	Add an Example to this set. If this set is columnar, the Example's values
+	 *	are copied into the store and a view over them is added instead. The
+	 *	membership check runs on the Example before it is copied, so a rejected
+	 *	Example leaves no row in the store.
+	 *	@param	example: Example object to add
+	 */
+	@Override
+	public void add(Example example){
+		if(this.columns == null || this.columns.owns(example)){
+			super.add(example);
+			return;
+		}
+
+		if(this.membership != NONE && this.contains(example)){
+			return;
+		}
+
+		ColumnExample view = this.columns.example(this.columns.add(example));
+		this.append(view);
+
+		if(this.membership == IDENTITY){
+			this.copies.put(example, view);
+		}
+	}
+
+	/**
+	 *	Add the position of a newly added Example to the label index
+	 *	@param	example: Example object that was added
+	 *	@param	index: position of example in data
+	 */
+	@Override
+	protected void added(Example example, int index){
+		Double	  label		= example.getLabel();
+		Positions positions = this.labelIndex.get(label);
+
+		if(positions == null){
+			positions = new Positions();
+			this.labelIndex.put(label, positions);
+		}
+		positions.add(index);
+	}
+
+	/**
+	 *	Remove the position of a removed Example from the label index and move
+	 *	the positions of the examples after it down by one
+	 *	@param	example: Example object that was removed
+	 *	@param	index: position example had in data
+	 */
+	@Override
+	protected void removed(Example example, int index){
+		Positions positions = this.labelIndex.get(example.getLabel());
+		positions.remove(index);
+
+		if(!this.copies.isEmpty()){
+			this.copies.values().removeIf(view -> view == example);
+		}
+
+		if(positions.size == 0){
+			this.labelIndex.remove(example.getLabel());
+		}
+
+		// Loop through the label index and shift the positions after the removed example
+		for(Positions labelPositions : this.labelIndex.values()){
+			labelPositions.shiftAfter(index);
 		}
 	}
 
+	/**
+	 *	Get a columnar copy of this ExampleSet
+	 *	@return	ExampleSet whose examples are views over a new ExampleColumns store
+	 */
+	public ExampleSet toColumnar(){
+		int dimension = (this.size() > 0) ? this.get(0).dimension() : 0;
+		ExampleSet columnarSet = new ExampleSet(new ExampleColumns(dimension, this.size()));
+
+		for(Example example : this){
+			columnarSet.add(example);
+		}
+
+		return columnarSet;
+	}
+
+	/**
+	 *	Check if this ExampleSet keeps its values in an ExampleColumns store
+	 *	@return	true if this set is columnar
+	 */
+	public boolean isColumnar(){
+		return this.columns != null;
+	}
+
+	/**
+	 *	Get the ExampleColumns store of this set
+	 *	@return	ExampleColumns object, or null if this set is not columnar
+	 */
+	public ExampleColumns getColumns(){
+		return this.columns;
+	}
+
 	/**
 	 *	Get the iterator for ExampleSet
 	 *	@return	iterator for this class
@@ -60,9 +203,12 @@ public class ExampleSet extends DataObjectSet<Example>{
 	 *	@param	example: example to be checked against examples in this set
 	 *	@return	contained: variable holding true or false depending on the presence of the specified example	
 	 */
+	@Override
 	public boolean contains(Example example){
-		boolean contained = (this.data.contains(example)) ? true : false;
-		return contained;
+		if(this.membership == IDENTITY && this.copies.containsKey(example)){
+			return true;
+		}
+		return super.contains(example);
 	}
 
 	/**
@@ -73,28 +219,70 @@ public class ExampleSet extends DataObjectSet<Example>{
 	public ExampleSet getExamplesWithLabel(Double classLabel){
 		
 		ExampleSet homogenousExamples = new ExampleSet();
-		
-		// Loop through the data to get examples with the same class labels
-		for(Example example : this.data){
-			if(example.getLabel().equals(classLabel)){
-				homogenousExamples.add(example);
+		Positions  positions		  = this.labelIndex.get(classLabel);
+
+		// Loop through the positions of the examples with this class label
+		if(positions != null){
+			for(int i = 0; i < positions.size; i++){
+				homogenousExamples.append(this.get(positions.ids[i]));
 			}
 		}
 
 		return homogenousExamples;
 	}
 
+	/**
+	 *	Get the positions in this set of the examples with a class label
+	 *	@param	classLabel: label of examples to find
+	 *	@return	positions in ascending order (empty if there are none)
+	 */
+	public int[] getIndicesWithLabel(Double classLabel){
+		Positions positions = this.labelIndex.get(classLabel);
+		return (positions == null) ? new int[0] : Arrays.copyOf(positions.ids, positions.size);
+	}
+
+	/**
+	 *	Get the number of examples with a class label
+	 *	@param	classLabel: label of examples to count
+	 *	@return	number of examples in this set with classLabel
+	 */
+	public int getLabelCount(Double classLabel){
+		Positions positions = this.labelIndex.get(classLabel);
+		return (positions == null) ? 0 : positions.size;
+	}
+
+	/**
+	 *	Get the number of examples with each class label
+	 *	@return	map from class label to number of examples, in order of first appearance of the label
+	 */
+	public LinkedHashMap<Double, Integer> getLabelCounts(){
+		LinkedHashMap<Double, Integer> labelCounts = new LinkedHashMap<>();
+
+		for(Map.Entry<Double, Positions> entry : this.labelIndex.entrySet()){
+			labelCounts.put(entry.getKey(), entry.getValue().size);
+		}
+		return labelCounts;
+	}
+
 	/**
 	 *	Get an array of values for a particular feature
 	 *	@param	featureIndex: integer index associated with feature
 	 *	@return	List of doubles for a feature
 	 */
 	public ArrayList<Double> getFeatureValues(Integer index){
-		ArrayList<Double> featureValues = new ArrayList<>();
+		ArrayList<Double> featureValues = new ArrayList<>(this.size());
+
+		// If columnar, read the values straight from the attribute's column
+		if(this.columns != null){
+			for(Example example:data){
+				featureValues.add(this.columns.valueAt(((ColumnExample) example).getRow(), index));
+			}
+			return featureValues;
+		}
 
 		// Loop through each Example object and get the value at the specified index
-		for(Example example:data){
-			featureValues.add(example.getValue(index));
+		for(Example example:this){
+			featureValues.add(example.valueAt(index));
 		}
 
 		return featureValues;
@@ -105,7 +293,7 @@ public class ExampleSet extends DataObjectSet<Example>{
 	 *	@return	a HashSet of all the labels in data
 	 */
 	public Set<Double> getLabels(){
-		return new HashSet<Double>(this.getAllLabels());
+		return new HashSet<Double>(this.labelIndex.keySet());
 	}
 
 	/**
@@ -114,9 +302,9 @@ public class ExampleSet extends DataObjectSet<Example>{
 	 */
 	public ArrayList<Double> getAllLabels(){
 		
-		ArrayList<Double> labels = new ArrayList<Double>(this.data.size());
+		ArrayList<Double> labels = new ArrayList<Double>(this.size());
 
-		for(Example e: this.data){
+		for(Example e: this){
 			labels.add(e.getLabel());
 		}
 		return labels;
@@ -127,20 +315,19 @@ public class ExampleSet extends DataObjectSet<Example>{
 	 * @return majorityLabel: double representing the most common label/class 
 	 */
 	public Double getMajorityLabel(){
-		Integer mostCount 	 = 0;		// tracks highest count
-		Integer loopCount 	 = 0;		// tracks current loop count
+		int mostCount 	 	 = 0;		// tracks highest count
+		int loopCount 	 	 = 0;		// tracks current loop count
 		Double majorityLabel = 0.0; 	// tracks majority label based on its count
-		ArrayList<Double> allLabels  = this.getAllLabels();	// list of all classification labels
 
-		for(Double d: this.getLabels()){
+		for(Map.Entry<Double, Positions> entry : this.labelIndex.entrySet()){
 			
-			loopCount = Collections.frequency(allLabels, d);
+			loopCount = entry.getValue().size;
 
 			// If this label is more frequent than the mostCount (i.e., the latest count),
 			// assign mostCount loopCount's value.
 			if(loopCount > mostCount){
 				mostCount = loopCount;
-				majorityLabel = d;
+				majorityLabel = entry.getKey();
 			}
 		}
 		return majorityLabel;
@@ -151,17 +338,50 @@ public class ExampleSet extends DataObjectSet<Example>{
 	 *	@return	boolean: true if this ExampleSet is homogenous (i.e., only one label/class)
 	 */
 	public boolean isHomogenous(){
-		return (this.getLabels().size() > 1) ? false : true;
+		return (this.labelIndex.size() > 1) ? false : true;
 	}
 
 	/**
-	 *	Get this class's data
+	 *	Get this class's data. Add and remove examples through this class rather
+	 *	than through the returned list so that the label index stays up to date.
 	 *	@return	List of this class's data
 	 */
 	public ArrayList<Example> data(){
 		return this.data;
 	}
 
+	/**
+	 *	Positions holds the ascending positions of the examples with one class
+	 *	label in a growable int[], so the label index costs four bytes per
+	 *	example rather than a boxed Integer and a list slot.
+	 */
+	protected static final class Positions{
+		int[] ids  = new int[4];
+		int	  size = 0;
+
+		// Append a position larger than every position held
+		void add(int position){
+			if(this.size == this.ids.length){
+				this.ids = Arrays.copyOf(this.ids, 2 * this.size);
+			}
+			this.ids[this.size++] = position;
+		}
+
+		// Remove a position held
+		void remove(int position){
+			int i = Arrays.binarySearch(this.ids, 0, this.size, position);
+			System.arraycopy(this.ids, i + 1, this.ids, i, this.size - i - 1);
+			this.size--;
+		}
+
+		// Move the positions after a removed one down by one
+		void shiftAfter(int position){
+			for(int i = this.size - 1; i >= 0 && this.ids[i] > position; i--){
+				this.ids[i]--;
+			}
+		}
+	}
+
 	public static void main(String[] args){
 		ExampleSet as = new ExampleSet();
 		Example a = new Example(new Double[]{1.0, 4.0, 3.0, 2.0});
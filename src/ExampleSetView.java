@@ -0,0 +1,163 @@
+/**
+ *	ExampleSetView is a read-only ExampleSet made of a slice of positions in a
+ *	parent ExampleSet. It stores only those positions (and its own label
+ *	index), never copies of the Example objects or their values, so splitting
+ *	a data set into train, validation, and test sets or into folds does not
+ *	duplicate example storage. Views are made by StratifiedSplitter.
+ *
+ *	The positions refer to the parent as it was when the view was made; if
+ *	examples are removed from the parent afterwards, make the view again.
+ *
+ *  @author		Glenn Abastillas
+ *  @version	1.0.0
+ *  @since		October 18, 2026
+ *
+ * 	ExampleSetView() inherits from the ExampleSet() class. Methods overridden from ExampleSet include:
+ *		Example get(int):				get the example at a position of this view
+ *		Integer size():					get the number of examples in this view
+ *		Iterator<Example> iterator():	iterate over the examples of this view in order
+ *		boolean contains(Example):		check if an example is in this view
+ *		ArrayList<Example> data():		get a new list of the examples of this view
+ *		void add(Example):				not supported; a view is read-only
+ *		void remove(int):				not supported; a view is read-only
+ *
+ * 	ExampleSetView() also has the following methods:
+ *		ExampleSet getParent():			get the ExampleSet this view reads from
+ *		int getParentIndex(int):		get the parent position of a position of this view
+ */
+
+package edu.classifier.dataset;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+public class ExampleSetView extends ExampleSet{
+
+	private ExampleSet	 parent;			// ExampleSet holding the examples
+	private int[]		 indices;			// positions in parent of the examples in this view, in order
+	private Set<Example> viewMembers = null;	// identity set of this view's examples, made the first time contains() is called
+
+	/**
+	 *	Constructor with the parent ExampleSet and the positions to view
+	 *	@param	parent: ExampleSet holding the examples
+	 *	@param	indices: positions in parent of the examples in this view
+	 */
+	public ExampleSetView(ExampleSet parent, int[] indices){
+		this.parent	 = parent;
+		this.indices = indices;
+		this.setMembership(NONE);
+
+		for(int i = 0; i < indices.length; i++){
+			this.added(parent.get(indices[i]), i);
+		}
+	}
+
+	@Override
+	public Example get(int index){
+		return this.parent.get(this.indices[index]);
+	}
+
+	@Override
+	public Example get(Integer index){
+		return this.get(index.intValue());
+	}
+
+	@Override
+	public Integer size(){
+		return this.indices.length;
+	}
+
+	@Override
+	public Iterator<Example> iterator(){
+		return new Iterator<Example>(){
+			private int position = 0;
+
+			@Override
+			public boolean hasNext(){
+				return this.position < indices.length;
+			}
+
+			@Override
+			public Example next(){
+				if(this.position >= indices.length){
+					throw new NoSuchElementException();
+				}
+				return parent.get(indices[this.position++]);
+			}
+		};
+	}
+
+	@Override
+	public Iterator<Example> iterable(){
+		return this.iterator();
+	}
+
+	/**
+	 *	Return true if specified in this view
+	 *	@param	example: example to be checked against examples in this view
+	 *	@return	true if the same Example object is in this view
+	 */
+	@Override
+	public boolean contains(Example example){
+		if(this.viewMembers == null){
+			Set<Example> viewMembers = Collections.newSetFromMap(new IdentityHashMap<>());
+
+			for(Example member : this){
+				viewMembers.add(member);
+			}
+			this.viewMembers = viewMembers;
+		}
+		return this.viewMembers.contains(example);
+	}
+
+	/**
+	 *	Get a new list of the examples in this view; changing it does not change the view
+	 *	@return	List of this view's examples
+	 */
+	@Override
+	public ArrayList<Example> data(){
+		ArrayList<Example> data = new ArrayList<Example>(this.indices.length);
+
+		for(Example example : this){
+			data.add(example);
+		}
+		return data;
+	}
+
+	/**
+	 *	Not supported; a view is read-only
+	 */
+	@Override
+	public void add(Example example) throws UnsupportedOperationException{
+		throw new UnsupportedOperationException("In add() method, an ExampleSetView is read-only.");
+	}
+
+	/**
+	 *	Not supported; a view is read-only
+	 */
+	@Override
+	public void remove(int index) throws UnsupportedOperationException{
+		throw new UnsupportedOperationException("In remove() method, an ExampleSetView is read-only.");
+	}
+
+	/**
+	 *	Get the ExampleSet this view reads from
+	 *	@return	parent ExampleSet
+	 */
+	public ExampleSet getParent(){
+		return this.parent;
+	}
+
+	/**
+	 *	Get the position in the parent of a position in this view
+	 *	@param	index: position in this view
+	 *	@return	position in the parent ExampleSet
+	 */
+	public int getParentIndex(int index){
+		return this.indices[index];
+	}
+}
@@ -13,6 +13,7 @@
  * 	Factory implements the following methods:
  *		Attribute makeAttribute(String):					Return an Attribute from an input String.
  *		Example makeExample(AttributeSet, String):			Return an Example from an input String and AttributeSet (required)
+ *		Example makeExample(AttributeSet, String, int):		Return a dense or sparse Example from an input String and AttributeSet (required)
  *		AttributeSet makeAttributeSet(Attribute[]):			Return an AttributeSet created from an array of Attributes.
  *		AttributeSet makeAttributeSet(String[]):			Return an AttributeSet created from an array of String attributes.
  *		ExampleSet makeExampleSet(Example[]):				Return an ExampleSet created from an array of Examples
@@ -43,16 +44,12 @@ public class Factory{
 
 	// Returns an Example using an AttributeSet to process an example String
 	public static Example makeExample(AttributeSet attributeSet, String stringExampleInput){
-		String[] splitStringExampleInput = stringExampleInput.split(" ");
-		Double[] doubleExampleInput 	 = new Double[splitStringExampleInput.length];
-
-		for(int i = 0; i < splitStringExampleInput.length; i++){
-			doubleExampleInput[i] = attributeSet.get(i).getValue(splitStringExampleInput[i].replace("#", ""));
-			//System.out.println("Double example output || " + attributeSet.get(i).getName() + " || input || " + 
-			//					splitStringExampleInput[i] + " || value || " +  attributeSet.get(i).getValue(splitStringExampleInput[i].replace("#", "")) +
-			//					" || Attributes || " + attributeSet.get(i).data());
-		}
-		return new Example(doubleExampleInput);
+		return Factory.makeExample(attributeSet, stringExampleInput, ExampleFactory.AUTO);
+	}
+
+	// Returns a dense or sparse Example (see ExampleFactory) using an AttributeSet to process an example String
+	public static Example makeExample(AttributeSet attributeSet, String stringExampleInput, int representation){
+		return ExampleFactory.makeExample(attributeSet, stringExampleInput, representation);
 	}
 
 	// Returns an AttributeSet from an array of Attributes
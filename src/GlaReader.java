@@ -0,0 +1,195 @@
+/**
+ *	GlaReader reads a data set file (e.g., *.gla) one line at a time. The
+ *	data set name and the attribute header (lines starting with '@') are read
+ *	when the reader is opened. The examples (lines starting with '#') are then
+ *	parsed one at a time as the reader is iterated, so only the current line
+ *	is held in memory no matter how large the file is.
+ *
+ *	A GlaReader can be iterated directly, turned into a Stream<Example>, or
+ *	passed to DataSet.load(GlaReader) to fill a DataSet. Attributes must appear
+ *	before the examples that use them. A "!sparse" or "!dense" directive line
+ *	sets how the examples after it are stored (see ExampleFactory).
+ *
+ *  @author		Glenn Abastillas
+ *  @version	1.0.0
+ *  @since		October 18, 2026
+ *
+ * 	GlaReader implements the following methods:
+ *		String getName():				get the data set name (first non-empty line)
+ *		AttributeSet getAttributeSet():	get the attributes read from the header
+ *		boolean hasNext():				check if there is another example
+ *		Example next():					parse and return the next example
+ *		Stream<Example> stream():		get the remaining examples as a Stream
+ *		void close():					close the underlying file
+ *
+ *	GlaReader is used by the following classes: DataSet
+ */
+
+package edu.classifier.dataset;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+public class GlaReader implements Iterator<Example>, Closeable{
+
+	private BufferedReader reader;
+	private String		   dataSetName	= "data set";
+	private AttributeSet   attributeSet	= new AttributeSet();
+	private String		   nextLine		= null;		// next example line, or null when the file is finished
+	private int			   representation = ExampleFactory.AUTO;	// dense or sparse examples, set by a '!' directive line
+
+	/**
+	 *	Constructor with a String parameter to the data set file
+	 *	@param	fileName: pathway to text file containing dataset information
+	 */
+	public GlaReader(String fileName) throws IOException{
+		this(new BufferedReader(new FileReader(fileName)));
+	}
+
+	/**
+	 *	Constructor with a BufferedReader over data set text
+	 *	@param	reader: BufferedReader positioned at the start of the data set
+	 */
+	public GlaReader(BufferedReader reader) throws IOException{
+		this.reader = reader;
+
+		// The first non-empty line is the data set name; it may also be an attribute or example
+		String line = this.readLine();
+
+		if(line != null){
+			this.dataSetName = line;
+			this.nextLine	 = this.advance(line);
+		}
+	}
+
+	/**
+	 *	Read the next non-empty line from the file
+	 *	@return	line of text, or null at the end of the file
+	 */
+	private String readLine() throws IOException{
+		String line;
+
+		while((line = this.reader.readLine()) != null){
+			if(line.replace(" ", "").length() > 0){
+				return line;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 *	Read lines starting with line until an example line is found. Attribute
+	 *	lines found on the way are added to this reader's AttributeSet, and
+	 *	directive lines set the representation of the examples that follow.
+	 *	@param	line: first line to check
+	 *	@return	example line, or null at the end of the file
+	 */
+	private String advance(String line) throws IOException{
+		while(line != null){
+			if(line.substring(0,1).equals("@")){
+				this.attributeSet.add(Factory.makeAttribute(line));
+			}
+
+			if(line.substring(0,1).equals("!")){
+				this.representation = ExampleFactory.getRepresentation(line);
+			}
+
+			if(line.substring(0,1).equals("#")){
+				return line;
+			}
+
+			line = this.readLine();
+		}
+		return null;
+	}
+
+	/**
+	 *	Return the name of the data set being read
+	 *	@return	String	dataSetName	first non-empty line of the file
+	 */
+	public String getName(){
+		return this.dataSetName;
+	}
+
+	/**
+	 *	Get the attributes read from the header of the file
+	 *	@return	AttributeSet used to parse the examples
+	 */
+	public AttributeSet getAttributeSet(){
+		return this.attributeSet;
+	}
+
+	/**
+	 *	Check if there is another example in the file
+	 *	@return	true if next() will return an Example
+	 */
+	@Override
+	public boolean hasNext(){
+		return this.nextLine != null;
+	}
+
+	/**
+	 *	Parse and return the next example in the file
+	 *	@return	Example object for the next example line
+	 */
+	@Override
+	public Example next() throws NoSuchElementException{
+		if(this.nextLine == null){
+			throw new NoSuchElementException("In next() method, there are no more examples in this file.");
+		}
+
+		Example example = Factory.makeExample(this.attributeSet, this.nextLine, this.representation);
+
+		try{
+			this.nextLine = this.advance(this.readLine());
+		} catch(IOException e){
+			throw new UncheckedIOException(e);
+		}
+
+		return example;
+	}
+
+	/**
+	 *	Get the remaining examples in the file as a sequential Stream. Closing
+	 *	the Stream closes this reader.
+	 *	@return	Stream of Example objects in file order
+	 */
+	public Stream<Example> stream(){
+		Spliterator<Example> spliterator = Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL);
+
+		return StreamSupport.stream(spliterator, false).onClose(() -> {
+			try{
+				this.close();
+			} catch(IOException e){
+				throw new UncheckedIOException(e);
+			}
+		});
+	}
+
+	/**
+	 *	Close the file being read
+	 */
+	@Override
+	public void close() throws IOException{
+		this.nextLine = null;
+		this.reader.close();
+	}
+
+	public static void main(String[] args) throws IOException{
+		String fileName = "/Users/ducrix/Documents/Research/Java/classifier/resources/data/ml/test_cars.gla";
+
+		try(GlaReader reader = new GlaReader(fileName)){
+			System.out.println("Name:\t" + reader.getName() + "\tAttributes:\t" + reader.getAttributeSet().size());
+			System.out.println("Examples:\t" + reader.stream().count());
+		}
+	}
+}
@@ -0,0 +1,77 @@
+/**
+ *	MappedExampleColumns is an ExampleColumns store whose columns and label
+ *	codes are read straight out of a memory-mapped binary data set file (see
+ *	BinaryDataSet). Nothing is parsed or copied when the store is opened; the
+ *	operating system pages the values in as they are read, and processes that
+ *	map the same file share those pages. The store is read-only.
+ *
+ *  @author		Glenn Abastillas
+ *  @version	1.0.0
+ *  @since		October 18, 2026
+ *
+ * 	MappedExampleColumns() inherits from the ExampleColumns() class. Methods overridden from ExampleColumns include:
+ *		double valueAt(int, int):		get the value at a row and column
+ *		int labelAt(int):				get the label code of a row
+ *		void copyRow(int, double[]):	copy a row's values into an array
+ *		void copyColumn(int, double[]):	copy a column's values into an array
+ *		int size():						get the number of rows
+ *		int dimension():				get the number of columns
+ *		int add(double[], double):		not supported; this store is read-only
+ */
+
+package edu.classifier.dataset;
+
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+
+public class MappedExampleColumns extends ExampleColumns{
+
+	protected DoubleBuffer[] mappedColumns;	// one mapped block of values per attribute
+	protected IntBuffer		 mappedLabels;	// mapped block of label codes
+
+	/**
+	 *	Constructor with the mapped column blocks and label block
+	 *	@param	mappedColumns: one DoubleBuffer of size() values per attribute
+	 *	@param	mappedLabels: IntBuffer of size() label codes
+	 */
+	public MappedExampleColumns(DoubleBuffer[] mappedColumns, IntBuffer mappedLabels){
+		this.mappedColumns = mappedColumns;
+		this.mappedLabels  = mappedLabels;
+		this.size		   = mappedLabels.limit();
+	}
+
+	/**
+	 *	Not supported; a mapped store is read-only
+	 */
+	@Override
+	public int add(double[] values, double label) throws UnsupportedOperationException{
+		throw new UnsupportedOperationException("In add() method, a MappedExampleColumns store is read-only.");
+	}
+
+	@Override
+	public double valueAt(int row, int column){
+		return this.mappedColumns[column].get(row);
+	}
+
+	@Override
+	public int labelAt(int row){
+		return this.mappedLabels.get(row);
+	}
+
+	@Override
+	public void copyRow(int row, double[] destination){
+		for(int i = 0; i < this.mappedColumns.length; i++){
+			destination[i] = this.mappedColumns[i].get(row);
+		}
+	}
+
+	@Override
+	public void copyColumn(int column, double[] destination){
+		this.mappedColumns[column].duplicate().get(destination, 0, this.size);
+	}
+
+	@Override
+	public int dimension(){
+		return this.mappedColumns.length;
+	}
+}
@@ -0,0 +1,198 @@
+/**
+ *	PackedExample is an Example of nominal values kept as one-hot bits packed
+ *	into long words. Attribute j with c labels owns c consecutive bits
+ *	starting at offsets[j], and exactly one of them, the bit of the value's
+ *	code, is set. A binary attribute costs two bits and a five-label one five
+ *	bits, instead of a double each, and two packed examples differ on an
+ *	attribute exactly when their bits for it differ in two places, so
+ *	Distance.getHammingDistance() counts mismatches 64 bits at a time with
+ *	Long.bitCount(). The offsets are shared by every example made for the
+ *	same AttributeSet (see getOffsets()), and the class label is kept as a
+ *	double, so an example costs one small object and its words. PackedExamples
+ *	are made by ExampleFactory.
+ *
+ *  @author		Glenn Abastillas
+ *  @version	1.0.0
+ *  @since		October 18, 2026
+ *
+ * 	PackedExample() inherits from the Example() class. Methods overridden from Example include:
+ *		Double getLabel():			get the class label, kept as a double rather than a Double
+ *		double valueAt(int):		get the code at an attribute index (the set bit of the attribute)
+ *		int dimension():			get the number of attributes
+ *		void copyInto(double[]):	copy this example's codes into an array
+ *		ArrayList data():			get this example's codes in attribute order
+ *
+ * 	PackedExample() also has the following methods:
+ *		static int[] getOffsets(AttributeSet):	get the bit offsets of an all-nominal AttributeSet's attributes
+ *		static PackedExample pack(double[], double, int[]):	pack codes, or null if one is not a code of its attribute
+ *		long[] getWords():			get the packed bits
+ *		int[] getOffsets():			get the first bit of each attribute
+ *		boolean hasLayout(PackedExample):	check if another example packs its attributes the same way
+ */
+
+package edu.classifier.dataset;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+public class PackedExample extends Example{
+
+	protected long[] words;		// one-hot bits, bit b of the example in words[b / 64]
+	protected int[]	 offsets;	// first bit of each attribute, and the total number of bits at the end; shared
+	protected double label;		// class label, kept unboxed; the inherited classLabel stays null
+
+	/**
+	 *	Constructor with packed bits
+	 *	@param	words: one-hot bits, one set bit per attribute
+	 *	@param	offsets: first bit of each attribute, and the total number of bits at the end
+	 *	@param	classLabel: label of this example's classification
+	 */
+	public PackedExample(long[] words, int[] offsets, double classLabel){
+		this.words	 = words;
+		this.offsets = offsets;
+		this.label	 = classLabel;
+	}
+
+	/**
+	 *	Get example's class label
+	 *	@return	Double	classLabel	label of this example's classification
+	 */
+	@Override
+	public Double getLabel(){
+		return this.label;
+	}
+
+	/**
+	 *	Get the bit offsets of an AttributeSet whose attributes, except the
+	 *	last (the class), are all nominal
+	 *	@param	attributeSet: AttributeSet object, class attribute last
+	 *	@return	first bit of each attribute, and the total number of bits at the end
+	 */
+	public static int[] getOffsets(AttributeSet attributeSet) throws IllegalArgumentException{
+		int	  dimension = attributeSet.size() - 1;
+		int[] offsets	= new int[Math.max(0, dimension) + 1];
+
+		for(int j = 0; j < dimension; j++){
+			if(attributeSet.getType(j) != 0){
+				throw new IllegalArgumentException("In getOffsets() method, attribute " + attributeSet.get(j).getName() + " is not nominal.");
+			}
+			offsets[j + 1] = offsets[j] + attributeSet.get(j).getLabelCount();
+		}
+		return offsets;
+	}
+
+	/**
+	 *	Pack an example's codes
+	 *	@param	values: code of each attribute's value
+	 *	@param	classLabel: label of the example's classification
+	 *	@param	offsets: bit offsets from getOffsets()
+	 *	@return	PackedExample, or null if a value is not a code of its attribute (e.g., an unknown label)
+	 */
+	public static PackedExample pack(double[] values, double classLabel, int[] offsets){
+		long[] words = new long[(offsets[offsets.length - 1] + 63) >>> 6];
+
+		for(int j = 0; j < values.length; j++){
+			double value = values[j];
+			int	   width = offsets[j + 1] - offsets[j];
+
+			if(!(value >= 0.0 && value < width) || value != Math.rint(value)){
+				return null;
+			}
+
+			int bit = offsets[j] + (int) value;
+			words[bit >>> 6] |= 1L << bit;
+		}
+		return new PackedExample(words, offsets, classLabel);
+	}
+
+	/**
+	 *	Get the code at an attribute index
+	 *	@param	index: attribute index (0 to dimension() - 1)
+	 *	@return	code of the attribute's value
+	 */
+	@Override
+	public double valueAt(int index){
+		if(index < 0 || index >= this.dimension()){
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.dimension());
+		}
+
+		int from = this.offsets[index];
+		int to	 = this.offsets[index + 1];
+
+		// Find the set bit of the attribute, starting in the word holding its first bit
+		for(int w = from >>> 6; (w << 6) < to; w++){
+			long word = this.words[w];
+
+			if(w == (from >>> 6)){
+				word &= -1L << from;
+			}
+			if(word != 0L){
+				return (w << 6) + Long.numberOfTrailingZeros(word) - from;
+			}
+		}
+		return Double.NaN;
+	}
+
+	/**
+	 *	Get the number of attributes in this example
+	 *	@return	integer number of values
+	 */
+	@Override
+	public int dimension(){
+		return this.offsets.length - 1;
+	}
+
+	/**
+	 *	Copy this example's codes into an array in attribute order
+	 *	@param	destination: array of at least dimension() values
+	 */
+	@Override
+	public void copyInto(double[] destination){
+		int dimension = this.dimension();
+
+		for(int j = 0; j < dimension; j++){
+			destination[j] = this.valueAt(j);
+		}
+	}
+
+	/**
+	 *	Get this example's codes in attribute order
+	 *	@return	ArrayList<Double> of this example's values
+	 */
+	@Override
+	public ArrayList<Double> data(){
+		int dimension = this.dimension();
+		ArrayList<Double> data = new ArrayList<Double>(dimension);
+
+		for(int j = 0; j < dimension; j++){
+			data.add(this.valueAt(j));
+		}
+		return data;
+	}
+
+	/**
+	 *	Get the packed bits
+	 *	@return	one-hot bits, bit b in word b / 64 (not a copy)
+	 */
+	public long[] getWords(){
+		return this.words;
+	}
+
+	/**
+	 *	Get the first bit of each attribute
+	 *	@return	offsets, and the total number of bits at the end (not a copy)
+	 */
+	public int[] getOffsets(){
+		return this.offsets;
+	}
+
+	/**
+	 *	Check if another example packs its attributes the same way, so their
+	 *	words can be compared bit for bit
+	 *	@param	other: PackedExample to compare with
+	 *	@return	true if both have the same offsets
+	 */
+	public boolean hasLayout(PackedExample other){
+		return this.offsets == other.offsets || Arrays.equals(this.offsets, other.offsets);
+	}
+}
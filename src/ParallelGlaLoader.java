@@ -0,0 +1,302 @@
+/**
+ *	ParallelGlaLoader parses the examples of a data set file (e.g., *.gla) on
+ *	several threads. The data set name and the attribute header are read first
+ *	on the calling thread. The rest of the file (the example section) is then
+ *	split into byte ranges that start and end on line boundaries, and each
+ *	range is parsed by its own worker using the shared AttributeSet, which is
+ *	only read from once the header is done. The parsed ranges are added to the
+ *	target ExampleSet in file order, so the result is the same as DataSet.load.
+ *
+ *	Attributes and the "!sparse" or "!dense" directive (see ExampleFactory) must
+ *	appear before the first example. Attribute and directive lines found in the
+ *	example section are ignored.
+ *
+ *  @author		Glenn Abastillas
+ *  @version	1.0.0
+ *  @since		October 18, 2026
+ *
+ * 	ParallelGlaLoader implements the following methods:
+ *		String getName():				get the data set name (first non-empty line)
+ *		AttributeSet getAttributeSet():	get the attributes read from the header
+ *		void readInto(ExampleSet):		parse the examples in parallel and add them in file order
+ *
+ *	ParallelGlaLoader is used by the following classes: DataSet
+ */
+
+package edu.classifier.dataset;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class ParallelGlaLoader{
+
+	private static final long CHUNK_SIZE = 16L * 1024 * 1024;	// bytes of the example section parsed by one task
+
+	private String		 fileName;
+	private int			 threads;
+	private Charset		 charset	  = Charset.defaultCharset();	// same charset FileReader uses in GlaReader
+	private String		 dataSetName  = "data set";
+	private AttributeSet attributeSet = new AttributeSet();
+	private int			 representation = ExampleFactory.AUTO;	// dense or sparse examples, set by a '!' directive line
+	private long		 start		  = 0;	// byte offset of the first example line
+	private long		 end		  = 0;	// size of the file in bytes
+
+	/**
+	 *	Constructor using one thread per available processor
+	 *	@param	fileName: pathway to text file containing dataset information
+	 */
+	public ParallelGlaLoader(String fileName) throws IOException{
+		this(fileName, Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 *	Constructor with the number of threads to parse with
+	 *	@param	fileName: pathway to text file containing dataset information
+	 *	@param	threads: number of worker threads
+	 */
+	public ParallelGlaLoader(String fileName, int threads) throws IOException{
+		this.fileName = fileName;
+		this.threads  = Math.max(threads, 1);
+		this.readHeader();
+	}
+
+	/**
+	 *	Read the data set name and attributes and find where the examples start
+	 */
+	private void readHeader() throws IOException{
+		try(FileChannel channel = FileChannel.open(Paths.get(this.fileName), StandardOpenOption.READ)){
+			this.end = channel.size();
+
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(this.end, Integer.MAX_VALUE));
+			LineScanner scanner = new LineScanner(buffer, 0, buffer.limit());
+			boolean named = false;
+			String line;
+
+			// Read lines until the first example line, keeping its starting offset
+			while((line = scanner.next()) != null){
+				if(line.replace(" ", "").length() == 0){
+					continue;
+				}
+
+				if(!named){
+					this.dataSetName = line;
+					named = true;
+				}
+
+				if(line.substring(0,1).equals("@")){
+					this.attributeSet.add(Factory.makeAttribute(line));
+				}
+
+				if(line.substring(0,1).equals("!")){
+					this.representation = ExampleFactory.getRepresentation(line);
+				}
+
+				if(line.substring(0,1).equals("#")){
+					this.start = scanner.lineStart();
+					return;
+				}
+			}
+
+			// No examples in this file
+			this.start = this.end;
+		}
+	}
+
+	/**
+	 *	Return the name of the data set being read
+	 *	@return	String	dataSetName	first non-empty line of the file
+	 */
+	public String getName(){
+		return this.dataSetName;
+	}
+
+	/**
+	 *	Get the attributes read from the header of the file
+	 *	@return	AttributeSet used to parse the examples
+	 */
+	public AttributeSet getAttributeSet(){
+		return this.attributeSet;
+	}
+
+	/**
+	 *	Parse the example section of the file in parallel and add the examples
+	 *	to an ExampleSet in file order
+	 *	@param	exampleSet: ExampleSet to add the parsed examples to
+	 */
+	public void readInto(ExampleSet exampleSet) throws IOException{
+		long length = this.end - this.start;
+		int chunks  = (int) Math.max(1, Math.min(Integer.MAX_VALUE, Math.max(this.threads * 4L, (length + CHUNK_SIZE - 1) / CHUNK_SIZE)));
+		chunks		= (int) Math.max(1, Math.min(chunks, length));
+
+		ExecutorService pool = Executors.newFixedThreadPool(Math.min(this.threads, chunks));
+		ArrayList<Future<ArrayList<Example>>> results = new ArrayList<>(chunks);
+
+		try(FileChannel channel = FileChannel.open(Paths.get(this.fileName), StandardOpenOption.READ)){
+
+			// Split the example section into equal byte ranges; each task realigns its range on line boundaries
+			for(int i = 0; i < chunks; i++){
+				long lower = this.start + (length * i) / chunks;
+				long upper = this.start + (length * (i + 1)) / chunks;
+				results.add(pool.submit(new ChunkParser(channel, lower, upper)));
+			}
+
+			// Merge the chunks in file order, releasing each one once it has been added
+			for(int i = 0; i < chunks; i++){
+				for(Example example : results.get(i).get()){
+					exampleSet.add(example);
+				}
+				results.set(i, null);
+			}
+
+		} catch(InterruptedException e){
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted while loading " + this.fileName, e);
+
+		} catch(ExecutionException e){
+			if(e.getCause() instanceof IOException){
+				throw (IOException) e.getCause();
+			} else if(e.getCause() instanceof UncheckedIOException){
+				throw ((UncheckedIOException) e.getCause()).getCause();
+			} else if(e.getCause() instanceof RuntimeException){
+				throw (RuntimeException) e.getCause();
+			}
+			throw new IOException("Unable to load " + this.fileName, e.getCause());
+
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	/**
+	 *	ChunkParser parses every example line that starts inside [lower, upper).
+	 *	A line that starts inside the range is read to its end even if that end
+	 *	is past upper; a line that starts before lower belongs to the previous chunk.
+	 */
+	private class ChunkParser implements Callable<ArrayList<Example>>{
+
+		private FileChannel channel;
+		private long		lower;
+		private long		upper;
+
+		ChunkParser(FileChannel channel, long lower, long upper){
+			this.channel = channel;
+			this.lower	 = lower;
+			this.upper	 = upper;
+		}
+
+		@Override
+		public ArrayList<Example> call() throws IOException{
+			ArrayList<Example> examples = new ArrayList<>();
+
+			// Map from the byte before lower (to see whether lower starts a line) to the end of the file
+			long mapStart = (this.lower > start) ? this.lower - 1 : this.lower;
+			long mapSize  = Math.min(end - mapStart, Integer.MAX_VALUE);
+			MappedByteBuffer buffer = this.channel.map(FileChannel.MapMode.READ_ONLY, mapStart, mapSize);
+
+			LineScanner scanner = new LineScanner(buffer, 0, buffer.limit());
+
+			// Skip the rest of the line that started before lower
+			if(mapStart < this.lower){
+				scanner.skipLine();
+			}
+
+			String line;
+			while(mapStart + scanner.position() < this.upper && (line = scanner.next()) != null){
+				if(line.replace(" ", "").length() > 0 && line.substring(0,1).equals("#")){
+					examples.add(Factory.makeExample(attributeSet, line, representation));
+				}
+			}
+
+			return examples;
+		}
+	}
+
+	/**
+	 *	LineScanner reads lines out of a mapped region of the file. Lines end at
+	 *	'\n'; a '\r' before the '\n' is dropped. Each scanner keeps its own line
+	 *	buffer, so scanners may be used on different threads at the same time.
+	 */
+	private class LineScanner{
+
+		private MappedByteBuffer buffer;
+		private int				 position;
+		private int				 limit;
+		private int				 lineStart = 0;
+		private byte[]			 line	   = new byte[256];
+
+		LineScanner(MappedByteBuffer buffer, int position, int limit){
+			this.buffer	  = buffer;
+			this.position = position;
+			this.limit	  = limit;
+		}
+
+		// Offset in the buffer of the next byte to read
+		int position(){
+			return this.position;
+		}
+
+		// Offset in the buffer where the last line returned by next() started
+		int lineStart(){
+			return this.lineStart;
+		}
+
+		// Move past the next '\n'
+		void skipLine(){
+			while(this.position < this.limit && this.buffer.get(this.position++) != '\n'){
+				// Skip
+			}
+		}
+
+		// Return the next line, or null at the end of the region
+		String next(){
+			if(this.position >= this.limit){
+				return null;
+			}
+
+			int length = 0;
+			this.lineStart = this.position;
+
+			while(this.position < this.limit){
+				byte b = this.buffer.get(this.position++);
+
+				if(b == '\n'){
+					break;
+				}
+
+				if(length == this.line.length){
+					this.line = Arrays.copyOf(this.line, length * 2);
+				}
+				this.line[length++] = b;
+			}
+
+			if(length > 0 && this.line[length - 1] == '\r'){
+				length--;
+			}
+
+			return new String(this.line, 0, length, charset);
+		}
+	}
+
+	public static void main(String[] args) throws IOException{
+		String fileName = "/Users/ducrix/Documents/Research/Java/classifier/resources/data/ml/test_cars.gla";
+
+		ParallelGlaLoader loader = new ParallelGlaLoader(fileName, 4);
+		ExampleSet exampleSet = new ExampleSet();
+		loader.readInto(exampleSet);
+
+		System.out.println("Name:\t" + loader.getName() + "\tAttributes:\t" + loader.getAttributeSet().size());
+		System.out.println("Examples:\t" + exampleSet.size());
+	}
+}
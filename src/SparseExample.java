@@ -0,0 +1,206 @@
+/**
+ *	SparseExample is an Example that keeps only its non-zero values. The
+ *	values are stored as two parallel arrays, the attribute indices of the
+ *	non-zero values in ascending order and the values themselves, so a
+ *	bag-of-words example with a few dozen words out of a vocabulary of
+ *	thousands costs a few dozen entries instead of thousands. Every attribute
+ *	index that is not stored has the value 0.0. Distance and NaiveBayes walk
+ *	the non-zero entries directly (see nonZeroCount(), indexAt() and
+ *	nonZeroAt()) so their work scales with the non-zeros too. SparseExamples
+ *	are made by ExampleFactory.
+ *
+ *  @author		Glenn Abastillas
+ *  @version	1.0.0
+ *  @since		October 18, 2026
+ *
+ * 	SparseExample() inherits from the Example() class. Methods overridden from Example include:
+ *		double valueAt(int):		get the value at an attribute index (binary search of the non-zero indices)
+ *		int dimension():			get the number of attribute values, zeros included
+ *		void copyInto(double[]):	copy this example's values, zeros included, into an array
+ *		ArrayList data():			get this example's values, zeros included, in attribute order
+ *
+ * 	SparseExample() also has the following methods:
+ *		int nonZeroCount():			get the number of stored non-zero values
+ *		int indexAt(int):			get the attribute index of the k-th non-zero value
+ *		double nonZeroAt(int):		get the k-th non-zero value
+ *		double getDensity():		get the fraction of attribute values that are non-zero
+ */
+
+package edu.classifier.dataset;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+public class SparseExample extends Example{
+
+	protected int[]	   indices;		// attribute indices of the non-zero values, ascending
+	protected double[] nonZeros;	// non-zero values, parallel to indices
+	protected int	   dimension;	// number of attribute values, zeros included
+
+	/**
+	 *	Constructor with the non-zero entries of an example
+	 *	@param	indices: attribute indices of the non-zero values in ascending order
+	 *	@param	nonZeros: non-zero values, parallel to indices
+	 *	@param	dimension: number of attribute values, zeros included
+	 *	@param	classLabel: label of this example's classification
+	 */
+	public SparseExample(int[] indices, double[] nonZeros, int dimension, double classLabel) throws IllegalArgumentException{
+		if(indices.length != nonZeros.length){
+			throw new IllegalArgumentException("In SparseExample() constructor, indices and nonZeros must have the same length.");
+		}
+
+		for(int k = 0; k < indices.length; k++){
+			if(indices[k] < 0 || indices[k] >= dimension || (k > 0 && indices[k] <= indices[k-1])){
+				throw new IllegalArgumentException("In SparseExample() constructor, indices must be ascending and between 0 and " + (dimension - 1) + ".");
+			}
+		}
+
+		this.indices	= indices;
+		this.nonZeros	= nonZeros;
+		this.dimension	= dimension;
+		this.classLabel = classLabel;
+	}
+
+	/**
+	 *	Constructor that keeps the non-zero values of a full array of values
+	 *	@param	values: feature values in attribute order
+	 *	@param	classLabel: label of this example's classification
+	 */
+	public SparseExample(double[] values, double classLabel){
+		int count = SparseExample.countNonZeros(values);
+
+		this.indices	= new int[count];
+		this.nonZeros	= new double[count];
+		this.dimension	= values.length;
+		this.classLabel = classLabel;
+
+		int k = 0;
+		for(int i = 0; i < values.length; i++){
+			if(SparseExample.isNonZero(values[i])){
+				this.indices[k]	 = i;
+				this.nonZeros[k] = values[i];
+				k++;
+			}
+		}
+	}
+
+	/**
+	 *	Count the values of an array that a SparseExample would store
+	 *	@param	values: feature values in attribute order
+	 *	@return	number of non-zero values
+	 */
+	public static int countNonZeros(double[] values){
+		int count = 0;
+
+		for(double value : values){
+			if(SparseExample.isNonZero(value)){
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 *	Check if a value has to be stored; only 0.0 itself is left out, so -0.0
+	 *	and NaN come back from valueAt() exactly as they went in
+	 *	@param	value: feature value
+	 *	@return	true if value is not 0.0
+	 */
+	private static boolean isNonZero(double value){
+		return Double.doubleToRawLongBits(value) != 0L;
+	}
+
+	/**
+	 *	Get the value at an attribute index
+	 *	@param	index: attribute index (0 to dimension() - 1)
+	 *	@return	double value at index
+	 */
+	@Override
+	public double valueAt(int index){
+		if(index < 0 || index >= this.dimension){
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.dimension);
+		}
+
+		int k = Arrays.binarySearch(this.indices, index);
+		return (k >= 0) ? this.nonZeros[k] : 0.0;
+	}
+
+	/**
+	 *	Get the number of attribute values in this example, zeros included
+	 *	@return	integer number of values
+	 */
+	@Override
+	public int dimension(){
+		return this.dimension;
+	}
+
+	/**
+	 *	Copy this example's values into an array in attribute order
+	 *	@param	destination: array of at least dimension() values
+	 */
+	@Override
+	public void copyInto(double[] destination){
+		Arrays.fill(destination, 0, this.dimension, 0.0);
+
+		for(int k = 0; k < this.indices.length; k++){
+			destination[this.indices[k]] = this.nonZeros[k];
+		}
+	}
+
+	/**
+	 *	Get this example's values, zeros included, in attribute order
+	 *	@return	ArrayList<Double> of this example's values
+	 */
+	@Override
+	public ArrayList<Double> data(){
+		double[] values = new double[this.dimension];
+		this.copyInto(values);
+
+		ArrayList<Double> data = new ArrayList<Double>(this.dimension);
+
+		for(double value : values){
+			data.add(value);
+		}
+		return data;
+	}
+
+	/**
+	 *	Get the number of non-zero values stored in this example
+	 *	@return	integer number of non-zero values
+	 */
+	public int nonZeroCount(){
+		return this.indices.length;
+	}
+
+	/**
+	 *	Get the attribute index of a stored non-zero value
+	 *	@param	k: position of the non-zero value (0 to nonZeroCount() - 1)
+	 *	@return	attribute index; indices increase with k
+	 */
+	public int indexAt(int k){
+		return this.indices[k];
+	}
+
+	/**
+	 *	Get a stored non-zero value
+	 *	@param	k: position of the non-zero value (0 to nonZeroCount() - 1)
+	 *	@return	non-zero value at attribute index indexAt(k)
+	 */
+	public double nonZeroAt(int k){
+		return this.nonZeros[k];
+	}
+
+	/**
+	 *	Get the fraction of this example's attribute values that are non-zero
+	 *	@return	nonZeroCount() / dimension()
+	 */
+	public double getDensity(){
+		return (this.dimension == 0) ? 0.0 : (double) this.indices.length / this.dimension;
+	}
+
+	public static void main(String[] args){
+		SparseExample e = new SparseExample(new double[]{0.0, 0.0, 3.0, 0.0, 1.0}, 1.0);
+		System.out.println(e.nonZeroCount() + " non-zeros of " + e.dimension() + ": " + e.data());
+		System.out.println(e.valueAt(2) + " " + e.valueAt(3));
+	}
+}
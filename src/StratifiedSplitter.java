@@ -0,0 +1,178 @@
+/**
+ *	StratifiedSplitter splits an ExampleSet into train/test sets, train/
+ *	validation/test sets, or k folds. Each class label (stratum) is split in
+ *	the same proportions. The positions of each stratum are shuffled once
+ *	with a Random seeded by the splitter's seed, so the same seed always gives
+ *	the same split. Each split is an ExampleSetView over the original set,
+ *	which holds only positions, so no example storage is copied. Splitting
+ *	takes O(n) time for n examples (O(k * n) for k folds).
+ *
+ *  @author		Glenn Abastillas
+ *  @version	1.0.0
+ *  @since		October 18, 2026
+ *
+ * 	StratifiedSplitter implements the following methods:
+ *		ArrayList<ExampleSet> getTrainTestSet(Double):					split into training and testing sets
+ *		ArrayList<ExampleSet> getTrainValidationTestSet(Double, Double):	split into training, validation, and testing sets
+ *		ArrayList<ArrayList<ExampleSet>> getFolds(int):					split into k folds; each fold is a training and testing set
+ *
+ *	StratifiedSplitter is used by the following classes: DataSet
+ */
+
+package edu.classifier.dataset;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+public class StratifiedSplitter{
+
+	private ExampleSet exampleSet;
+	private long	   randomNumberSeed;
+
+	/**
+	 *	Constructor with the ExampleSet to split and the seed to shuffle with
+	 *	@param	exampleSet: ExampleSet to split
+	 *	@param	randomNumberSeed: seed of the Random used to shuffle each stratum
+	 */
+	public StratifiedSplitter(ExampleSet exampleSet, long randomNumberSeed){
+		this.exampleSet		  = exampleSet;
+		this.randomNumberSeed = randomNumberSeed;
+	}
+
+	/**
+	 *	Split into training and testing sets
+	 *	@param	percentForTrainingSet: decimal number indicating the percentage of each stratum for the training set
+	 *	@return	list containing the training and testing sets
+	 */
+	public ArrayList<ExampleSet> getTrainTestSet(Double percentForTrainingSet){
+		return this.split(new double[]{percentForTrainingSet}, 2);
+	}
+
+	/**
+	 *	Split into training, validation, and testing sets; the testing set is the remainder
+	 *	@param	percentForTrainingSet: decimal number indicating the percentage of each stratum for the training set
+	 *	@param	percentForValidationSet: decimal number indicating the percentage of each stratum for the validation set
+	 *	@return	list containing the training, validation, and testing sets
+	 */
+	public ArrayList<ExampleSet> getTrainValidationTestSet(Double percentForTrainingSet, Double percentForValidationSet){
+		return this.split(new double[]{percentForTrainingSet, percentForValidationSet}, 3);
+	}
+
+	/**
+	 *	Split into k folds. Fold i is tested on the i-th part of each stratum and
+	 *	trained on the other k - 1 parts.
+	 *	@param	k: number of folds
+	 *	@return	list of k folds, each a list containing a training and testing set
+	 */
+	public ArrayList<ArrayList<ExampleSet>> getFolds(int k) throws IllegalArgumentException{
+		if(k < 2 || k > this.exampleSet.size()){
+			throw new IllegalArgumentException("In getFolds() method, k must be between 2 and the number of examples.");
+		}
+
+		int[] assignments = new int[this.exampleSet.size()];
+		Random randomNumberGenerator = new Random(this.randomNumberSeed);
+		int next = 0;
+
+		// Deal the shuffled positions of each stratum into the folds, continuing where the last stratum ended
+		for(Double classLabel : this.exampleSet.getLabelCounts().keySet()){
+			int[] stratum = this.shuffle(this.exampleSet.getIndicesWithLabel(classLabel), randomNumberGenerator);
+
+			for(int position : stratum){
+				assignments[position] = next;
+				next = (next + 1) % k;
+			}
+		}
+
+		int[] foldSizes = new int[k];
+		for(int assignment : assignments){
+			foldSizes[assignment]++;
+		}
+
+		ArrayList<ArrayList<ExampleSet>> folds = new ArrayList<>(k);
+
+		for(int fold = 0; fold < k; fold++){
+			int[] train = new int[assignments.length - foldSizes[fold]];
+			int[] test	= new int[foldSizes[fold]];
+			int trainCount = 0;
+			int testCount  = 0;
+
+			for(int position = 0; position < assignments.length; position++){
+				if(assignments[position] == fold){
+					test[testCount++] = position;
+				} else {
+					train[trainCount++] = position;
+				}
+			}
+
+			ArrayList<ExampleSet> trainTestSet = new ArrayList<>(2);
+			trainTestSet.add(new ExampleSetView(this.exampleSet, train));
+			trainTestSet.add(new ExampleSetView(this.exampleSet, test));
+			folds.add(trainTestSet);
+		}
+
+		return folds;
+	}
+
+	/**
+	 *	Split each stratum by percentages; the last split gets what is left
+	 *	@param	percentages: percentage of each stratum for every split but the last
+	 *	@param	splits: number of splits
+	 *	@return	list of splits as ExampleSetViews
+	 */
+	private ArrayList<ExampleSet> split(double[] percentages, int splits){
+		int[] assignments = new int[this.exampleSet.size()];
+		int[] splitSizes  = new int[splits];
+		Random randomNumberGenerator = new Random(this.randomNumberSeed);
+
+		// Loop through the strata, shuffle each one, and cut it into the splits
+		for(Double classLabel : this.exampleSet.getLabelCounts().keySet()){
+			int[] stratum = this.shuffle(this.exampleSet.getIndicesWithLabel(classLabel), randomNumberGenerator);
+			int start = 0;
+
+			for(int split = 0; split < splits; split++){
+				int count = (split < percentages.length) ? Math.round((float) (percentages[split] * stratum.length)) : stratum.length;
+				int end	  = Math.min(stratum.length, start + count);
+
+				for(int i = start; i < end; i++){
+					assignments[stratum[i]] = split;
+				}
+				splitSizes[split] += end - start;
+				start = end;
+			}
+		}
+
+		// Collect the positions of each split in their original order
+		int[][] indices = new int[splits][];
+		int[]	counts	= new int[splits];
+
+		for(int split = 0; split < splits; split++){
+			indices[split] = new int[splitSizes[split]];
+		}
+		for(int position = 0; position < assignments.length; position++){
+			int split = assignments[position];
+			indices[split][counts[split]++] = position;
+		}
+
+		ArrayList<ExampleSet> exampleSets = new ArrayList<>(splits);
+		for(int split = 0; split < splits; split++){
+			exampleSets.add(new ExampleSetView(this.exampleSet, indices[split]));
+		}
+		return exampleSets;
+	}
+
+	/**
+	 *	Shuffle an array of positions in place (Fisher-Yates)
+	 *	@param	positions: positions to shuffle
+	 *	@param	randomNumberGenerator: seeded Random
+	 *	@return	positions, shuffled
+	 */
+	private int[] shuffle(int[] positions, Random randomNumberGenerator){
+		for(int i = positions.length - 1; i > 0; i--){
+			int j = randomNumberGenerator.nextInt(i + 1);
+			int swap = positions[i];
+			positions[i] = positions[j];
+			positions[j] = swap;
+		}
+		return positions;
+	}
+}
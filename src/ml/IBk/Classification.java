@@ -0,0 +1,56 @@
+/**
+ *	Classification is the answer IBk.classify() gives under a deadline: the
+ *	label voted by the nearest training examples found before the deadline,
+ *	and whether the search finished. A finished search gives the same label
+ *	as classify() without a deadline; an unfinished one gives the best vote
+ *	of the examples measured so far.
+ *
+ *	@author		Glenn Abastillas
+ *	@version	1.0.0
+ *	@since		October 18, 2026
+ *
+ *	Classification implements the following methods:
+ *		Double getLabel():		get the class label
+ *		boolean isComplete():	check if the search finished before the deadline
+ *		String toString():		get the label and whether the search finished
+ *
+ *	Classification is used by the following classes: IBk
+ */
+package edu.classifier.ml;
+
+public final class Classification{
+
+	private final Double  label;
+	private final boolean complete;	// true if the search finished before the deadline
+
+	/**
+	 *	Constructor with the label and whether the search finished
+	 *	@param	label: class label voted by the nearest examples found
+	 *	@param	complete: true if the search finished before the deadline
+	 */
+	public Classification(Double label, boolean complete){
+		this.label	  = label;
+		this.complete = complete;
+	}
+
+	/**
+	 *	Get the class label
+	 *	@return	class label voted by the nearest examples found
+	 */
+	public Double getLabel(){
+		return this.label;
+	}
+
+	/**
+	 *	Check if the search finished before the deadline
+	 *	@return	true if the label is the one a search without a deadline gives
+	 */
+	public boolean isComplete(){
+		return this.complete;
+	}
+
+	@Override
+	public String toString(){
+		return this.label + (this.complete ? "" : " (incomplete)");
+	}
+}
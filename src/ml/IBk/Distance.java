@@ -3,15 +3,38 @@
  *	points. All methods require input to be arrays of Doubles. This class is
  *	particularly useful for the IBk, a.k.a. the K-Distance, classifier.
  *	
+ *	When either vector is a SparseExample, the Euclidean, Manhattan, Chebyshev,
+ *	and Hamming distances walk the non-zero entries instead of every attribute:
+ *	two sparse vectors are merged by attribute index, and a sparse vector is
+ *	read with a cursor against a dense one. Attributes where both vectors are
+ *	zero add nothing and are never visited.
+ *	
+ *	Dense vectors are measured with VectorDistance straight from the arrays
+ *	their values are kept in (see Example.getValueArray()); only a vector
+ *	without one, such as a ColumnExample, is copied into a per-thread scratch
+ *	array first. VectorDistance uses the JDK Vector API when it is available,
+ *	so the Euclidean, Manhattan and Chebyshev distances here agree to the
+ *	last bit with the ones a KDTree or TileScorer computes from packed arrays.
+ *	
+ *	Two PackedExample vectors with the same layout are compared word by word:
+ *	getHammingDistance() counts the differing one-hot bits with Long.bitCount()
+ *	and halves them, since each mismatched attribute differs in two bits.
+ *	
+ *	Each distance is also available as a Metric constant (EUCLIDEAN,
+ *	MANHATTAN, CHEBYSHEV, HAMMING) for IBk and its NeighbourIndex classes.
+ *	
  *	@author		Glenn Abastillas
  *	@version	1.0.0
  *	@since		March 21, 2016
  *	
+ *	@update		October 18, 2026	added sparse paths for SparseExample vectors
+ *	@update		October 18, 2026	added Metric constants
+ *	@update		October 18, 2026	dense distances use VectorDistance; get() is the Minkowski distance without Math.pow on boxed values
+ *	@update		October 18, 2026	added getPackedHammingDistance() for PackedExample vectors
+ *	@update		October 18, 2026	dense vectors are read in place instead of copied into scratch arrays
  */
 package edu.classifier.ml;
 
-import java.util.ArrayList;
-import java.util.Collections;
 import java.io.IOException;
 import java.lang.Math;
 
@@ -19,22 +42,71 @@ import edu.classifier.dataset.*;
 
 public class Distance{
 
+	public static final Metric EUCLIDEAN = Distance::getEuclideanDistance;
+	public static final Metric MANHATTAN = Distance::getManhattanDistance;
+	public static final Metric CHEBYSHEV = Distance::getChebyshevDistance;
+	public static final Metric HAMMING	 = Distance::getHammingDistance;
+
+	// How sparse() combines the differences of the two vectors
+	private static final int SQUARED  = 0;	// sum of squared differences
+	private static final int ABSOLUTE = 1;	// sum of absolute differences
+	private static final int MAXIMUM  = 2;	// largest absolute difference
+	private static final int MISMATCH = 3;	// number of unequal values
+
+	// Each thread's arrays to copy the values of two dense vectors into, when they are not kept in an array
+	private static final ThreadLocal<double[][]> SCRATCH = ThreadLocal.withInitial(() -> new double[][]{new double[0], new double[0]});
+
 	/**
-	 *	Calculate the distance between two vectors
+	 *	Calculate the Minkowski distance between two vectors
 	 *	@param	vector1: array of values
 	 *	@param	vector2: array of values
-	 *	@param	power: power to raise the differences by in the for loop
+	 *	@param	power: order of the distance (1 is Manhattan, 2 is Euclidean)
 	 *	@return	sum: Double distance value
 	 */
-	public static Double get(Example vector1, Example vector2, Integer power){
-		Double sum=0.0;
+	public static Double get(Example vector1, Example vector2, Integer power) throws IllegalArgumentException{
+		if(!(power > 0)){
+			throw new IllegalArgumentException("In get() method, power must be greater than 0.");
+		}
+
+		double[] row1 = Distance.row(vector1, 0);
+		double[] row2 = Distance.row(vector2, 1);
+		double	 sum  = VectorDistance.minkowskiSum(row1, Distance.offset(vector1, row1), row2, Distance.offset(vector2, row2), vector1.dimension(), power, Double.POSITIVE_INFINITY);
+		return Math.pow(sum, 1.0 / power);
+	}
 
-		// Loop through the vectors and calculate the Euclidean distance
-		for(int i=0; i < vector1.size(); i++){
-			sum += Math.pow((vector1.getValue(i)-vector2.getValue(i)), power);
+	/**
+	 *	Get the array holding a dense vector's values. A vector that keeps its
+	 *	values in one row of an array is read in place; any other is copied into
+	 *	this thread's scratch array for its side.
+	 *	@param	vector: dense vector
+	 *	@param	side: 0 for the first vector of a distance, 1 for the second
+	 *	@return	array holding the vector's values from offset(vector, row)
+	 */
+	private static double[] row(Example vector, int side){
+		double[] values = vector.getValueArray();
+
+		if(values != null){
+			return values;
 		}
-		sum = Math.sqrt(sum);
-		return sum;
+
+		double[][] scratch	 = SCRATCH.get();
+		int		   dimension = vector.dimension();
+
+		if(scratch[side].length < dimension){
+			scratch[side] = new double[dimension];
+		}
+		vector.copyInto(scratch[side]);
+		return scratch[side];
+	}
+
+	/**
+	 *	Get the index of a vector's first value in the array row() returned for it
+	 *	@param	vector: dense vector
+	 *	@param	row: array row() returned for vector
+	 *	@return	getValueOffset() if the values are read in place, 0 for a scratch copy
+	 */
+	private static int offset(Example vector, double[] row){
+		return (row == vector.getValueArray()) ? vector.getValueOffset() : 0;
 	}
 
 	/**
@@ -44,7 +116,13 @@ public class Distance{
 	 *	@return	sum: Double distance value
 	 */
 	public static Double getEuclideanDistance(Example vector1, Example vector2){
-		return Distance.get(vector1, vector2, 2);
+		if(vector1 instanceof SparseExample || vector2 instanceof SparseExample){
+			return Math.sqrt(Distance.sparse(vector1, vector2, SQUARED));
+		}
+
+		double[] row1 = Distance.row(vector1, 0);
+		double[] row2 = Distance.row(vector2, 1);
+		return Math.sqrt(VectorDistance.squaredEuclidean(row1, Distance.offset(vector1, row1), row2, Distance.offset(vector2, row2), vector1.dimension(), Double.POSITIVE_INFINITY));
 	}
 
 	/**
@@ -54,14 +132,13 @@ public class Distance{
 	 *	@return	sum: Double distance value
 	 */
 	public static Double getManhattanDistance(Example vector1, Example vector2){
-		Double sum=0.0;
-
-		// Loop through the vectors' values and calculate Manhattan Distance
-		for(int i=0; i < vector1.size(); i++){
-			sum += Math.abs(vector1.getValue(i) - vector2.getValue(i));
+		if(vector1 instanceof SparseExample || vector2 instanceof SparseExample){
+			return Distance.sparse(vector1, vector2, ABSOLUTE);
 		}
 
-		return sum;
+		double[] row1 = Distance.row(vector1, 0);
+		double[] row2 = Distance.row(vector2, 1);
+		return VectorDistance.manhattan(row1, Distance.offset(vector1, row1), row2, Distance.offset(vector2, row2), vector1.dimension(), Double.POSITIVE_INFINITY);
 	}
 
 	/**
@@ -71,13 +148,13 @@ public class Distance{
 	 *	@return	Double of the max value calculated
 	 */
 	public static Double getChebyshevDistance(Example vector1, Example vector2){
-		ArrayList<Double> sums = new ArrayList<Double>();
-
-		for(int i=0; i < vector1.size(); i++){
-			sums.add(Math.abs(vector1.getValue(i)-vector2.getValue(i)));
+		if(vector1 instanceof SparseExample || vector2 instanceof SparseExample){
+			return Distance.sparse(vector1, vector2, MAXIMUM);
 		}
 
-		return Collections.max(sums);
+		double[] row1 = Distance.row(vector1, 0);
+		double[] row2 = Distance.row(vector2, 1);
+		return VectorDistance.chebyshev(row1, Distance.offset(vector1, row1), row2, Distance.offset(vector2, row2), vector1.dimension(), Double.POSITIVE_INFINITY);
 	}
 
 	/**
@@ -87,16 +164,115 @@ public class Distance{
 	 *	@return	Double of the number of mismatches
 	 */
 	public static Double getHammingDistance(Example vector1, Example vector2){
-		Double sum=0.0;
+		if(vector1 instanceof PackedExample && vector2 instanceof PackedExample && ((PackedExample) vector1).hasLayout((PackedExample) vector2)){
+			return Distance.getPackedHammingDistance((PackedExample) vector1, (PackedExample) vector2);
+		}
+		if(vector1 instanceof SparseExample || vector2 instanceof SparseExample){
+			return Distance.sparse(vector1, vector2, MISMATCH);
+		}
 
-		for(int i=0; i < vector1.size(); i++){
-			if(!vector1.getValue(i).equals(vector2.getValue(i))){
+		double sum=0.0;
+		int dimension = vector1.dimension();
+
+		for(int i=0; i < dimension; i++){
+			if(vector1.valueAt(i) != vector2.valueAt(i)){
 				sum += 1;
 			}
 		}
 		return sum;
 	}
 
+	/**
+	 *	Calculate the Hamming distance between two packed vectors of the same
+	 *	layout. Each mismatched attribute differs in two one-hot bits, so the
+	 *	distance is half the number of differing bits, counted 64 at a time.
+	 *	@param	vector1: packed vector
+	 *	@param	vector2: packed vector with the same offsets
+	 *	@return	Double of the number of mismatches
+	 */
+	public static Double getPackedHammingDistance(PackedExample vector1, PackedExample vector2){
+		long[] words1 = vector1.getWords();
+		long[] words2 = vector2.getWords();
+		int	   bits	  = 0;
+
+		for(int w = 0; w < words1.length; w++){
+			bits += Long.bitCount(words1[w] ^ words2[w]);
+		}
+		return (double) (bits >>> 1);
+	}
+
+	/**
+	 *	Calculate a distance when at least one vector is a SparseExample. Two
+	 *	sparse vectors are merged by attribute index in O(non-zeros); a sparse
+	 *	vector and a dense one are walked together in O(dimension) without
+	 *	searching the sparse vector.
+	 *	@param	vector1: array of values
+	 *	@param	vector2: array of values
+	 *	@param	operation: SQUARED, ABSOLUTE, MAXIMUM, or MISMATCH
+	 *	@return	combined differences (not square rooted)
+	 */
+	private static double sparse(Example vector1, Example vector2, int operation){
+		double result = (operation == MAXIMUM && vector1.dimension() == 0) ? Double.NEGATIVE_INFINITY : 0.0;
+
+		// Both sparse: merge the two lists of non-zero attribute indices
+		if(vector1 instanceof SparseExample && vector2 instanceof SparseExample){
+			SparseExample sparse1 = (SparseExample) vector1;
+			SparseExample sparse2 = (SparseExample) vector2;
+			int count1 = sparse1.nonZeroCount();
+			int count2 = sparse2.nonZeroCount();
+			int i=0;
+			int j=0;
+
+			while(i < count1 || j < count2){
+				int index1 = (i < count1) ? sparse1.indexAt(i) : Integer.MAX_VALUE;
+				int index2 = (j < count2) ? sparse2.indexAt(j) : Integer.MAX_VALUE;
+
+				if(index1 == index2){
+					result = Distance.combine(result, sparse1.nonZeroAt(i++), sparse2.nonZeroAt(j++), operation);
+				} else if(index1 < index2){
+					result = Distance.combine(result, sparse1.nonZeroAt(i++), 0.0, operation);
+				} else {
+					result = Distance.combine(result, 0.0, sparse2.nonZeroAt(j++), operation);
+				}
+			}
+			return result;
+		}
+
+		// One sparse: walk the dense vector and advance a cursor over the sparse one (every distance here is symmetric)
+		SparseExample sparse = (SparseExample) ((vector1 instanceof SparseExample) ? vector1 : vector2);
+		Example		  dense	 = (sparse == vector1) ? vector2 : vector1;
+		int dimension = sparse.dimension();
+		int count	  = sparse.nonZeroCount();
+		int k=0;
+
+		for(int i=0; i < dimension; i++){
+			double value = (k < count && sparse.indexAt(k) == i) ? sparse.nonZeroAt(k++) : 0.0;
+			result = Distance.combine(result, value, dense.valueAt(i), operation);
+		}
+		return result;
+	}
+
+	/**
+	 *	Add the difference of two values to a running result
+	 *	@param	result: result so far
+	 *	@param	value1: value of the first vector
+	 *	@param	value2: value of the second vector
+	 *	@param	operation: SQUARED, ABSOLUTE, MAXIMUM, or MISMATCH
+	 *	@return	new result
+	 */
+	private static double combine(double result, double value1, double value2, int operation){
+		switch(operation){
+			case SQUARED:
+				return result + (value1-value2)*(value1-value2);
+			case ABSOLUTE:
+				return result + Math.abs(value1-value2);
+			case MAXIMUM:
+				return Math.max(result, Math.abs(value1-value2));
+			default:
+				return (value1 != value2) ? result + 1 : result;
+		}
+	}
+
 	public static void main(String[] args){
 		Distance d = new Distance();
 		Example a = new Example(new Double[]{0.0, 3.0, 0.0});
@@ -0,0 +1,37 @@
+/**
+ *	This interface sets the required methods for computing distances between
+ *	two rows of double[] arrays, with early abandoning. Each method is given a
+ *	bound and may stop once its partial result is larger than the bound,
+ *	returning that partial result; since every term it adds is non-negative,
+ *	the full result would be larger still. A bound of POSITIVE_INFINITY never
+ *	stops early. Whether or not a bound is given, a result that is not larger
+ *	than the bound is the same as the unbounded result, to the last bit.
+ *
+ *	VectorDistance picks one implementation when it is loaded and uses it for
+ *	every call, so all distances in one JVM are added up the same way.
+ *
+ *	@author		Glenn Abastillas
+ *	@version	1.0.0
+ *	@since		October 18, 2026
+ *
+ *	DistanceFunctions requires the following methods:
+ *		double squaredEuclidean(double[], int, double[], int, int, double):	get the sum of squared differences
+ *		double manhattan(double[], int, double[], int, int, double):			get the sum of absolute differences
+ *		double chebyshev(double[], int, double[], int, int, double):			get the largest absolute difference
+ *		double minkowski(double[], int, double[], int, int, double, double):	get the sum of absolute differences raised to a power
+ *
+ *	DistanceFunctions is implemented by the following classes: ScalarDistance, SimdDistance
+ */
+package edu.classifier.ml;
+
+interface DistanceFunctions{
+
+	public double squaredEuclidean(double[] a, int aOffset, double[] b, int bOffset, int length, double bound);
+
+	public double manhattan(double[] a, int aOffset, double[] b, int bOffset, int length, double bound);
+
+	public double chebyshev(double[] a, int aOffset, double[] b, int bOffset, int length, double bound);
+
+	public double minkowski(double[] a, int aOffset, double[] b, int bOffset, int length, double p, double bound);
+
+}
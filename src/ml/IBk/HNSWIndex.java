@@ -0,0 +1,710 @@
+/**
+ *	HNSWIndex (Hierarchical Navigable Small World graph) is an approximate
+ *	NeighbourIndex with low query latency for any Metric. Each training example
+ *	is a node linked to about m of its near neighbours (2m on the bottom
+ *	layer). Every node is on the bottom layer, and each layer above holds a
+ *	random fraction 1 / m of the layer below, so the upper layers link distant
+ *	parts of the data with few hops. A query walks greedily down from the top
+ *	layer's entry point and then searches the bottom layer with a candidate
+ *	list of ef examples. A larger ef finds more of the true nearest examples
+ *	at the cost of more distance calculations (see setEf() and
+ *	IBk.getRecall()).
+ *
+ *	The graph is built incrementally: build() inserts the training examples
+ *	one at a time, and add() inserts an example appended to the training set
+ *	afterwards, so IBk.add() can grow the index without rebuilding it. A new
+ *	node keeps the candidates that are nearer to it than to any neighbour
+ *	already kept (the heuristic of Malkov and Yashunin), so links reach in
+ *	different directions.
+ *
+ *	Searches hold a read lock and inserts a write lock, so any number of
+ *	threads may search at once, and an insert waits for them. append() also
+ *	appends the example to the training set under the write lock, since
+ *	searches read the training examples. save() writes the graph to a file;
+ *	load() reads it back over the same training set (e.g., one written with
+ *	BinaryDataSet.write()).
+ *
+ *	File layout (big-endian):
+ *		int			magic number ("HNW1")
+ *		int, int, int, long	m, efConstruction, ef, seed
+ *		int, int, int		number of nodes, top layer, entry point
+ *		nodes		per node: its top layer, then per layer the number of links and the linked nodes
+ *
+ *	@author		Glenn Abastillas
+ *	@version	1.0.0
+ *	@since		October 18, 2026
+ *
+ *	HNSWIndex implements the following methods:
+ *		void build(ExampleSet, Metric):				insert every training example into a new graph
+ *		boolean add(Example):						insert the example last appended to the training set
+ *		boolean append(ExampleSet, Example):		append an example to the training set and insert it under the write lock
+ *		void search(Example, Kernel):				add the nearest training examples found to a kernel
+ *		int size():									get the number of indexed examples
+ *		int getEf():								get the candidate list size of a query
+ *		void setEf(int):							set the candidate list size of a query
+ *		void save(String):							write the graph to a file
+ *		HNSWIndex load(String, ExampleSet, Metric):	read a graph written by save() over its training set
+ *
+ *	HNSWIndex is used by the following classes: IBk
+ */
+package edu.classifier.ml;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import edu.classifier.dataset.Example;
+import edu.classifier.dataset.ExampleSet;
+
+public class HNSWIndex implements NeighbourIndex{
+
+	public static final int DEFAULT_M				= 16;	// links per node above the bottom layer
+	public static final int DEFAULT_EF_CONSTRUCTION = 200;	// candidate list size when inserting
+	public static final int DEFAULT_EF				= 50;	// candidate list size when searching
+
+	private static final int MAGIC = 0x484E5731;	// "HNW1"
+
+	private int		   m;
+	private int		   efConstruction;
+	private volatile int ef;
+	private long	   seed;
+	private Random	   randomNumberGenerator;	// draws the top layer of each new node
+	private double	   levelFactor;				// 1 / ln(m)
+
+	private ExampleSet trainSet	  = new ExampleSet();
+	private Metric	   metric	  = Distance.EUCLIDEAN;
+	private int		   size		  = 0;
+	private int		   topLayer	  = -1;		// top layer of the graph, or -1 if it is empty
+	private int		   entryPoint = -1;		// node the searches start from, on the top layer
+	private ArrayList<int[][]> links  = new ArrayList<>();	// per node and layer, the number of links followed by the linked nodes
+	private double[]   labels	  = new double[0];			// class label of each node
+
+	private final ReentrantReadWriteLock lock	 = new ReentrantReadWriteLock();
+	private final ThreadLocal<Scratch>	 scratch = ThreadLocal.withInitial(Scratch::new);	// each thread's working space
+
+	public HNSWIndex(){
+		this(DEFAULT_M, DEFAULT_EF_CONSTRUCTION, DEFAULT_EF);
+	}
+
+	/**
+	 *	Constructor with the graph settings
+	 *	@param	m: links per node above the bottom layer (at least 2)
+	 *	@param	efConstruction: candidate list size when inserting (at least 1)
+	 *	@param	ef: candidate list size when searching (at least 1)
+	 */
+	public HNSWIndex(int m, int efConstruction, int ef) throws IllegalArgumentException{
+		this(m, efConstruction, ef, 7L);
+	}
+
+	/**
+	 *	Constructor with the graph settings and a seed
+	 *	@param	m: links per node above the bottom layer (at least 2)
+	 *	@param	efConstruction: candidate list size when inserting (at least 1)
+	 *	@param	ef: candidate list size when searching (at least 1)
+	 *	@param	seed: seed of the Random that draws the top layer of each node
+	 */
+	public HNSWIndex(int m, int efConstruction, int ef, long seed) throws IllegalArgumentException{
+		if(m < 2 || efConstruction < 1 || ef < 1){
+			throw new IllegalArgumentException("In HNSWIndex() constructor, m must be at least 2 and efConstruction and ef at least 1.");
+		}
+		this.m				= m;
+		this.efConstruction = efConstruction;
+		this.ef				= ef;
+		this.seed			= seed;
+		this.levelFactor	= 1.0 / Math.log(m);
+	}
+
+	/**
+	 *	Insert every training example into a new graph
+	 *	@param	trainSet: ExampleSet object with training examples
+	 *	@param	metric: Metric object to measure distances with
+	 */
+	@Override
+	public void build(ExampleSet trainSet, Metric metric){
+		this.lock.writeLock().lock();
+
+		try{
+			this.trainSet			   = trainSet;
+			this.metric				   = metric;
+			this.randomNumberGenerator = new Random(this.seed);
+			this.size				   = 0;
+			this.topLayer			   = -1;
+			this.entryPoint			   = -1;
+			this.links				   = new ArrayList<>(trainSet.size());
+			this.labels				   = new double[Math.max(16, trainSet.size())];
+
+			for(int i = 0; i < trainSet.size(); i++){
+				this.insert(this.newLayer());
+			}
+		} finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 *	Insert the example last appended to the training set the graph was built over
+	 *	@param	example: Example object at the end of the training set
+	 *	@return	true, as the graph grows without being rebuilt
+	 */
+	@Override
+	public boolean add(Example example) throws IllegalStateException{
+		this.lock.writeLock().lock();
+
+		try{
+			if(this.trainSet.size() != this.size + 1 || this.trainSet.get(this.size) != example){
+				throw new IllegalStateException("In add() method, the example must be appended to the training set the index was built over first.");
+			}
+			this.insert(this.newLayer());
+			return true;
+		} finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 *	Append an example to the training set the graph was built over and
+	 *	insert it, both under the write lock, so no search reads the training
+	 *	set while it grows
+	 *	@param	trainSet: ExampleSet object the graph was built over
+	 *	@param	example: Example object to append
+	 *	@return	true, as the graph grows without being rebuilt
+	 */
+	@Override
+	public boolean append(ExampleSet trainSet, Example example){
+		this.lock.writeLock().lock();
+
+		try{
+			return NeighbourIndex.super.append(trainSet, example);
+		} finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	// Draw the top layer of a new node: layer l or above with probability m^-l
+	private int newLayer(){
+		return (int) (-Math.log(1.0 - this.randomNumberGenerator.nextDouble()) * this.levelFactor);
+	}
+
+	/**
+	 *	Insert the training example at position size as a new node. The caller holds the write lock.
+	 *	@param	layer: top layer of the new node
+	 */
+	private void insert(int layer){
+		int		node  = this.size;
+		Example query = this.trainSet.get(node);
+		int[][] nodeLinks = new int[layer + 1][];
+
+		for(int l = 0; l <= layer; l++){
+			nodeLinks[l] = new int[this.capacity(l) + 1];
+		}
+
+		if(node == this.labels.length){
+			this.labels = Arrays.copyOf(this.labels, 2 * node);
+		}
+		this.links.add(nodeLinks);
+		this.labels[node] = query.getLabel();
+
+		if(this.entryPoint < 0){
+			this.entryPoint = node;
+			this.topLayer	= layer;
+			this.size++;
+			return;
+		}
+
+		Scratch scratch	 = this.scratch.get();
+		int		entry	 = this.entryPoint;
+		double	distance = this.distance(query, entry);
+
+		// Walk greedily down to the new node's top layer
+		for(int l = this.topLayer; l > layer; l--){
+			entry	 = this.greedy(query, entry, l);
+			distance = this.distance(query, entry);
+		}
+
+		// Link the new node on each of its layers to the nearest nodes found there
+		for(int l = Math.min(layer, this.topLayer); l >= 0; l--){
+			int found = this.searchLayer(query, entry, distance, this.efConstruction, l, scratch, node);
+			int kept  = this.select(scratch.resultIds, scratch.resultDistances, found, this.m, scratch);
+
+			for(int i = 0; i < kept; i++){
+				nodeLinks[l][++nodeLinks[l][0]] = scratch.selected[i];
+			}
+			for(int i = 0; i < kept; i++){
+				this.connect(nodeLinks[l][i + 1], node, l, scratch);
+			}
+
+			entry	 = scratch.resultIds[0];
+			distance = scratch.resultDistances[0];
+		}
+
+		if(layer > this.topLayer){
+			this.topLayer	= layer;
+			this.entryPoint = node;
+		}
+		this.size++;
+	}
+
+	// Number of links a node keeps on a layer
+	private int capacity(int layer){
+		return (layer == 0) ? 2 * this.m : this.m;
+	}
+
+	/**
+	 *	Link one node to another, pruning its links if it has too many
+	 *	@param	node: node to add the link to
+	 *	@param	neighbour: node to link to
+	 *	@param	layer: layer of the link
+	 *	@param	scratch: this thread's working space
+	 */
+	private void connect(int node, int neighbour, int layer, Scratch scratch){
+		int[] list	= this.links.get(node)[layer];
+		int	  count = list[0];
+
+		if(count < list.length - 1){
+			list[++list[0]] = neighbour;
+			return;
+		}
+
+		// Too many links: keep the best of the old ones and the new one by the heuristic
+		Example	 origin	   = this.trainSet.get(node);
+		int[]	 ids	   = new int[count + 1];
+		double[] distances = new double[count + 1];
+
+		for(int i = 0; i < count; i++){
+			ids[i] = list[i + 1];
+		}
+		ids[count] = neighbour;
+		this.sortByDistance(ids, distances, count + 1, origin);
+
+		int kept = this.select(ids, distances, count + 1, list.length - 1, scratch);
+		list[0] = kept;
+
+		for(int i = 0; i < kept; i++){
+			list[i + 1] = scratch.selected[i];
+		}
+	}
+
+	/**
+	 *	Measure the distance from an origin to each node and sort the nodes by it
+	 *	@param	ids: nodes to sort
+	 *	@param	distances: array to put the distances in
+	 *	@param	count: number of nodes
+	 *	@param	origin: Example object to measure from
+	 */
+	private void sortByDistance(int[] ids, double[] distances, int count, Example origin){
+		for(int i = 0; i < count; i++){
+			distances[i] = this.distance(origin, ids[i]);
+		}
+
+		// Insertion sort by (distance, id); lists are at most 2m + 1 long
+		for(int i = 1; i < count; i++){
+			int	   id		= ids[i];
+			double distance = distances[i];
+			int	   j		= i;
+
+			while(j > 0 && (distances[j - 1] > distance || (distances[j - 1] == distance && ids[j - 1] > id))){
+				ids[j]		 = ids[j - 1];
+				distances[j] = distances[j - 1];
+				j--;
+			}
+			ids[j]		 = id;
+			distances[j] = distance;
+		}
+	}
+
+	/**
+	 *	Choose up to limit neighbours from candidates sorted nearest first. A
+	 *	candidate is kept if it is nearer to the origin than to every
+	 *	neighbour kept so far; if fewer than limit are kept that way, the
+	 *	nearest of the others fill the rest.
+	 *	@param	ids: candidate nodes, nearest first
+	 *	@param	distances: distance from the origin to each candidate
+	 *	@param	count: number of candidates
+	 *	@param	limit: most neighbours to keep
+	 *	@param	scratch: this thread's working space; the kept nodes are put in scratch.selected
+	 *	@return	number of neighbours kept
+	 */
+	private int select(int[] ids, double[] distances, int count, int limit, Scratch scratch){
+		scratch.ensureSelected(count);
+		boolean[] taken = scratch.taken;
+		int		  kept	= 0;
+
+		for(int i = 0; i < count && kept < limit; i++){
+			taken[i] = false;
+			Example candidate = this.trainSet.get(ids[i]);
+			boolean diverse	  = true;
+
+			for(int j = 0; j < kept && diverse; j++){
+				diverse = this.distance(candidate, scratch.selected[j]) >= distances[i];
+			}
+			if(diverse){
+				scratch.selected[kept++] = ids[i];
+				taken[i] = true;
+			}
+		}
+
+		// Fill up with the nearest candidates passed over
+		for(int i = 0; i < count && kept < limit; i++){
+			if(!taken[i]){
+				scratch.selected[kept++] = ids[i];
+			}
+		}
+		return kept;
+	}
+
+	/**
+	 *	Walk from a node to a neighbour nearer the query until there is none
+	 *	@param	query: Example object to walk towards
+	 *	@param	entry: node to start from
+	 *	@param	layer: layer to walk on
+	 *	@return	node nearest the query found
+	 */
+	private int greedy(Example query, int entry, int layer){
+		double	distance = this.distance(query, entry);
+		boolean moved	 = true;
+
+		while(moved){
+			moved = false;
+			int[] list = this.links.get(entry)[layer];
+
+			for(int i = 1; i <= list[0]; i++){
+				double next = this.distance(query, list[i]);
+
+				if(next < distance){
+					distance = next;
+					entry	 = list[i];
+					moved	 = true;
+				}
+			}
+		}
+		return entry;
+	}
+
+	/**
+	 *	Search one layer for the ef nodes nearest a query (best-first search
+	 *	from an entry node). The nodes found are put in scratch.resultIds and
+	 *	scratch.resultDistances, nearest first.
+	 *	@param	query: Example object to search for
+	 *	@param	entry: node to start from
+	 *	@param	entryDistance: distance from the query to entry
+	 *	@param	ef: number of nodes to find
+	 *	@param	layer: layer to search
+	 *	@param	scratch: this thread's working space
+	 *	@param	nodes: number of nodes that may be visited
+	 *	@return	number of nodes found
+	 */
+	private int searchLayer(Example query, int entry, double entryDistance, int ef, int layer, Scratch scratch, int nodes){
+		scratch.start(nodes, ef);
+		Heap candidates = scratch.candidates;	// nearest first
+		Heap results	= scratch.results;		// farthest first
+
+		scratch.marks[entry] = scratch.stamp;
+		candidates.push(-entryDistance, entry);
+		results.push(entryDistance, entry);
+
+		while(candidates.size() > 0){
+			double distance = -candidates.topKey();
+			int	   node		= candidates.pop();
+
+			// Every node left is farther than the ef nearest found
+			if(distance > results.topKey() && results.size() >= ef){
+				break;
+			}
+
+			int[] list = this.links.get(node)[layer];
+
+			for(int i = 1; i <= list[0]; i++){
+				int neighbour = list[i];
+
+				if(neighbour >= nodes || scratch.marks[neighbour] == scratch.stamp){
+					continue;
+				}
+				scratch.marks[neighbour] = scratch.stamp;
+
+				double next = this.distance(query, neighbour);
+
+				if(results.size() < ef || next < results.topKey()){
+					candidates.push(-next, neighbour);
+					results.push(next, neighbour);
+
+					if(results.size() > ef){
+						results.pop();
+					}
+				}
+			}
+		}
+
+		// Empty the results farthest first into the arrays, nearest first
+		int found = results.size();
+		scratch.ensureResults(found);
+
+		for(int i = found - 1; i >= 0; i--){
+			scratch.resultDistances[i] = results.topKey();
+			scratch.resultIds[i]	   = results.pop();
+		}
+		return found;
+	}
+
+	// Distance from a query to a node
+	private double distance(Example query, int node){
+		return this.metric.distance(query, this.trainSet.get(node));
+	}
+
+	/**
+	 *	Add the nearest training examples found to a kernel
+	 *	@param	query: Example object to find neighbours of
+	 *	@param	kernel: Kernel to add the examples to, with their positions as ids
+	 */
+	@Override
+	public void search(Example query, Kernel kernel){
+		this.lock.readLock().lock();
+
+		try{
+			if(this.entryPoint < 0){
+				return;
+			}
+
+			Scratch scratch = this.scratch.get();
+			int		entry	= this.entryPoint;
+
+			for(int l = this.topLayer; l > 0; l--){
+				entry = this.greedy(query, entry, l);
+			}
+
+			int found = this.searchLayer(query, entry, this.distance(query, entry), Math.max(this.ef, kernel.getK()), 0, scratch, this.size);
+
+			for(int i = 0; i < found; i++){
+				kernel.add(scratch.resultDistances[i], this.labels[scratch.resultIds[i]], scratch.resultIds[i]);
+			}
+		} finally {
+			this.lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 *	Get the number of indexed examples
+	 *	@return	number of nodes
+	 */
+	public int size(){
+		return this.size;
+	}
+
+	/**
+	 *	Get the candidate list size of a query
+	 *	@return	ef
+	 */
+	public int getEf(){
+		return this.ef;
+	}
+
+	/**
+	 *	Set the candidate list size of a query; a query uses at least k
+	 *	@param	ef: candidate list size (at least 1)
+	 */
+	public void setEf(int ef) throws IllegalArgumentException{
+		if(ef < 1){
+			throw new IllegalArgumentException("In setEf() method, ef must be at least 1.");
+		}
+		this.ef = ef;
+	}
+
+	/**
+	 *	Write the graph to a file. The training set is not written; save it
+	 *	separately (e.g., with BinaryDataSet.write()) in the same order.
+	 *	@param	fileName: pathway to the file to write
+	 */
+	public void save(String fileName) throws IOException{
+		this.lock.readLock().lock();
+
+		try(DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(fileName)))){
+			output.writeInt(MAGIC);
+			output.writeInt(this.m);
+			output.writeInt(this.efConstruction);
+			output.writeInt(this.ef);
+			output.writeLong(this.seed);
+			output.writeInt(this.size);
+			output.writeInt(this.topLayer);
+			output.writeInt(this.entryPoint);
+
+			for(int node = 0; node < this.size; node++){
+				int[][] nodeLinks = this.links.get(node);
+				output.writeInt(nodeLinks.length - 1);
+
+				for(int[] list : nodeLinks){
+					output.writeInt(list[0]);
+
+					for(int i = 1; i <= list[0]; i++){
+						output.writeInt(list[i]);
+					}
+				}
+			}
+		} finally {
+			this.lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 *	Read a graph written by save() over the training set it was built from
+	 *	@param	fileName: pathway to the file to read
+	 *	@param	trainSet: ExampleSet object with the same training examples, in the same order
+	 *	@param	metric: Metric object the graph was built with
+	 *	@return	HNSWIndex object ready to search
+	 */
+	public static HNSWIndex load(String fileName, ExampleSet trainSet, Metric metric) throws IOException{
+		try(DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(fileName)))){
+			if(input.readInt() != MAGIC){
+				throw new IOException("In load() method, " + fileName + " is not an HNSW graph file.");
+			}
+
+			HNSWIndex index = new HNSWIndex(input.readInt(), input.readInt(), input.readInt(), input.readLong());
+			int size = input.readInt();
+
+			if(size != trainSet.size()){
+				throw new IOException("In load() method, the graph has " + size + " nodes but the training set has " + trainSet.size() + " examples.");
+			}
+
+			index.trainSet	 = trainSet;
+			index.metric	 = metric;
+			index.topLayer	 = input.readInt();
+			index.entryPoint = input.readInt();
+			index.links		 = new ArrayList<>(size);
+			index.labels	 = new double[Math.max(16, size)];
+
+			// Nodes added later continue with a Random that depends on the graph's size
+			index.randomNumberGenerator = new Random(index.seed + size);
+
+			for(int node = 0; node < size; node++){
+				int[][] nodeLinks = new int[input.readInt() + 1][];
+
+				for(int l = 0; l < nodeLinks.length; l++){
+					int count = input.readInt();
+					nodeLinks[l]	= new int[index.capacity(l) + 1];
+					nodeLinks[l][0] = count;
+
+					for(int i = 1; i <= count; i++){
+						nodeLinks[l][i] = input.readInt();
+					}
+				}
+				index.links.add(nodeLinks);
+				index.labels[node] = trainSet.get(node).getLabel();
+			}
+			index.size = size;
+			return index;
+		}
+	}
+
+	/**
+	 *	Heap is a binary max-heap of (key, node) pairs; a min-heap is kept by
+	 *	pushing negated keys.
+	 */
+	private static class Heap{
+		private double[] keys  = new double[16];
+		private int[]	 nodes = new int[16];
+		private int		 count = 0;
+
+		void clear(){
+			this.count = 0;
+		}
+
+		int size(){
+			return this.count;
+		}
+
+		double topKey(){
+			return this.keys[0];
+		}
+
+		void push(double key, int node){
+			if(this.count == this.keys.length){
+				this.keys  = Arrays.copyOf(this.keys, 2 * this.count);
+				this.nodes = Arrays.copyOf(this.nodes, 2 * this.count);
+			}
+
+			int i = this.count++;
+
+			while(i > 0 && this.keys[(i - 1) / 2] < key){
+				this.keys[i]  = this.keys[(i - 1) / 2];
+				this.nodes[i] = this.nodes[(i - 1) / 2];
+				i = (i - 1) / 2;
+			}
+			this.keys[i]  = key;
+			this.nodes[i] = node;
+		}
+
+		// Remove the pair with the largest key and get its node
+		int pop(){
+			int	   top	= this.nodes[0];
+			double key	= this.keys[--this.count];
+			int	   node = this.nodes[this.count];
+			int	   i	= 0;
+
+			while(2 * i + 1 < this.count){
+				int child = 2 * i + 1;
+
+				if(child + 1 < this.count && this.keys[child + 1] > this.keys[child]){
+					child++;
+				}
+				if(this.keys[child] <= key){
+					break;
+				}
+				this.keys[i]  = this.keys[child];
+				this.nodes[i] = this.nodes[child];
+				i = child;
+			}
+			this.keys[i]  = key;
+			this.nodes[i] = node;
+			return top;
+		}
+	}
+
+	/**
+	 *	Scratch holds one thread's working space: the heaps and results of a
+	 *	layer search, a mark per node so that each node is measured once per
+	 *	search, and the neighbours chosen by select().
+	 */
+	private static class Scratch{
+		Heap	  candidates	  = new Heap();
+		Heap	  results		  = new Heap();
+		int[]	  resultIds		  = new int[0];
+		double[]  resultDistances = new double[0];
+		int[]	  selected		  = new int[0];
+		boolean[] taken			  = new boolean[0];
+		int[]	  marks			  = new int[0];
+		int		  stamp			  = 0;	// marks equal to stamp were visited by the current search
+
+		// Start a search over the given number of nodes
+		void start(int nodes, int ef){
+			if(this.marks.length < nodes){
+				this.marks = Arrays.copyOf(this.marks, Math.max(nodes, 2 * this.marks.length));
+			}
+			if(++this.stamp == 0){
+				Arrays.fill(this.marks, 0);
+				this.stamp = 1;
+			}
+			this.candidates.clear();
+			this.results.clear();
+		}
+
+		void ensureResults(int count){
+			if(this.resultIds.length < count){
+				this.resultIds		 = new int[count];
+				this.resultDistances = new double[count];
+			}
+		}
+
+		void ensureSelected(int count){
+			if(this.selected.length < count){
+				this.selected = new int[count];
+				this.taken	  = new boolean[count];
+			}
+		}
+	}
+}
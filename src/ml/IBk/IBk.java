@@ -3,44 +3,487 @@
  *	between two data points assigning the closest data points similar class
  *	labels. 
  *	
+ *	Distances are measured with a Metric, Distance.EUCLIDEAN by default (see
+ *	setMetric()). By default classify() computes the distance to every training
+ *	example. If a NeighbourIndex is set (a KDTree for Euclidean distance or a
+ *	VPTree for any metric), train() builds it over the training examples and
+ *	classify() asks it for the nearest examples instead, which gives the same
+ *	labels in far fewer distance calculations. An approximate index (an
+ *	LSHIndex) is faster still on high-dimensional data but may miss some of
+ *	the nearest examples; getRecall() measures how many it finds. A
+ *	QuantizedIndex is approximate too: it scans compressed codes of the
+ *	training examples, optionally reranking its best candidates with exact
+ *	distances. Without reranking (rerank 0) the classifier runs from the
+ *	codes alone: once the index is built, the training examples are dropped
+ *	and only the index's codes and labels are kept, so add() and getRecall()
+ *	are not available and setIndex() or setMetric() leave the classifier
+ *	empty until the next train(). An HNSWIndex also answers single queries
+ *	in few distance calculations and grows as add() appends training
+ *	examples, so classify() stays fast as the training set grows online. On
+ *	all-nominal data measured with Hamming distance, an InvertedIndex counts
+ *	matching attributes through posting lists of the query's values instead
+ *	of comparing every training example.
+ *	The k nearest examples (3 by default, see setK()) vote on the label, one
+ *	vote each or weighted by 1 / distance (see setVoting()).
+ *	
+ *	test() can classify a test set on several threads: the test set is split
+ *	into contiguous ranges, each range is classified by one task with its own
+ *	Kernel, and the labels come back in test set order. Training must not
+ *	change while a test is running.
+ *	
+ *	With setTiled(true) and no index, test() computes distances with a
+ *	TileScorer: the training examples are packed into one array when trained,
+ *	and each range of test examples is compared with them a cache-sized block
+ *	at a time instead of one Example pair at a time. The labels are the same
+ *	as classify() gives unless setNormExpansion(true) trades exact rounding of
+ *	Euclidean distances for speed. Sparse examples are packed as dense rows,
+ *	so on sparse data classify() without tiling is usually faster.
+ *	
+ *	classify() with a deadline (a System.nanoTime() value) answers within a
+ *	latency budget: it measures the training examples nearest first in a
+ *	priority order and, once the deadline passes, returns the vote of the
+ *	examples measured so far in a Classification flagged as incomplete. With
+ *	an index the index is searched until the deadline; without one, the
+ *	training examples are visited in order of their distance from the query
+ *	on the attribute with the widest spread, which for Euclidean, Manhattan,
+ *	and Chebyshev distance also ends the search early once no unvisited
+ *	example can be nearer. That order costs a pass over the training set and
+ *	a sort, so it is only kept after setDeadlines(true): train() then makes
+ *	it and add() keeps it current, so no query waits for it. Otherwise the
+ *	first classify() with a deadline and no index makes it. getOverruns()
+ *	counts the searches the deadline cut short.
+ *	
+ *	With setReordering(), train() copies the training examples into a new
+ *	ExampleSet in the order of a SpaceFillingCurve (Morton or Hilbert), so
+ *	examples near each other in attribute space are stored near each other
+ *	in memory and scans read them with fewer cache misses. A columnar training
+ *	set stays columnar, with its rows in curve order. The kernels are given
+ *	each example's position in the set passed to train() as its id (see
+ *	Kernel.setPositions()), so ties in distance still go to the example
+ *	earlier in that set and the labels are the same as without reordering.
+ *	
+ *	With setReduction(), train() first shrinks the training set with a
+ *	PrototypeReduction (Wilson editing, Hart's condensed nearest neighbour,
+ *	or both) and stores only the examples it keeps, so every later query
+ *	measures fewer examples. The PrototypeReduction reports how many were
+ *	removed and, given a hold-out set, how much accuracy changed.
+ *	
  *	@author		Glenn Abastillas
  *	@version	1.0.0
  *	@since		March 21, 2016
  *	
+ *	@update		October 18, 2026	added setIndex() for searching a NeighbourIndex instead of every training example
+ *	@update		October 18, 2026	added setMetric() for choosing the distance metric
+ *	@update		October 18, 2026	added setK() and setVoting(); classify() can reuse a Kernel
+ *	@update		October 18, 2026	added test(ExampleSet, int) and test(ExampleSet, ExecutorService) for parallel classification
+ *	@update		October 18, 2026	added setTiled() and setNormExpansion() for cache-blocked batch scoring in test()
+ *	@update		October 18, 2026	added getRecall() for measuring approximate indexes against a full scan
+ *	@update		October 18, 2026	added add() for appending training examples to a trained classifier
+ *	@update		October 18, 2026	added setReduction() for reducing the training set in train()
+ *	@update		October 18, 2026	added classify() with a deadline, and getOverruns() for the searches it cut short
+ *	@update		October 18, 2026	added setReordering() for laying the training set out along a space-filling curve
+ *	@update		October 18, 2026	documented InvertedIndex for Hamming distance on nominal data
+ *	@update		October 18, 2026	train() copies the training set, so add() never changes the caller's set
+ *	@update		October 18, 2026	added setDeadlines(); the deadline order is only made when it is used
+ *	@update		October 18, 2026	ties after reordering go by the original training positions
+ *	@update		October 18, 2026	runs from the codes alone with a QuantizedIndex that does not rerank
  */
 package edu.classifier.ml;
 
 import java.util.*;
 import java.util.Collections;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
 
 import edu.classifier.dataset.DataSet;
 import edu.classifier.dataset.Example;
+import edu.classifier.dataset.ExampleColumns;
 import edu.classifier.dataset.ExampleSet;
+import edu.classifier.dataset.SparseExample;
 import edu.classifier.ml.Distance;
 import edu.classifier.ml.Kernel;
+import edu.classifier.ml.Metric;
+import edu.classifier.ml.NeighbourIndex;
+import edu.classifier.ml.PrototypeReduction;
+import edu.classifier.ml.QuantizedIndex;
+import edu.classifier.ml.SpaceFillingCurve;
+import edu.classifier.ml.TileScorer;
 
 public class IBk{
 
-	private ExampleSet trainSet = new ExampleSet();
+	private ExampleSet	   trainSet = new ExampleSet();	// training examples, or null when running from QuantizedIndex codes alone
+	private NeighbourIndex index	= null;		// index searched by classify(), or null to check every training example
+	private Metric		   metric	= Distance.EUCLIDEAN;
+	private int			   k		= Kernel.DEFAULT_K;		// number of neighbours that vote
+	private int			   voting	= Kernel.UNWEIGHTED;	// Kernel.UNWEIGHTED or Kernel.WEIGHTED
+	private TileScorer	   scorer	= null;		// packed training examples test() scores tile by tile, or null
+	private boolean		   normExpansion = false;	// use ||a||^2 + ||b||^2 - 2 a.b for Euclidean tiles
+	private PrototypeReduction reduction = null;	// reduces the training set in train(), or null to keep every example
+	private int				   reordering = SpaceFillingCurve.NONE;	// curve train() lays the training examples out along
+	private int[]			   positions  = null;	// position in the set given to train() of each reordered training example, or null if not reordered
+	private boolean			   deadlines = false;	// true to make the deadline order in train() rather than on first use
+	private volatile Priority  priority	 = null;	// order classify() under a deadline visits the training examples in, or null until it is used
+	private final AtomicLong   deadlineQueries = new AtomicLong();	// classifications under a deadline
+	private final AtomicLong   overruns		   = new AtomicLong();	// classifications the deadline cut short
+
+	private static final int CHECK = 64;	// training examples measured between checks of the clock
 	
 	public IBk(){
 		// Empty constructor
 	}
 
 	/**
-	 *	Constructor with one parameter
+	 *	Constructor with the number of neighbours
+	 *	@param	k: number of nearest training examples that vote on a label
+	 */
+	public IBk(int k) throws IllegalArgumentException{
+		this.setK(k);
+	}
+
+	/**
+	 *	Constructor with one parameter. The training examples are copied into
+	 *	a set this classifier owns, so add() never changes trainSet.
 	 *	@param	trainSet: ExampleSet object with training examples
 	 */
 	public IBk(ExampleSet trainSet){
-		this.trainSet = trainSet;
+		this.trainSet = IBk.copy(trainSet);
 	}
 
 	/**
-	 *	Train the IBk classifier
+	 *	Train the IBk classifier. The training examples are copied into a set
+	 *	this classifier owns (the reordered set, if setReordering() is used),
+	 *	so add() never changes trainSet and trainSet may be read-only (e.g., an
+	 *	ExampleSetView).
 	 *	@param	trainSet: ExampleSet object with training examples
 	 */
 	public void train(ExampleSet trainSet){
-		this.trainSet = trainSet;
+		this.train(trainSet, false);
+	}
+
+	/**
+	 *	Train the IBk classifier on a set it may or may not own already
+	 *	@param	trainSet: ExampleSet object with training examples
+	 *	@param	owned: true if no other object holds trainSet
+	 */
+	private void train(ExampleSet trainSet, boolean owned){
+		if(this.reduction != null){
+			trainSet = this.reduction.reduce(trainSet, this.metric);
+			owned	 = false;	// the PrototypeReduction keeps the reduced set
+		}
+
+		// Keep the curve order, so the reordered examples keep their positions as ids
+		int[] order = null;
+
+		if(this.reordering != SpaceFillingCurve.NONE){
+			order	 = new SpaceFillingCurve(this.reordering, trainSet).order(trainSet);
+			trainSet = SpaceFillingCurve.reorder(trainSet, order);
+			owned	 = true;
+		}
+		// A classifier running from codes keeps no examples to add to, so it needs no copy
+		if(!owned && !this.isCodesOnly(this.index)){
+			trainSet = IBk.copy(trainSet);
+		}
+		this.trainSet  = trainSet;
+		this.positions = order;
+		this.priority  = (this.deadlines) ? new Priority(trainSet) : null;
+
+		if(this.index != null){
+			this.index.build(trainSet, this.metric);
+		}
+		if(this.scorer != null){
+			this.scorer = this.makeScorer(trainSet, this.metric);
+		}
+		this.dropExamples();
+	}
+
+	// True if an index answers from its codes alone, so the training examples need not be kept
+	private boolean isCodesOnly(NeighbourIndex index){
+		return (index instanceof QuantizedIndex) && ((QuantizedIndex) index).getRerank() == 0;
+	}
+
+	// Drop the training examples, the deadline order and the tiles once the index runs from its codes alone
+	private void dropExamples(){
+		if(this.isCodesOnly(this.index)){
+			this.trainSet = null;
+			this.priority = null;
+			this.scorer	  = null;
+		}
+	}
+
+	// Start from an empty training set if the examples were dropped; there is nothing to rebuild from
+	private void restoreExamples(){
+		if(this.trainSet == null){
+			this.trainSet  = new ExampleSet();
+			this.positions = null;
+		}
+	}
+
+	// Copy training examples into a new set this classifier owns; a columnar set stays columnar
+	private static ExampleSet copy(ExampleSet trainSet){
+		int n = trainSet.size();
+
+		if(trainSet.isColumnar()){
+			ExampleColumns columns = new ExampleColumns(trainSet.getColumns().dimension(), n);
+
+			for(int i = 0; i < n; i++){
+				columns.add(trainSet.get(i));
+			}
+			return new ExampleSet(columns, trainSet.getMembership());
+		}
+
+		// Copy without membership checks, then rebuild the members once
+		ExampleSet copy = new ExampleSet();
+		copy.setMembership(ExampleSet.NONE);
+
+		for(int i = 0; i < n; i++){
+			copy.add(trainSet.get(i));
+		}
+		copy.setMembership(trainSet.getMembership());
+		return copy;
+	}
+
+	/**
+	 *	Append one training example to the set this classifier owns. The index
+	 *	appends it (see NeighbourIndex.append()), so an HNSWIndex appends and
+	 *	indexes it under its write lock; any other index that cannot grow is
+	 *	rebuilt. A tiled scorer appends the example to its packed arrays.
+	 *	classify() may run on other threads meanwhile only if the index is an
+	 *	HNSWIndex and no tiled test() is running.
+	 *	@param	example: Example object to add
+	 *	@return	true if the example was added, false if the training set already held it
+	 */
+	public boolean add(Example example) throws UnsupportedOperationException{
+		if(this.trainSet == null){
+			throw new UnsupportedOperationException("In add() method, the classifier runs from QuantizedIndex codes alone and keeps no training examples; train() it again instead.");
+		}
+
+		int size = this.trainSet.size();
+
+		if(this.index == null){
+			this.trainSet.add(example);
+		} else if(!this.index.append(this.trainSet, example) && this.trainSet.size() > size){
+			this.index.build(this.trainSet, this.metric);
+		}
+
+		if(this.trainSet.size() == size){
+			return false;
+		}
+		if(this.priority != null){
+			this.priority.insert(this.trainSet.get(size), size);
+		}
+
+		if(this.scorer != null){
+			this.scorer.add(this.trainSet.get(size));
+		}
+		return true;
+	}
+
+	/**
+	 *	Set the reduction train() applies to the training set. It takes effect
+	 *	on the next train(); add() appends examples without reducing them.
+	 *	@param	reduction: PrototypeReduction object, or null to keep every training example
+	 */
+	public void setReduction(PrototypeReduction reduction){
+		this.reduction = reduction;
+	}
+
+	/**
+	 *	Get the reduction train() applies to the training set
+	 *	@return	PrototypeReduction object, or null if every training example is kept
+	 */
+	public PrototypeReduction getReduction(){
+		return this.reduction;
+	}
+
+	/**
+	 *	Set the curve train() lays the training examples out along. It takes
+	 *	effect on the next train(); add() appends examples at the end.
+	 *	@param	curve: SpaceFillingCurve.NONE, MORTON, or HILBERT
+	 */
+	public void setReordering(int curve) throws IllegalArgumentException{
+		if(curve != SpaceFillingCurve.NONE && curve != SpaceFillingCurve.MORTON && curve != SpaceFillingCurve.HILBERT){
+			throw new IllegalArgumentException("In setReordering() method, curve must be SpaceFillingCurve.NONE, MORTON, or HILBERT.");
+		}
+		this.reordering = curve;
+	}
+
+	/**
+	 *	Get the curve train() lays the training examples out along
+	 *	@return	SpaceFillingCurve.NONE, MORTON, or HILBERT
+	 */
+	public int getReordering(){
+		return this.reordering;
+	}
+
+	/**
+	 *	Set whether classify() with a deadline is used without an index. If so,
+	 *	the order it visits the training examples in is made now and by every
+	 *	train(), and kept current by add(); if not, neither pays for it.
+	 *	@param	deadlines: true to keep the deadline order
+	 */
+	public void setDeadlines(boolean deadlines){
+		this.deadlines = deadlines;
+		this.priority  = (deadlines && this.trainSet != null) ? new Priority(this.trainSet) : null;
+	}
+
+	/**
+	 *	Check whether the deadline order is kept
+	 *	@return	true if train() makes the deadline order
+	 */
+	public boolean getDeadlines(){
+		return this.deadlines;
+	}
+
+	/**
+	 *	Set the index classify() searches for the nearest training examples. The
+	 *	index is built over the current training examples now and again on every
+	 *	call to train(). A QuantizedIndex with rerank 0 leaves only its codes
+	 *	(see the class comment); if the classifier already runs from codes, the
+	 *	new index is built over an empty training set.
+	 *	@param	index: NeighbourIndex object (e.g., a KDTree), or null to check every training example
+	 */
+	public void setIndex(NeighbourIndex index) throws IllegalArgumentException{
+		this.restoreExamples();
+
+		if(index != null){
+			index.build(this.trainSet, this.metric);
+		}
+		this.index = index;
+		this.dropExamples();
+	}
+
+	/**
+	 *	Get the index classify() searches for the nearest training examples
+	 *	@return	NeighbourIndex object, or null if classify() checks every training example
+	 */
+	public NeighbourIndex getIndex(){
+		return this.index;
+	}
+
+	/**
+	 *	Set the distance metric used to find the nearest training examples. If
+	 *	an index is set, it is rebuilt for the new metric; if the classifier
+	 *	runs from QuantizedIndex codes, it is rebuilt over an empty training set.
+	 *	@param	metric: Metric object (e.g., Distance.MANHATTAN)
+	 */
+	public void setMetric(Metric metric) throws IllegalArgumentException{
+		this.restoreExamples();
+
+		if(this.index != null){
+			this.index.build(this.trainSet, metric);
+		}
+		if(this.scorer != null){
+			this.scorer = this.makeScorer(this.trainSet, metric);
+		}
+		this.metric = metric;
+		this.dropExamples();
+	}
+
+	/**
+	 *	Get the distance metric used to find the nearest training examples
+	 *	@return	Metric object
+	 */
+	public Metric getMetric(){
+		return this.metric;
+	}
+
+	/**
+	 *	Set the number of nearest training examples that vote on a label
+	 *	@param	k: number of neighbours (at least 1)
+	 */
+	public void setK(int k) throws IllegalArgumentException{
+		if(k < 1){
+			throw new IllegalArgumentException("In setK() method, k must be at least 1.");
+		}
+		this.k = k;
+	}
+
+	/**
+	 *	Get the number of nearest training examples that vote on a label
+	 *	@return	k
+	 */
+	public int getK(){
+		return this.k;
+	}
+
+	/**
+	 *	Set how the nearest training examples vote on a label
+	 *	@param	voting: Kernel.UNWEIGHTED (one vote each) or Kernel.WEIGHTED (1 / distance each)
+	 */
+	public void setVoting(int voting){
+		this.voting = voting;
+	}
+
+	/**
+	 *	Get how the nearest training examples vote on a label
+	 *	@return	Kernel.UNWEIGHTED or Kernel.WEIGHTED
+	 */
+	public int getVoting(){
+		return this.voting;
+	}
+
+	/**
+	 *	Set whether test() scores test examples against the training examples
+	 *	tile by tile when no index is set. The training examples are packed now
+	 *	and again on every call to train() and setMetric(), unless the
+	 *	classifier runs from QuantizedIndex codes and has none to pack.
+	 *	@param	tiled: true to use a TileScorer; the metric must be one of the Distance constants
+	 */
+	public void setTiled(boolean tiled) throws IllegalArgumentException{
+		this.scorer = (tiled && this.trainSet != null) ? this.makeScorer(this.trainSet, this.metric) : null;
+	}
+
+	/**
+	 *	Check whether test() scores test examples tile by tile
+	 *	@return	true if tiled
+	 */
+	public boolean getTiled(){
+		return this.scorer != null;
+	}
+
+	/**
+	 *	Set whether tiled Euclidean distances use the squared-norm expansion
+	 *	||a||^2 + ||b||^2 - 2 a.b, which is faster but may break near-ties differently
+	 *	@param	normExpansion: true to use the expansion
+	 */
+	public void setNormExpansion(boolean normExpansion){
+		this.normExpansion = normExpansion;
+
+		if(this.scorer != null){
+			this.scorer.setNormExpansion(normExpansion);
+		}
+	}
+
+	/**
+	 *	Check whether tiled Euclidean distances use the squared-norm expansion
+	 *	@return	true if the expansion is used
+	 */
+	public boolean getNormExpansion(){
+		return this.normExpansion;
+	}
+
+	// Pack the training examples for tiled scoring
+	private TileScorer makeScorer(ExampleSet trainSet, Metric metric) throws IllegalArgumentException{
+		TileScorer scorer = new TileScorer(trainSet, metric);
+		scorer.setNormExpansion(this.normExpansion);
+		scorer.setPositions(this.positions);
+		return scorer;
+	}
+
+	/**
+	 *	Train the IBk classifier from a stream of examples (e.g., a GlaReader)
+	 *	@param	examples: Iterator over the training examples
+	 */
+	public void train(Iterator<Example> examples){
+		ExampleSet trainSet = new ExampleSet();
+
+		while(examples.hasNext()){
+			trainSet.add(examples.next());
+		}
+		this.train(trainSet, true);
 	}
 
 	/**
@@ -49,38 +492,494 @@ public class IBk{
 	 *	@return	ArrayList containing classifications or labels of test set Example objects
 	 */
 	public ArrayList<Double> test(ExampleSet testSet){
+		if(this.isTiled()){
+			Double[] labels = new Double[testSet.size()];
+			this.scorer.classify(testSet, 0, labels.length, this.k, this.voting, labels);
+			return new ArrayList<Double>(Arrays.asList(labels));
+		}
+
 		ArrayList<Double> exampleSetClassifications = new ArrayList<Double>();
+		Kernel kernel = new Kernel(this.k);
 
-		// Loop through the testSet, classify each Example object and store result
+		// Loop through the testSet, classify each Example object and store result, reusing one Kernel
 		for(Example e : testSet){
-			exampleSetClassifications.add(this.classify(e));
+			exampleSetClassifications.add(this.classify(e, kernel));
 		}
 		return exampleSetClassifications;
 	}
 
+	/**
+	 *	Classify an ExampleSet on several threads
+	 *	@param	testSet: ExampleSet object containing test Example objects
+	 *	@param	threads: number of worker threads
+	 *	@return	ArrayList containing classifications or labels of test set Example objects, in test set order
+	 */
+	public ArrayList<Double> test(ExampleSet testSet, int threads) throws IllegalArgumentException{
+		if(threads < 1){
+			throw new IllegalArgumentException("In test() method, threads must be at least 1.");
+		}
+
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+
+		try{
+			return this.test(testSet, pool, threads);
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	/**
+	 *	Classify an ExampleSet on the threads of an executor. The executor is
+	 *	not shut down, so it can be shared across calls.
+	 *	@param	testSet: ExampleSet object containing test Example objects
+	 *	@param	executor: ExecutorService to run the classification tasks on
+	 *	@return	ArrayList containing classifications or labels of test set Example objects, in test set order
+	 */
+	public ArrayList<Double> test(ExampleSet testSet, ExecutorService executor){
+		return this.test(testSet, executor, Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 *	Split an ExampleSet into ranges and classify each range as one task
+	 *	@param	testSet: ExampleSet object containing test Example objects
+	 *	@param	executor: ExecutorService to run the classification tasks on
+	 *	@param	threads: number of threads the executor runs tasks on
+	 *	@return	ArrayList containing classifications or labels of test set Example objects, in test set order
+	 */
+	private ArrayList<Double> test(ExampleSet testSet, ExecutorService executor, int threads){
+		int		 size	  = testSet.size();
+		int		 tasks	  = (int) Math.max(1, Math.min(size, threads * 4L));	// a few ranges per thread so uneven ranges even out
+		Double[] labels	  = new Double[size];
+		ArrayList<Future<?>> results = new ArrayList<>(tasks);
+
+		for(int i = 0; i < tasks; i++){
+			int lower = (int) ((long) size * i / tasks);
+			int upper = (int) ((long) size * (i + 1) / tasks);
+
+			results.add(executor.submit(() -> {
+				if(this.isTiled()){
+					this.scorer.classify(testSet, lower, upper, this.k, this.voting, labels);
+					return;
+				}
+
+				Kernel kernel = new Kernel(this.k);
+
+				// Classify this range, reusing one Kernel
+				for(int j = lower; j < upper; j++){
+					labels[j] = this.classify(testSet.get(j), kernel);
+				}
+			}));
+		}
+
+		try{
+			for(Future<?> result : results){
+				result.get();
+			}
+
+		} catch(InterruptedException e){
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while classifying the test set", e);
+
+		} catch(ExecutionException e){
+			if(e.getCause() instanceof RuntimeException){
+				throw (RuntimeException) e.getCause();
+			} else if(e.getCause() instanceof Error){
+				throw (Error) e.getCause();
+			}
+			throw new IllegalStateException("Unable to classify the test set", e.getCause());
+
+		} finally {
+			for(Future<?> result : results){
+				result.cancel(true);
+			}
+		}
+
+		return new ArrayList<Double>(Arrays.asList(labels));
+	}
+
+	// True if test() should score with the TileScorer; an index takes precedence
+	private boolean isTiled(){
+		return this.scorer != null && this.index == null && this.trainSet.size() > 0;
+	}
+
 	/**
 	 *	Classify one example using this class's trainSet
 	 *	@param	example: Example object to be classified
 	 *	@return	class label as a Double
 	 */
 	public Double classify(Example example){
+		return this.classify(example, new Kernel(this.k));
+	}
 
-		Double currentDistance;
-		Kernel kernel = new Kernel();
+	/**
+	 *	Classify one example using this class's trainSet and a Kernel to reuse.
+	 *	The kernel is cleared first, and set to this classifier's k if needed.
+	 *	@param	example: Example object to be classified
+	 *	@param	kernel: Kernel object to collect the nearest training examples in
+	 *	@return	class label as a Double
+	 */
+	public Double classify(Example example, Kernel kernel){
+		if(kernel.getK() != this.k){
+			kernel.setK(this.k);
+		}
+		kernel.clear();
+		kernel.setPositions(this.positions);
+
+		// Ask the index for the nearest examples
+		if(this.index != null){
+			this.index.search(example, kernel);
+			return kernel.getLabel(this.voting);
+		}
+
+		this.scan(example, kernel);
+		return kernel.getLabel(this.voting);
+	}
+
+	/**
+	 *	Add every training example to a kernel, which keeps the k nearest
+	 *	@param	example: Example object to find neighbours of
+	 *	@param	kernel: Kernel object to collect the nearest training examples in
+	 */
+	private void scan(Example example, Kernel kernel){
 
 		// Loop through Example objects in the ExampleSet
 		for(int i = 0; i < this.trainSet.size(); i++){
+			Example trainExample = this.trainSet.get(i);
 
 			// Calculate the distance to each Example in trainSet
-			currentDistance = Distance.getEuclideanDistance(example, this.trainSet.get(i));
-			//currentDistance = Distance.getChebyshevDistance(this.trainSet.get(i), example);
-			//currentDistance = Distance.getManhattanDistance(this.trainSet.get(i), example);
-			//currentDistance = Distance.getHammingDistance(example, this.trainSet.get(i));
+			kernel.add(this.metric.distance(example, trainExample), trainExample.getLabel(), i);
+		}
+	}
 
-			kernel.add(currentDistance, this.trainSet.get(i).getLabel());
+	/**
+	 *	Classify one example within a deadline
+	 *	@param	example: Example object to be classified
+	 *	@param	deadline: System.nanoTime() value to answer by (e.g., System.nanoTime() + budget)
+	 *	@return	Classification with the label and whether the search finished
+	 */
+	public Classification classify(Example example, long deadline){
+		return this.classify(example, new Kernel(this.k), deadline);
+	}
+
+	/**
+	 *	Classify one example within a deadline, using a Kernel to reuse. The
+	 *	search checks the clock every CHECK training examples (or every index
+	 *	leaf) and always measures some before it may stop, so it may finish a
+	 *	little after the deadline.
+	 *	@param	example: Example object to be classified
+	 *	@param	kernel: Kernel object to collect the nearest training examples in
+	 *	@param	deadline: System.nanoTime() value to answer by
+	 *	@return	Classification with the label and whether the search finished
+	 */
+	public Classification classify(Example example, Kernel kernel, long deadline){
+		if(kernel.getK() != this.k){
+			kernel.setK(this.k);
+		}
+		kernel.clear();
+		kernel.setPositions(this.positions);
+
+		boolean complete = (this.index != null) ? this.index.search(example, kernel, deadline) : this.scan(example, kernel, deadline);
+
+		this.deadlineQueries.incrementAndGet();
+		if(!complete){
+			this.overruns.incrementAndGet();
 		}
+		return new Classification(kernel.getLabel(this.voting), complete);
+	}
+
+	/**
+	 *	Add training examples to a kernel in priority order until the deadline passes
+	 *	@param	example: Example object to find neighbours of
+	 *	@param	kernel: Kernel object to collect the nearest training examples in
+	 *	@param	deadline: System.nanoTime() value to stop at
+	 *	@return	true if every training example that could be among the k nearest was measured
+	 */
+	private boolean scan(Example example, Kernel kernel, long deadline){
+		Priority priority = this.priority();
+		int		 n		  = priority.size;
+		double	 value	  = example.valueAt(priority.attribute);
 
-		return kernel.getMajorityLabel();
+		// |difference on one attribute| is a lower bound on these distances
+		boolean bounded = (this.metric == Distance.EUCLIDEAN || this.metric == Distance.MANHATTAN || this.metric == Distance.CHEBYSHEV);
+
+		// Start at the query's place in the order and walk outwards, nearer side first
+		int right = 0;
+		for(int step = Integer.highestOneBit(Math.max(1, n)); step > 0; step >>= 1){
+			if(right + step <= n && priority.values[right + step - 1] < value){
+				right += step;
+			}
+		}
+		int left	 = right - 1;
+		int measured = 0;
+
+		while(left >= 0 || right < n){
+			double leftGap	= (left >= 0) ? value - priority.values[left] : Double.POSITIVE_INFINITY;
+			double rightGap = (right < n) ? priority.values[right] - value : Double.POSITIVE_INFINITY;
+			boolean toLeft	= leftGap <= rightGap;
+
+			if(bounded && Math.min(leftGap, rightGap) > kernel.worstDistance()){
+				return true;
+			}
+
+			int		position = priority.order[toLeft ? left-- : right++];
+			Example trainExample = this.trainSet.get(position);
+			kernel.add(this.metric.distance(example, trainExample), trainExample.getLabel(), position);
+
+			if(++measured % CHECK == 0 && (left >= 0 || right < n) && System.nanoTime() - deadline >= 0){
+				return false;
+			}
+		}
+		return true;
+	}
+
+	// Get the deadline order, making it on first use if setDeadlines(true) was not called
+	private Priority priority(){
+		Priority priority = this.priority;
+
+		if(priority == null){
+			synchronized(this){
+				if(this.priority == null){
+					this.priority = new Priority(this.trainSet);
+				}
+				priority = this.priority;
+			}
+		}
+		return priority;
+	}
+
+	/**
+	 *	Get the number of classifications made under a deadline
+	 *	@return	number of calls to classify() with a deadline since the last resetOverruns()
+	 */
+	public long getDeadlineQueries(){
+		return this.deadlineQueries.get();
+	}
+
+	/**
+	 *	Get the number of classifications the deadline cut short
+	 *	@return	number of incomplete Classifications since the last resetOverruns()
+	 */
+	public long getOverruns(){
+		return this.overruns.get();
+	}
+
+	/**
+	 *	Reset the counts of classifications made under a deadline and cut short
+	 */
+	public void resetOverruns(){
+		this.deadlineQueries.set(0);
+		this.overruns.set(0);
+	}
+
+	/**
+	 *	Measure how many of the true k nearest training examples the index
+	 *	finds, by searching it and checking every training example for each
+	 *	test example. An exact index (KDTree, VPTree) has a recall of 1.0; an
+	 *	approximate one (e.g., an LSHIndex) less. A classifier running from
+	 *	QuantizedIndex codes has no training examples to check.
+	 *	@param	testSet: ExampleSet object containing test Example objects
+	 *	@return	fraction of the true k nearest training examples found by the index, or 1.0 if no index is set
+	 */
+	public double getRecall(ExampleSet testSet) throws UnsupportedOperationException{
+		if(this.trainSet == null){
+			throw new UnsupportedOperationException("In getRecall() method, the classifier runs from QuantizedIndex codes alone and keeps no training examples to check.");
+		}
+		if(this.index == null || testSet.size() == 0 || this.trainSet.size() == 0){
+			return 1.0;
+		}
+
+		Kernel exact	   = new Kernel(this.k);
+		Kernel approximate = new Kernel(this.k);
+		exact.setPositions(this.positions);
+		approximate.setPositions(this.positions);
+		long   found	   = 0;
+		long   total	   = 0;
+
+		for(Example e : testSet){
+			exact.clear();
+			approximate.clear();
+			this.scan(e, exact);
+			this.index.search(e, approximate);
+
+			int[] expected = exact.getIds();
+			int[] actual   = approximate.getIds();
+
+			// Count the true neighbours among the ones the index found
+			for(int id : expected){
+				for(int other : actual){
+					if(id == other){
+						found++;
+						break;
+					}
+				}
+			}
+			total += expected.length;
+		}
+		return (double) found / total;
+	}
+
+	/**
+	 *	Priority holds the training positions sorted by their value of the
+	 *	attribute with the largest variance. Examples near the query on that
+	 *	attribute are visited first, since they are the likeliest to be near
+	 *	it on all of them. It is made by train() after setDeadlines(true), so a
+	 *	query under a deadline never waits for it, or else by the first such
+	 *	query; insert() keeps it current as add() appends examples, and the
+	 *	attribute stays the one chosen when it was made.
+	 */
+	private static final class Priority{
+
+		private final int attribute;	// attribute the examples are sorted on
+		private int[]	  order;		// training positions, sorted by their value of attribute; may have room for more
+		private double[]  values;		// value of attribute of each position in order; may have room for more
+		private int		  size;			// number of positions in order
+
+		private Priority(ExampleSet trainSet){
+			int n		  = trainSet.size();
+			int dimension = (n == 0) ? 0 : trainSet.get(0).dimension();
+			int widest	  = 0;
+			double widestVariance = -1.0;
+
+			// Add up each attribute's values and squares one example at a time; a sparse example adds only its non-zero values
+			double[] sums	 = new double[dimension];
+			double[] squares = new double[dimension];
+			double[] row	 = new double[dimension];
+
+			for(int i = 0; i < n; i++){
+				Example example = trainSet.get(i);
+
+				if(example instanceof SparseExample){
+					SparseExample sparse = (SparseExample) example;
+
+					for(int v = 0; v < sparse.nonZeroCount(); v++){
+						double value = sparse.nonZeroAt(v);
+						sums[sparse.indexAt(v)]	   += value;
+						squares[sparse.indexAt(v)] += value * value;
+					}
+					continue;
+				}
+
+				example.copyInto(row);
+
+				for(int j = 0; j < dimension; j++){
+					sums[j]	   += row[j];
+					squares[j] += row[j] * row[j];
+				}
+			}
+
+			// Find the attribute with the largest variance
+			for(int j = 0; j < dimension; j++){
+				double variance = squares[j] / n - (sums[j] / n) * (sums[j] / n);
+
+				if(variance > widestVariance){
+					widest		   = j;
+					widestVariance = variance;
+				}
+			}
+
+			this.attribute = widest;
+			this.order	   = new int[n];
+			this.values	   = new double[n];
+
+			for(int i = 0; i < n; i++){
+				this.order[i]  = i;
+				this.values[i] = trainSet.get(i).valueAt(widest);
+			}
+			Priority.sort(this.values, this.order, 0, n);
+			this.size = n;
+		}
+
+		/**
+		 *	Insert a newly appended training example at its place in the order,
+		 *	found by binary search, growing the arrays by doubling when full
+		 *	@param	example: Example object appended to the training set
+		 *	@param	position: its position in the training set, larger than every position held
+		 */
+		private void insert(Example example, int position){
+			double value = (example.dimension() > this.attribute) ? example.valueAt(this.attribute) : 0.0;
+
+			if(this.size == this.order.length){
+				int capacity = Math.max(16, 2 * this.size);
+				this.order	= Arrays.copyOf(this.order, capacity);
+				this.values = Arrays.copyOf(this.values, capacity);
+			}
+
+			// The new position is the largest, so it goes after every equal value
+			int lower = 0;
+			int upper = this.size;
+
+			while(lower < upper){
+				int middle = (lower + upper) >>> 1;
+
+				if(this.values[middle] <= value){
+					lower = middle + 1;
+				} else {
+					upper = middle;
+				}
+			}
+
+			System.arraycopy(this.order, lower, this.order, lower + 1, this.size - lower);
+			System.arraycopy(this.values, lower, this.values, lower + 1, this.size - lower);
+			this.order[lower]  = position;
+			this.values[lower] = value;
+			this.size++;
+		}
+
+		/**
+		 *	Sort a range of keys and the ids parallel to them by (key, id)
+		 *	@param	keys: values to sort
+		 *	@param	ids: ids parallel to keys
+		 *	@param	lower: first index of the range
+		 *	@param	upper: one past the last index of the range
+		 */
+		private static void sort(double[] keys, int[] ids, int lower, int upper){
+			while(upper - lower > 16){
+				// Partition around the middle element, then sort the smaller side and loop on the larger
+				int	   middle  = (lower + upper) >>> 1;
+				double pivot   = keys[middle];
+				int	   pivotId = ids[middle];
+				int	   i	   = lower;
+				int	   j	   = upper - 1;
+
+				while(i <= j){
+					while(keys[i] < pivot || (keys[i] == pivot && ids[i] < pivotId)){
+						i++;
+					}
+					while(keys[j] > pivot || (keys[j] == pivot && ids[j] > pivotId)){
+						j--;
+					}
+					if(i <= j){
+						Priority.swap(keys, ids, i++, j--);
+					}
+				}
+
+				if(j + 1 - lower < upper - i){
+					Priority.sort(keys, ids, lower, j + 1);
+					lower = i;
+				} else {
+					Priority.sort(keys, ids, i, upper);
+					upper = j + 1;
+				}
+			}
+
+			// Insertion sort for short ranges
+			for(int i = lower + 1; i < upper; i++){
+				for(int j = i; j > lower && (keys[j - 1] > keys[j] || (keys[j - 1] == keys[j] && ids[j - 1] > ids[j])); j--){
+					Priority.swap(keys, ids, j - 1, j);
+				}
+			}
+		}
+
+		// Swap two entries of parallel arrays
+		private static void swap(double[] keys, int[] ids, int i, int j){
+			double key = keys[i];
+			int	   id  = ids[i];
+
+			keys[i] = keys[j];
+			ids[i]	= ids[j];
+			keys[j] = key;
+			ids[j]	= id;
+		}
 	}
 
 	public static void main(String[] args){
@@ -0,0 +1,298 @@
+/**
+ *	InvertedIndex is a NeighbourIndex for Hamming distance (Distance.HAMMING)
+ *	on nominal data. For every attribute it maps each value code to a
+ *	posting list of the training examples that have it, in training set
+ *	order. A query walks the posting lists of its own d values and counts,
+ *	for each training example it meets, how many attributes match; the
+ *	Hamming distance is then d minus the count. The k nearest are kept by a
+ *	Kernel (a bounded heap), so a query costs work proportional to the
+ *	posting lists it touches rather than n full d-length comparisons.
+ *
+ *	Training examples that share no value with the query are at distance d
+ *	and are never touched; if the kernel is not yet full of nearer examples,
+ *	the first k of them by position are added. Distances are whole numbers
+ *	of mismatches as in Distance.getHammingDistance() (a NaN never matches),
+ *	and the Kernel gives ties to the example earlier in the training set, so
+ *	search() finds the same neighbours as a full scan.
+ *
+ *	Value codes are whole numbers from 0 (see Attribute.valueOf()), so each
+ *	attribute's posting lists are kept in an array indexed by code, grown as
+ *	larger codes appear; only a value that is not a code (a negative,
+ *	fractional, or very large value, e.g., a numeric attribute) falls back to
+ *	a map from the value to its posting list.
+ *
+ *	The index grows with add() as IBk.add() appends training examples. Once
+ *	built, an InvertedIndex may be searched from several threads at once,
+ *	but not while add() runs.
+ *
+ *	@author		Glenn Abastillas
+ *	@version	1.0.0
+ *	@since		October 18, 2026
+ *
+ *	InvertedIndex implements the following methods:
+ *		void build(ExampleSet, Metric):	build the posting lists over the training examples
+ *		void search(Example, Kernel):	add the k nearest training examples to a kernel
+ *		boolean add(Example):			add the example last appended to the training set to the posting lists
+ *		int size():						get the number of indexed examples
+ *		long getPostings():				get the total length of the posting lists
+ *
+ *	InvertedIndex is used by the following classes: IBk
+ */
+package edu.classifier.ml;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+
+import edu.classifier.dataset.Example;
+import edu.classifier.dataset.ExampleSet;
+
+public class InvertedIndex implements NeighbourIndex{
+
+	private ExampleSet trainSet	 = new ExampleSet();
+	private int		   size		 = 0;
+	private int		   dimension = 0;
+	private double[]   labels	 = new double[0];	// class label of each example, in training set order
+
+	private Posting[][] postings = new Posting[0][];	// per attribute, the examples with each value code, indexed by code
+	private ArrayList<HashMap<Double, Posting>> others = new ArrayList<>();	// per attribute, the examples with each value that is not a code
+
+	private static final int MAX_CODE = 4095;	// largest code kept in the arrays; larger values use the map
+
+	private ThreadLocal<Scratch> scratch = ThreadLocal.withInitial(Scratch::new);	// each thread's working space for search()
+
+	public InvertedIndex(){
+		// Empty constructor
+	}
+
+	/**
+	 *	Build the posting lists over the training examples
+	 *	@param	trainSet: ExampleSet object with training examples
+	 *	@param	metric: must be Distance.HAMMING
+	 */
+	@Override
+	public void build(ExampleSet trainSet, Metric metric) throws IllegalArgumentException{
+		if(metric != Distance.HAMMING){
+			throw new IllegalArgumentException("In build() method, an InvertedIndex only supports Distance.HAMMING.");
+		}
+
+		this.trainSet  = trainSet;
+		this.size	   = 0;
+		this.dimension = (trainSet.size() == 0) ? 0 : trainSet.get(0).dimension();
+		this.labels	   = new double[Math.max(16, trainSet.size())];
+		this.postings  = new Posting[this.dimension][0];
+		this.others	   = new ArrayList<>(this.dimension);
+
+		for(int j = 0; j < this.dimension; j++){
+			this.others.add(new HashMap<Double, Posting>());
+		}
+
+		for(int i = 0; i < trainSet.size(); i++){
+			this.insert(trainSet.get(i));
+		}
+	}
+
+	/**
+	 *	Add the example last appended to the training set the index was built over
+	 *	@param	example: Example object appended to the training set
+	 *	@return	true, as the posting lists grow without being rebuilt
+	 */
+	@Override
+	public boolean add(Example example) throws IllegalStateException{
+		if(this.trainSet.size() != this.size + 1 || this.trainSet.get(this.size) != example){
+			throw new IllegalStateException("In add() method, the example must be appended to the training set the index was built over first.");
+		}
+		if(this.size == 0 && this.dimension == 0){
+			this.build(this.trainSet, Distance.HAMMING);
+			return true;
+		}
+		this.insert(example);
+		return true;
+	}
+
+	/**
+	 *	Add the next training example to the posting lists of its values
+	 *	@param	example: Example object at position size in the training set
+	 */
+	private void insert(Example example){
+		int id = this.size++;
+
+		if(id == this.labels.length){
+			this.labels = Arrays.copyOf(this.labels, 2 * id);
+		}
+		this.labels[id] = example.getLabel();
+
+		for(int j = 0; j < this.dimension; j++){
+			double value = example.valueAt(j);
+
+			// NaN never matches anything, so it needs no posting list
+			if(Double.isNaN(value)){
+				continue;
+			}
+
+			if(InvertedIndex.isCode(value)){
+				int		  code	   = (int) value;
+				Posting[] postings = this.postings[j];
+
+				if(code >= postings.length){
+					postings = Arrays.copyOf(postings, Math.max(code + 1, 2 * postings.length));
+					this.postings[j] = postings;
+				}
+				if(postings[code] == null){
+					postings[code] = new Posting();
+				}
+				postings[code].add(id);
+			} else {
+				this.others.get(j).computeIfAbsent(value + 0.0, other -> new Posting()).add(id);	// + 0.0 turns -0.0 into 0.0
+			}
+		}
+	}
+
+	/**
+	 *	Check if a value is a code kept in the posting arrays
+	 *	@param	value: attribute value
+	 *	@return	true if value is a whole number from 0 to MAX_CODE
+	 */
+	private static boolean isCode(double value){
+		return value >= 0.0 && value <= MAX_CODE && value == (int) value;
+	}
+
+	/**
+	 *	Get the posting list of an attribute's value
+	 *	@param	attribute: attribute index
+	 *	@param	value: attribute value, not NaN
+	 *	@return	Posting of the examples with value, or null if there are none
+	 */
+	private Posting posting(int attribute, double value){
+		if(InvertedIndex.isCode(value)){
+			Posting[] postings = this.postings[attribute];
+			int		  code	   = (int) value;
+			return (code < postings.length) ? postings[code] : null;
+		}
+		return this.others.get(attribute).get(value + 0.0);
+	}
+
+	/**
+	 *	Add the k nearest training examples to a kernel
+	 *	@param	query: Example object to find neighbours of
+	 *	@param	kernel: Kernel to add the examples to, with their positions as ids
+	 */
+	@Override
+	public void search(Example query, Kernel kernel){
+		Scratch scratch = this.scratch.get();
+		scratch.prepare(this.size);
+
+		int[] counts  = scratch.counts;
+		int[] touched = scratch.touched;
+		int	  found	  = 0;
+
+		// Count the matching attributes of every training example in the query's posting lists
+		for(int j = 0; j < this.dimension; j++){
+			double value = query.valueAt(j);
+
+			if(Double.isNaN(value)){
+				continue;
+			}
+
+			Posting posting = this.posting(j, value);
+
+			if(posting == null){
+				continue;
+			}
+
+			for(int p = 0; p < posting.size; p++){
+				int id = posting.ids[p];
+
+				if(counts[id]++ == 0){
+					touched[found++] = id;
+				}
+			}
+		}
+
+		for(int t = 0; t < found; t++){
+			int id = touched[t];
+			kernel.add(this.dimension - counts[id], this.labels[id], id);
+		}
+
+		// Examples sharing no value are at distance d; only the first k of them can be kept, unless the kernel maps ids to other positions
+		if(!kernel.isFull() || kernel.worstDistance() >= this.dimension){
+			int added = 0;
+			int limit = (kernel.getPositions() == null) ? kernel.getK() : this.size;
+
+			for(int id = 0; id < this.size && added < limit; id++){
+				if(counts[id] == 0){
+					kernel.add(this.dimension, this.labels[id], id);
+					added++;
+				}
+			}
+		}
+
+		// Clear the counts for the next query
+		for(int t = 0; t < found; t++){
+			counts[touched[t]] = 0;
+		}
+	}
+
+	/**
+	 *	Get the number of indexed examples
+	 *	@return	number of examples
+	 */
+	public int size(){
+		return this.size;
+	}
+
+	/**
+	 *	Get the total length of the posting lists
+	 *	@return	number of (attribute, example) entries indexed
+	 */
+	public long getPostings(){
+		long total = 0;
+
+		for(Posting[] attribute : this.postings){
+			for(Posting posting : attribute){
+				total += (posting == null) ? 0 : posting.size;
+			}
+		}
+		for(HashMap<Double, Posting> attribute : this.others){
+			for(Posting posting : attribute.values()){
+				total += posting.size;
+			}
+		}
+		return total;
+	}
+
+	/**
+	 *	Posting holds the positions of the training examples with one value
+	 *	code of one attribute, in training set order.
+	 */
+	private static class Posting{
+		int[] ids  = new int[4];
+		int	  size = 0;
+
+		// Append a position
+		void add(int id){
+			if(this.size == this.ids.length){
+				this.ids = Arrays.copyOf(this.ids, 2 * this.size);
+			}
+			this.ids[this.size++] = id;
+		}
+	}
+
+	/**
+	 *	Scratch holds one thread's working space for search(): the match count
+	 *	of every training example (zero between queries) and the positions
+	 *	whose count the current query raised.
+	 */
+	private static class Scratch{
+		int[] counts  = new int[0];
+		int[] touched = new int[0];
+
+		// Size the arrays for an index
+		void prepare(int size){
+			if(this.counts.length < size){
+				this.counts	 = new int[size];
+				this.touched = new int[size];
+			}
+		}
+	}
+}
@@ -0,0 +1,326 @@
+/**
+ *	KDTree is a NeighbourIndex for Euclidean distance (Distance.EUCLIDEAN); use
+ *	a VPTree for the other metrics. The training values are
+ *	copied once into a single packed array, ordered so that the examples of
+ *	each leaf sit next to each other. Each inner node splits its examples at
+ *	the median of the attribute with the widest spread, and each leaf holds at
+ *	most LEAF_SIZE examples. A query walks down to the leaf nearest to it and
+ *	then backs out, visiting the other side of a split only if the split is
+ *	no farther away than the k-th nearest example found so far. On
+ *	low-dimensional data (e.g., d <= 20) most of the tree is never visited,
+ *	so a query costs about O(log n) distance calculations instead of n.
+ *
+ *	Distances are square roots of sums of squared differences computed by
+ *	VectorDistance, as in Distance.getEuclideanDistance(), and the Kernel
+ *	gives ties to the example earlier in the training set, so search() finds
+ *	the same neighbours as a full scan. Once the kernel is full, a leaf
+ *	example stops being measured as soon as its partial sum passes the k-th
+ *	nearest distance.
+ *
+ *	With setCurve(), the examples of each leaf are laid out along a
+ *	SpaceFillingCurve instead of in the order the split left them, so a leaf
+ *	scan reads its examples nearest-to-each-other first.
+ *
+ *	search() with a deadline checks the clock before each leaf after the
+ *	first and stops once the deadline has passed. Leaves are visited nearest first,
+ *	so the examples found by then are mostly the nearest ones.
+ *
+ *	Once built, a KDTree may be searched from several threads at once.
+ *
+ *	@author		Glenn Abastillas
+ *	@version	1.0.0
+ *	@since		October 18, 2026
+ *
+ *	KDTree implements the following methods:
+ *		void build(ExampleSet, Metric):	build the tree over the training examples
+ *		void search(Example, Kernel):	add the k nearest training examples to a kernel
+ *		boolean search(Example, Kernel, long):	search until a deadline; false if it passed first
+ *		void setCurve(int):				lay the examples of each leaf out along a SpaceFillingCurve
+ *		int size():						get the number of indexed examples
+ *
+ *	KDTree is used by the following classes: IBk
+ */
+package edu.classifier.ml;
+
+import edu.classifier.dataset.Example;
+import edu.classifier.dataset.ExampleSet;
+
+public class KDTree implements NeighbourIndex{
+
+	public static final int	   LEAF_SIZE = 16;		// most examples kept in one leaf
+	public static final double TOLERANCE = 1e-9;	// relative slack on the split bound for rounding in the square root
+
+	private static final long NO_DEADLINE = Long.MIN_VALUE;	// deadline of a search that runs to the end
+
+	private int		 curve	   = SpaceFillingCurve.NONE;	// order of the examples inside a leaf
+	private int		 dimension = 0;
+	private int		 size	   = 0;
+	private double[] points	   = new double[0];	// values of the examples in tree order, dimension values per example
+	private int[]	 positions = new int[0];	// position in the training set of each example in tree order
+	private double[] labels	   = new double[0];	// class label of each example in tree order
+
+	private ThreadLocal<double[]> queryValues = ThreadLocal.withInitial(() -> new double[0]);	// each thread's copy of its query's values
+
+	// Nodes, one entry per node; node 0 is the root
+	private int[]	 splitAttribute = new int[0];	// attribute a node splits on, or -1 for a leaf
+	private double[] splitValue		= new double[0];	// examples below the split have values <= splitValue
+	private int[]	 lower			= new int[0];	// first example (tree order) of a node
+	private int[]	 upper			= new int[0];	// one past the last example (tree order) of a node
+	private int[]	 left			= new int[0];	// child node holding the examples below the split
+	private int[]	 right			= new int[0];	// child node holding the examples above the split
+	private int		 nodes			= 0;
+
+	public KDTree(){
+		// Empty constructor
+	}
+
+	/**
+	 *	Set the order of the examples inside each leaf, used from the next build()
+	 *	@param	curve: SpaceFillingCurve.NONE, MORTON, or HILBERT
+	 */
+	public void setCurve(int curve) throws IllegalArgumentException{
+		if(curve != SpaceFillingCurve.NONE && curve != SpaceFillingCurve.MORTON && curve != SpaceFillingCurve.HILBERT){
+			throw new IllegalArgumentException("In setCurve() method, curve must be SpaceFillingCurve.NONE, MORTON, or HILBERT.");
+		}
+		this.curve = curve;
+	}
+
+	/**
+	 *	Build the tree over the training examples
+	 *	@param	trainSet: ExampleSet object with training examples
+	 *	@param	metric: must be Distance.EUCLIDEAN
+	 */
+	@Override
+	public void build(ExampleSet trainSet, Metric metric) throws IllegalArgumentException{
+		if(metric != Distance.EUCLIDEAN){
+			throw new IllegalArgumentException("In build() method, a KDTree only supports Distance.EUCLIDEAN; use a VPTree for other metrics.");
+		}
+
+		this.size	   = trainSet.size();
+		this.dimension = (this.size == 0) ? 0 : trainSet.get(0).dimension();
+		this.positions = new int[this.size];
+
+		double[] values = new double[this.size * this.dimension];
+		double[] row	= new double[this.dimension];
+
+		// Copy every example's values into one packed array
+		for(int i = 0; i < this.size; i++){
+			trainSet.get(i).copyInto(row);
+			System.arraycopy(row, 0, values, i * this.dimension, this.dimension);
+			this.positions[i] = i;
+		}
+
+		// A tree with leaves of at least LEAF_SIZE / 2 examples has fewer than 4n / LEAF_SIZE + 1 nodes
+		int capacity = 4 * this.size / LEAF_SIZE + 1;
+		this.splitAttribute = new int[capacity];
+		this.splitValue		= new double[capacity];
+		this.lower			= new int[capacity];
+		this.upper			= new int[capacity];
+		this.left			= new int[capacity];
+		this.right			= new int[capacity];
+		this.nodes			= 0;
+
+		if(this.size > 0){
+			this.buildNode(values, 0, this.size);
+		}
+
+		// Order the examples inside each leaf along the curve
+		if(this.curve != SpaceFillingCurve.NONE && this.size > 0){
+			SpaceFillingCurve spaceFillingCurve = new SpaceFillingCurve(this.curve, values, this.dimension);
+			long[] keys = new long[this.size];
+
+			for(int i = 0; i < this.size; i++){
+				keys[i] = spaceFillingCurve.key(values, this.positions[i] * this.dimension);
+			}
+			for(int node = 0; node < this.nodes; node++){
+				if(this.splitAttribute[node] < 0){
+					spaceFillingCurve.sort(this.positions, keys, this.lower[node], this.upper[node]);
+				}
+			}
+		}
+
+		// Lay the values out in tree order so a leaf reads one contiguous block
+		this.points = new double[this.size * this.dimension];
+		this.labels = new double[this.size];
+
+		for(int i = 0; i < this.size; i++){
+			System.arraycopy(values, this.positions[i] * this.dimension, this.points, i * this.dimension, this.dimension);
+			this.labels[i] = trainSet.get(this.positions[i]).getLabel();
+		}
+	}
+
+	/**
+	 *	Build the node holding the examples in positions[from, to)
+	 *	@param	values: packed values in training set order
+	 *	@param	from: first example of the node
+	 *	@param	to: one past the last example of the node
+	 *	@return	index of the new node
+	 */
+	private int buildNode(double[] values, int from, int to){
+		int node = this.nodes++;
+		this.lower[node] = from;
+		this.upper[node] = to;
+		this.splitAttribute[node] = -1;
+
+		if(to - from <= LEAF_SIZE){
+			return node;
+		}
+
+		// Find the attribute with the widest spread in this node
+		int	   attribute = -1;
+		double spread	 = 0.0;
+
+		for(int j = 0; j < this.dimension; j++){
+			double min = Double.POSITIVE_INFINITY;
+			double max = Double.NEGATIVE_INFINITY;
+
+			for(int i = from; i < to; i++){
+				double value = values[this.positions[i] * this.dimension + j];
+				min = Math.min(min, value);
+				max = Math.max(max, value);
+			}
+
+			if(max - min > spread){
+				spread	  = max - min;
+				attribute = j;
+			}
+		}
+
+		// Every example in this node has the same values; keep it as one leaf
+		if(attribute < 0){
+			return node;
+		}
+
+		int middle = (from + to) >>> 1;
+		this.select(values, attribute, from, to - 1, middle);
+
+		this.splitAttribute[node] = attribute;
+		this.splitValue[node]	  = values[this.positions[middle] * this.dimension + attribute];
+		this.left[node]			  = this.buildNode(values, from, middle);
+		this.right[node]		  = this.buildNode(values, middle, to);
+		return node;
+	}
+
+	/**
+	 *	Reorder positions[from, to] so that the example at target has the value
+	 *	it would have if they were sorted by an attribute, with smaller values
+	 *	before it and larger values after it (quickselect)
+	 *	@param	values: packed values in training set order
+	 *	@param	attribute: attribute to order by
+	 *	@param	from: first example to reorder
+	 *	@param	to: last example to reorder (inclusive)
+	 *	@param	target: example whose place to find
+	 */
+	private void select(double[] values, int attribute, int from, int to, int target){
+		while(from < to){
+			double pivot = values[this.positions[(from + to) >>> 1] * this.dimension + attribute];
+			int i = from;
+			int j = to;
+
+			while(i <= j){
+				while(values[this.positions[i] * this.dimension + attribute] < pivot){
+					i++;
+				}
+				while(values[this.positions[j] * this.dimension + attribute] > pivot){
+					j--;
+				}
+				if(i <= j){
+					int swap = this.positions[i];
+					this.positions[i++] = this.positions[j];
+					this.positions[j--] = swap;
+				}
+			}
+
+			if(target <= j){
+				to = j;
+			} else if(target >= i){
+				from = i;
+			} else {
+				return;
+			}
+		}
+	}
+
+	/**
+	 *	Add the k nearest training examples to a kernel
+	 *	@param	query: Example object to find neighbours of
+	 *	@param	kernel: Kernel to add the examples to, with their positions as ids
+	 */
+	@Override
+	public void search(Example query, Kernel kernel){
+		this.search(query, kernel, NO_DEADLINE);
+	}
+
+	/**
+	 *	Add the nearest training examples found before a deadline to a kernel
+	 *	@param	query: Example object to find neighbours of
+	 *	@param	kernel: Kernel to add the examples to, with their positions as ids
+	 *	@param	deadline: System.nanoTime() value to stop at
+	 *	@return	true if the search finished before the deadline
+	 */
+	@Override
+	public boolean search(Example query, Kernel kernel, long deadline){
+		double[] values = this.queryValues.get();
+
+		if(values.length < this.dimension){
+			values = new double[this.dimension];
+			this.queryValues.set(values);
+		}
+		query.copyInto(values);
+
+		return (this.size == 0) || this.searchNode(0, values, kernel, deadline);
+	}
+
+	/**
+	 *	Search a node, nearer child first
+	 *	@param	node: node to search
+	 *	@param	query: values of the query
+	 *	@param	kernel: nearest examples found so far
+	 *	@param	deadline: System.nanoTime() value to stop at, or NO_DEADLINE
+	 *	@return	false if the deadline passed before the node was searched in full
+	 */
+	private boolean searchNode(int node, double[] query, Kernel kernel, long deadline){
+		int attribute = this.splitAttribute[node];
+
+		// Leaf: check every example in it, unless examples have been found and the deadline has passed
+		if(attribute < 0){
+			if(deadline != NO_DEADLINE && kernel.size() > 0 && System.nanoTime() - deadline >= 0){
+				return false;
+			}
+			for(int i = this.lower[node]; i < this.upper[node]; i++){
+				double worst   = kernel.worstDistance();
+				double bound   = worst * worst * (1.0 + TOLERANCE);	// loosened so a tie with the k-th nearest is still measured in full
+				double squared = VectorDistance.squaredEuclidean(query, 0, this.points, i * this.dimension, this.dimension, bound);
+
+				if(squared <= bound){
+					kernel.add(Math.sqrt(squared), this.labels[i], this.positions[i]);
+				}
+			}
+			return true;
+		}
+
+		double difference = query[attribute] - this.splitValue[node];
+		int	   near		  = (difference <= 0.0) ? this.left[node] : this.right[node];
+		int	   far		  = (difference <= 0.0) ? this.right[node] : this.left[node];
+
+		if(!this.searchNode(near, query, kernel, deadline)){
+			return false;
+		}
+
+		// An example on the far side is at least |difference| away; ties must still be checked
+		double worst = kernel.worstDistance();
+
+		if(difference * difference <= worst * worst * (1.0 + TOLERANCE)){
+			return this.searchNode(far, query, kernel, deadline);
+		}
+		return true;
+	}
+
+	/**
+	 *	Get the number of indexed examples
+	 *	@return	number of examples
+	 */
+	public int size(){
+		return this.size;
+	}
+}
@@ -1,87 +1,363 @@
 /**
- *	Kernel is a container that contains three values and their associated class
- *	label. If the Kernel is filled to capacity (=3) and another value and assoc
- *	iated label is added to it, the highest value and associated label is taken
- *	out and replaced by the new value and associated label.
+ *	Kernel is a container that holds the k nearest training examples found so
+ *	far for one unclassified example: their distances, class labels, and ids
+ *	(positions in the training set). If the Kernel is filled to capacity (k)
+ *	and a nearer example is added, the farthest one is taken out and replaced
+ *	by the new one.
  *
- *	If there is a majority label present in the Kernel, it may be accessed by
- *	the getMajority() method. If there is no majority label, the label with the
- *	lowest distance score (i.e., closest to the unclassified example) is 
- *	returned.
+ *	The examples are kept in a max-heap of primitive arrays ordered by
+ *	(distance, id), so the farthest example is always on top, adding an
+ *	example costs O(log k), and ties in distance go to the example with the
+ *	smaller id, i.e. the one earlier in the training set. A Kernel can be
+ *	cleared and reused for the next example without allocating.
+ *
+ *	setPositions() maps the ids given to add() to other ids before they are
+ *	compared and recorded. IBk uses it when its training examples are stored
+ *	in a different order from the training set it was given, so ties still go
+ *	to the example earlier in that set.
+ *
+ *	The label of the kernel is chosen by vote. With UNWEIGHTED voting each
+ *	example has one vote; with WEIGHTED voting each example has a vote of
+ *	1 / distance (examples at distance 0.0 outvote all others). Ties between
+ *	labels go to the label of the nearest example among them.
  *
  *	@author		Glenn Abastillas
- *	@version	1.0.0
+ *	@version	1.1.0
  *	@since		March 21, 2016
- *	
+ *
+ *	@update		October 18, 2026	<Version to 1.1.0 from 1.0.0> bounded max-heap with configurable k, ids for ties, weighted voting
+ *	@update		October 18, 2026	added getDistances()
+ *	@update		October 18, 2026	added setPositions() for mapping ids to original training positions
+ *
+ *	Kernel implements the following methods:
+ *		void add(Double, Double):			add a distance and class label (ids are given in the order added)
+ *		void add(double, double, int):		add a distance, class label, and id
+ *		void clear():						empty the kernel for reuse
+ *		int size():							get the number of examples held
+ *		int getK():							get the number of examples the kernel holds when full
+ *		void setK(int):						set k and empty the kernel
+ *		boolean isFull():					check if k examples are held
+ *		double worstDistance():				get the distance an example must not exceed to be kept
+ *		int[] getIds():						get the ids held, nearest first
+ *		double[] getDistances():			get the distances held, nearest first
+ *		void setPositions(int[]):			map the ids given to add() to the ids recorded
+ *		int[] getPositions():				get the map of ids, or null
+ *		Double getMajorityLabel():			get the label with the most votes
+ *		Double getWeightedLabel():			get the label with the most distance-weighted votes
+ *		Double getLabel(int):				get the label chosen by UNWEIGHTED or WEIGHTED voting
  */
 package edu.classifier.ml;
 
-import java.util.Collections;
-import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
 
 public class Kernel{
 
-	ArrayList<Double> value = new ArrayList<Double>();	// value holds the results of distance calculations between the unclassified example and training examples
-	ArrayList<Double> label = new ArrayList<Double>();	// label holds the labels of the training examples closest in distance to the unclassified example
+	public static final int DEFAULT_K  = 3;
+
+	public static final int UNWEIGHTED = 0;	// one vote per example
+	public static final int WEIGHTED   = 1;	// 1 / distance votes per example
+
+	private int		 k;
+	private int		 count = 0;		// number of examples held
+	private int		 added = 0;		// number of examples added since the last clear(); the id given by add(Double, Double)
+	private double[] distances;		// heap of distances, farthest at 0
+	private double[] labels;		// class labels, parallel to distances
+	private int[]	 ids;			// ids, parallel to distances
+	private int[]	 positions = null;	// id recorded for each id below its length given to add(), or null to record ids as given
 
 	public Kernel(){
-		// Empty Constructor
+		this(DEFAULT_K);
 	}
 
 	/**
-	 *	Add a value to the kernel
-	 *	@param	value: double value representing class labels
-	 *	@param	classLabel: class label associated with value
+	 *	Constructor with the number of examples to hold
+	 *	@param	k: number of nearest examples to hold (at least 1)
+	 */
+	public Kernel(int k) throws IllegalArgumentException{
+		this.setK(k);
+	}
+
+	/**
+	 *	Add a value to the kernel. Values added this way get ids in the order
+	 *	they are added, so ties go to the value added first.
+	 *	@param	value: distance between the unclassified example and a training example
+	 *	@param	label: class label associated with value
 	 */
 	public void add(Double value, Double label){
+		this.add(value, label, this.added);
+	}
 
-		// If the number of items in this.value and this.label is greater than 3
-		// remove the highest value and associated label and add the new one
-		if(this.value.size() >= 3){
-			Double highestValue = Collections.max(this.value);
-			Integer highestValueIndex = this.value.indexOf(highestValue);
-			Double highestValueLabel = this.label.get(highestValueIndex);
-
-			// Remove the values associated labels at the highestValueIndex
-			// Add the specified value associated label to this.value and this.label
-			if(highestValue > value){
-				this.value.remove((double) highestValue);
-				this.label.remove(highestValueLabel);
-				this.value.add(highestValueIndex, value);
-				this.label.add(highestValueIndex, label);
+	/**
+	 *	Add a training example to the kernel if there is room or it is nearer
+	 *	than the farthest example held
+	 *	@param	distance: distance between the unclassified example and the training example
+	 *	@param	label: class label of the training example
+	 *	@param	id: id of the training example (e.g., its position in the training set)
+	 */
+	public void add(double distance, double label, int id){
+		this.added++;
+
+		if(this.positions != null && id < this.positions.length){
+			id = this.positions[id];
+		}
+
+		if(this.count < this.k){
+			int i = this.count++;
+
+			// Sift the new example up past nearer parents
+			while(i > 0 && this.isAfter(distance, id, (i - 1) / 2)){
+				this.move((i - 1) / 2, i);
+				i = (i - 1) / 2;
 			}
+			this.set(i, distance, label, id);
 
-		} else {
+		} else if(this.isBefore(distance, id, 0)){
+			int i = 0;
 
-			// Add the specified value associated label to this.value and this.label
-			this.value.add(value);
-			this.label.add(label);
+			// Replace the farthest example and sift the new example down past farther children
+			while(2 * i + 1 < this.count){
+				int child = 2 * i + 1;
+
+				if(child + 1 < this.count && this.isBefore(this.distances[child], this.ids[child], child + 1)){
+					child++;
+				}
+				if(!this.isBefore(distance, id, child)){
+					break;
+				}
+				this.move(child, i);
+				i = child;
+			}
+			this.set(i, distance, label, id);
+		}
+	}
+
+	// True if (distance, id) is nearer than the example at heap index i
+	private boolean isBefore(double distance, int id, int i){
+		return distance < this.distances[i] || (distance == this.distances[i] && id < this.ids[i]);
+	}
+
+	// True if (distance, id) is farther than the example at heap index i
+	private boolean isAfter(double distance, int id, int i){
+		return distance > this.distances[i] || (distance == this.distances[i] && id > this.ids[i]);
+	}
+
+	// Move the example at heap index from to heap index to
+	private void move(int from, int to){
+		this.set(to, this.distances[from], this.labels[from], this.ids[from]);
+	}
+
+	// Put an example at heap index i
+	private void set(int i, double distance, double label, int id){
+		this.distances[i] = distance;
+		this.labels[i]	  = label;
+		this.ids[i]		  = id;
+	}
+
+	/**
+	 *	Set the ids add() records in place of the ids it is given: an id below
+	 *	positions.length is recorded as positions[id] and any other as itself.
+	 *	The map is kept by clear() and setK().
+	 *	@param	positions: id to record for each id given, or null to record ids as given
+	 */
+	public void setPositions(int[] positions){
+		this.positions = positions;
+	}
+
+	/**
+	 *	Get the ids add() records in place of the ids it is given
+	 *	@return	map of ids, or null if ids are recorded as given
+	 */
+	public int[] getPositions(){
+		return this.positions;
+	}
+
+	/**
+	 *	Empty the kernel so it can be used for another unclassified example
+	 */
+	public void clear(){
+		this.count = 0;
+		this.added = 0;
+	}
+
+	/**
+	 *	Get the number of examples held
+	 *	@return	number of examples, at most k
+	 */
+	public int size(){
+		return this.count;
+	}
+
+	/**
+	 *	Get the number of examples the kernel holds when full
+	 *	@return	k
+	 */
+	public int getK(){
+		return this.k;
+	}
+
+	/**
+	 *	Set the number of examples to hold and empty the kernel
+	 *	@param	k: number of nearest examples to hold (at least 1)
+	 */
+	public void setK(int k) throws IllegalArgumentException{
+		if(k < 1){
+			throw new IllegalArgumentException("In setK() method, k must be at least 1.");
+		}
+
+		if(this.distances == null || this.distances.length < k){
+			this.distances = new double[k];
+			this.labels	   = new double[k];
+			this.ids	   = new int[k];
+		}
+		this.k = k;
+		this.clear();
+	}
+
+	/**
+	 *	Check if the kernel holds k examples
+	 *	@return	true if full
+	 */
+	public boolean isFull(){
+		return this.count == this.k;
+	}
+
+	/**
+	 *	Get the distance of the farthest example held once the kernel is full.
+	 *	A training example farther than this can not be kept, so a search may
+	 *	skip anything it knows to be farther.
+	 *	@return	largest distance held, or POSITIVE_INFINITY if the kernel is not full
+	 */
+	public double worstDistance(){
+		return (this.count == this.k) ? this.distances[0] : Double.POSITIVE_INFINITY;
+	}
+
+	/**
+	 *	Get the ids of the examples held
+	 *	@return	ids, nearest first
+	 */
+	public int[] getIds(){
+		this.order();
+
+		int[] ids = new int[this.count];
+
+		for(int i = 0; i < this.count; i++){
+			ids[i] = this.ids[this.count - 1 - i];
+		}
+		return ids;
+	}
+
+	/**
+	 *	Get the distances of the examples held
+	 *	@return	distances, nearest first, parallel to getIds()
+	 */
+	public double[] getDistances(){
+		this.order();
+
+		double[] distances = new double[this.count];
+
+		for(int i = 0; i < this.count; i++){
+			distances[i] = this.distances[this.count - 1 - i];
+		}
+		return distances;
+	}
+
+	/**
+	 *	Sort the examples held from farthest to nearest by (distance, id). A
+	 *	sorted array is still a valid max-heap, so adding may go on afterwards.
+	 *	Sorting makes votes add up in the same order however the examples were added.
+	 */
+	private void order(){
+		for(int i = 1; i < this.count; i++){
+			double distance = this.distances[i];
+			double label	= this.labels[i];
+			int	   id		= this.ids[i];
+			int	   j		= i;
+
+			while(j > 0 && this.isAfter(distance, id, j - 1)){
+				this.move(j - 1, j);
+				j--;
+			}
+			this.set(j, distance, label, id);
 		}
 	}
 
 	/**
 	 *	Get the majority class label in this kernel
-	 *	@return	majorityValue: double representing class label
-	 */
-	public Double getMajorityLabel(){
-
-		Double countLabel1 = (double) Collections.frequency(this.label, this.label.get(0));
-		Double countLabel2 = (double) Collections.frequency(this.label, this.label.get(1));
-		
-		// Return first label if its count is 2/3
-		if(countLabel1.equals(2.0)){
-			return this.label.get(0);
-
-		// Return second label if its count is 2/3
-		} else if(countLabel2.equals(2.0)){
-			return this.label.get(1);
-
-		// Else return label with lowest associated distance value
-		} else {
-			Double lowestValue = Collections.min(this.value);
-			Integer lowestValueIndex = this.value.indexOf(lowestValue);
-			return this.label.get(lowestValueIndex);
+	 *	@return	class label with the most examples; ties go to the label of the nearest example
+	 */
+	public Double getMajorityLabel() throws NoSuchElementException{
+		return this.getLabel(UNWEIGHTED);
+	}
+
+	/**
+	 *	Get the class label with the most distance-weighted votes in this kernel
+	 *	@return	class label with the largest sum of 1 / distance; ties go to the label of the nearest example
+	 */
+	public Double getWeightedLabel() throws NoSuchElementException{
+		return this.getLabel(WEIGHTED);
+	}
+
+	/**
+	 *	Get the class label chosen by vote
+	 *	@param	voting: UNWEIGHTED or WEIGHTED
+	 *	@return	class label with the most votes; ties go to the label of the nearest example
+	 */
+	public Double getLabel(int voting) throws NoSuchElementException{
+		if(this.count == 0){
+			throw new NoSuchElementException("In getLabel() method, the Kernel is empty.");
+		}
+
+		// With weighted voting, examples at distance 0.0 outvote all others; count only them if there are any
+		boolean exact = false;
+
+		if(voting == WEIGHTED){
+			for(int i = 0; i < this.count; i++){
+				exact |= (this.distances[i] == 0.0);
+			}
+		}
+
+		this.order();
+
+		int	   best		 = -1;	// index of the nearest example with the winning label
+		double bestVotes = 0.0;
+
+		// Loop through the examples from nearest to farthest and count the votes of each label at its nearest example
+		for(int i = this.count - 1; i >= 0; i--){
+			boolean counted = false;
+
+			for(int j = this.count - 1; j > i && !counted; j--){
+				counted = (this.labels[j] == this.labels[i]);
+			}
+			if(counted){
+				continue;
+			}
+
+			double votes = 0.0;
+
+			for(int j = i; j >= 0; j--){
+				if(this.labels[j] == this.labels[i]){
+					votes += this.vote(j, voting, exact);
+				}
+			}
+
+			// A tie goes to the label found first, i.e. the one with the nearer example
+			if(best < 0 || votes > bestVotes){
+				best	  = i;
+				bestVotes = votes;
+			}
 		}
+		return this.labels[best];
+	}
+
+	// Get the vote of the example at index i
+	private double vote(int i, int voting, boolean exact){
+		if(voting != WEIGHTED){
+			return 1.0;
+		} else if(exact){
+			return (this.distances[i] == 0.0) ? 1.0 : 0.0;
+		}
+		return 1.0 / this.distances[i];
 	}
 
 	public static void main(String[] args){
@@ -91,14 +367,19 @@ public class Kernel{
 		kernel.add(3.0, 5.0);
 		kernel.add(1.0, 7.0);
 		System.out.println(kernel.getMajorityLabel());
-		System.out.println(kernel.value);
-		System.out.println(kernel.label);
+		System.out.println(Arrays.toString(kernel.getIds()));
 		kernel.add(0.3, 9.0);
 		kernel.add(0.4, 11.0);
 		kernel.add(0.5, 13.0);
 		kernel.add(0.6, 15.0);
 		System.out.println(kernel.getMajorityLabel());
-		System.out.println(kernel.value);
-		System.out.println(kernel.label);
+		System.out.println(Arrays.toString(kernel.getIds()));
+
+		kernel.setK(5);
+		kernel.add(0.1, 1.0, 0);
+		kernel.add(0.9, 2.0, 1);
+		kernel.add(0.8, 2.0, 2);
+		kernel.add(0.7, 2.0, 3);
+		System.out.println(kernel.getMajorityLabel() + " " + kernel.getWeightedLabel());
+	}
 }
-	}
\ No newline at end of file
@@ -0,0 +1,470 @@
+/**
+ *	LSHIndex (locality-sensitive hashing) is an approximate NeighbourIndex for
+ *	high-dimensional data, where a KDTree or VPTree ends up visiting nearly
+ *	every example. Each of the index's tables hashes every training example
+ *	into a bucket with a key made of several hash functions, chosen so that
+ *	near examples share buckets far more often than distant ones. A query
+ *	only measures the examples in its own bucket of each table (and a few
+ *	neighbouring buckets, see probes), so it may miss some of the true
+ *	nearest examples; IBk.getRecall() reports how many it finds.
+ *
+ *	The hash functions depend on the metric:
+ *		Distance.EUCLIDEAN:	random projections onto Gaussian directions, h(v) = floor((a.v + b) / width)
+ *		Distance.MANHATTAN:	the same with Cauchy directions (1-stable, as Gaussian is 2-stable)
+ *		Distance.HAMMING:	bit sampling, h(v) = value of a randomly chosen attribute
+ *	More hashes per table make buckets smaller and queries faster but miss
+ *	more neighbours; more tables and probes find more neighbours at the cost
+ *	of more distance calculations. Probes only apply to the projections: for
+ *	each table, the query also visits the buckets across the probes nearest
+ *	bucket boundaries (multi-probe LSH).
+ *
+ *	If width is not set (0.0), build() sets it to WIDTH_FACTOR times the
+ *	median distance from each of WIDTH_SAMPLE sampled training examples to
+ *	its nearest among WIDTH_SEARCH other sampled examples (duplicates aside). If a query's buckets hold fewer than k
+ *	examples, search() measures the rest of the training set so that the
+ *	Kernel is always filled. Once built, an LSHIndex may be searched from
+ *	several threads at once.
+ *
+ *	@author		Glenn Abastillas
+ *	@version	1.0.0
+ *	@since		October 18, 2026
+ *
+ *	LSHIndex implements the following methods:
+ *		void build(ExampleSet, Metric):	hash the training examples into the tables
+ *		void search(Example, Kernel):	add the nearest training examples in the query's buckets to a kernel
+ *		int size():						get the number of indexed examples
+ *		int getTables():				get the number of hash tables
+ *		int getHashes():				get the number of hash functions per table
+ *		int getProbes():				get the number of extra buckets visited per table
+ *		double getWidth():				get the bucket width used for projections
+ *
+ *	LSHIndex is used by the following classes: IBk
+ */
+package edu.classifier.ml;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Random;
+
+import edu.classifier.dataset.Example;
+import edu.classifier.dataset.ExampleSet;
+import edu.classifier.dataset.SparseExample;
+
+public class LSHIndex implements NeighbourIndex{
+
+	public static final int	   DEFAULT_TABLES = 10;
+	public static final int	   DEFAULT_HASHES = 8;
+	public static final int	   DEFAULT_PROBES = 4;
+	public static final int	   WIDTH_SAMPLE	  = 256;	// training examples sampled to choose the width
+	public static final int	   WIDTH_SEARCH	  = 8192;	// training examples each sampled example looks for its nearest in
+	public static final double WIDTH_FACTOR	  = 2.0;	// width as a multiple of the sampled nearest-neighbour distance
+
+	// Families of hash functions
+	private static final int GAUSSIAN = 0;	// random projections for Euclidean distance
+	private static final int CAUCHY	  = 1;	// random projections for Manhattan distance
+	private static final int SAMPLING = 2;	// bit sampling for Hamming distance
+
+	private int		   tables;
+	private int		   hashes;
+	private int		   probes;
+	private double	   width;				// bucket width as set, or 0.0 to choose one in build()
+	private long	   seed;
+	private double	   bucketWidth = 0.0;	// bucket width used by the current tables
+
+	private ExampleSet trainSet	  = new ExampleSet();
+	private Metric	   metric	  = Distance.EUCLIDEAN;
+	private int		   family	  = GAUSSIAN;
+	private int		   dimension  = 0;
+	private int		   size		  = 0;
+	private double[]   labels	  = new double[0];	// class label of each example, in training set order
+	private double[]   directions = new double[0];	// projection directions, dimension values per hash function, tables * hashes of them
+	private double[]   offsets	  = new double[0];	// offset b of each hash function, in [0, bucketWidth)
+	private int[]	   attributes = new int[0];		// sampled attribute of each hash function (bit sampling)
+	private ArrayList<HashMap<Long, int[]>> buckets = new ArrayList<>();	// training positions in each bucket, one map per table
+
+	private ThreadLocal<Scratch> scratch = ThreadLocal.withInitial(Scratch::new);	// each thread's working space for search()
+
+	public LSHIndex(){
+		this(DEFAULT_TABLES, DEFAULT_HASHES, DEFAULT_PROBES);
+	}
+
+	/**
+	 *	Constructor with the number of tables, hash functions and probes
+	 *	@param	tables: number of hash tables (at least 1)
+	 *	@param	hashes: number of hash functions making up a key (at least 1)
+	 *	@param	probes: number of extra buckets visited per table (0 or more)
+	 */
+	public LSHIndex(int tables, int hashes, int probes) throws IllegalArgumentException{
+		this(tables, hashes, probes, 0.0, 7L);
+	}
+
+	/**
+	 *	Constructor with every setting
+	 *	@param	tables: number of hash tables (at least 1)
+	 *	@param	hashes: number of hash functions making up a key (at least 1)
+	 *	@param	probes: number of extra buckets visited per table (0 or more)
+	 *	@param	width: bucket width of the projections, or 0.0 to choose one in build()
+	 *	@param	seed: seed of the Random that draws the hash functions
+	 */
+	public LSHIndex(int tables, int hashes, int probes, double width, long seed) throws IllegalArgumentException{
+		if(tables < 1 || hashes < 1 || probes < 0 || !(width >= 0.0)){
+			throw new IllegalArgumentException("In LSHIndex() constructor, tables and hashes must be at least 1, probes and width at least 0.");
+		}
+		this.tables = tables;
+		this.hashes = hashes;
+		this.probes = probes;
+		this.width	= width;
+		this.seed	= seed;
+	}
+
+	/**
+	 *	Hash the training examples into the tables
+	 *	@param	trainSet: ExampleSet object with training examples
+	 *	@param	metric: Distance.EUCLIDEAN, Distance.MANHATTAN or Distance.HAMMING
+	 */
+	@Override
+	public void build(ExampleSet trainSet, Metric metric) throws IllegalArgumentException{
+		if(metric == Distance.EUCLIDEAN){
+			this.family = GAUSSIAN;
+		} else if(metric == Distance.MANHATTAN){
+			this.family = CAUCHY;
+		} else if(metric == Distance.HAMMING){
+			this.family = SAMPLING;
+		} else {
+			throw new IllegalArgumentException("In build() method, an LSHIndex only supports Distance.EUCLIDEAN, Distance.MANHATTAN and Distance.HAMMING.");
+		}
+
+		this.trainSet  = trainSet;
+		this.metric	   = metric;
+		this.size	   = trainSet.size();
+		this.dimension = (this.size == 0) ? 0 : trainSet.get(0).dimension();
+		this.labels	   = new double[this.size];
+
+		for(int i = 0; i < this.size; i++){
+			this.labels[i] = trainSet.get(i).getLabel();
+		}
+
+		Random randomNumberGenerator = new Random(this.seed);
+		int	   functions			 = this.tables * this.hashes;
+
+		this.bucketWidth = (this.width > 0.0) ? this.width : this.chooseWidth(randomNumberGenerator);
+		this.directions	 = new double[(this.family == SAMPLING) ? 0 : functions * this.dimension];
+		this.offsets	 = new double[functions];
+		this.attributes	 = new int[functions];
+
+		// Draw the hash functions
+		for(int f = 0; f < functions; f++){
+			if(this.family == SAMPLING){
+				this.attributes[f] = (this.dimension == 0) ? 0 : randomNumberGenerator.nextInt(this.dimension);
+				continue;
+			}
+			for(int j = 0; j < this.dimension; j++){
+				this.directions[f * this.dimension + j] = (this.family == GAUSSIAN)
+					? randomNumberGenerator.nextGaussian()
+					: Math.tan(Math.PI * (randomNumberGenerator.nextDouble() - 0.5));
+			}
+			this.offsets[f] = randomNumberGenerator.nextDouble() * this.bucketWidth;
+		}
+
+		// Put every training example into its bucket of each table
+		this.buckets = new ArrayList<>(this.tables);
+		double[] coordinates = new double[this.hashes];
+		double[] values		 = new double[this.dimension];
+
+		for(int t = 0; t < this.tables; t++){
+			HashMap<Long, int[]> table = new HashMap<>();
+
+			for(int i = 0; i < this.size; i++){
+				this.project(trainSet.get(i), values, t, coordinates);
+
+				// The first entry of a bucket is its number of examples; the array doubles when full
+				long  key	 = this.key(coordinates);
+				int[] bucket = table.get(key);
+
+				if(bucket == null){
+					bucket = new int[4];
+					table.put(key, bucket);
+				} else if(bucket[0] + 1 == bucket.length){
+					bucket = Arrays.copyOf(bucket, 2 * bucket.length);
+					table.put(key, bucket);
+				}
+				bucket[++bucket[0]] = i;
+			}
+
+			// Trim each bucket to its examples
+			table.replaceAll((key, bucket) -> Arrays.copyOfRange(bucket, 1, bucket[0] + 1));
+			this.buckets.add(table);
+		}
+	}
+
+	/**
+	 *	Choose the bucket width from the distances between sampled training examples
+	 *	@param	randomNumberGenerator: seeded Random that picks the sample
+	 *	@return	WIDTH_FACTOR times the median non-zero nearest-neighbour distance in the sample, or 1.0 if there is none
+	 */
+	private double chooseWidth(Random randomNumberGenerator){
+		if(this.family == SAMPLING || this.size < 2){
+			return 1.0;
+		}
+
+		int		 count	  = Math.min(this.size, WIDTH_SAMPLE);
+		int		 searched = Math.min(this.size, WIDTH_SEARCH);
+		int[]	 sample	  = new int[searched];
+		double[] nearest  = new double[count];
+
+		for(int i = 0; i < searched; i++){
+			sample[i] = randomNumberGenerator.nextInt(this.size);
+		}
+
+		for(int i = 0; i < count; i++){
+			nearest[i] = Double.POSITIVE_INFINITY;
+
+			for(int j = 0; j < searched; j++){
+				if(sample[i] != sample[j]){
+					nearest[i] = Math.min(nearest[i], this.metric.distance(this.trainSet.get(sample[i]), this.trainSet.get(sample[j])));
+				}
+			}
+		}
+
+		// Duplicate examples are at distance 0; take the median of the others
+		Arrays.sort(nearest);
+		int zeros = 0;
+
+		while(zeros < count && nearest[zeros] == 0.0){
+			zeros++;
+		}
+
+		double median = (zeros < count) ? nearest[(zeros + count) / 2] : 0.0;
+		return (median > 0.0 && median < Double.POSITIVE_INFINITY) ? WIDTH_FACTOR * median : 1.0;
+	}
+
+	/**
+	 *	Compute the hash coordinates of an example in one table. For the
+	 *	projections, the bucket of hash j is floor(coordinates[j]); for bit
+	 *	sampling, it is the sampled value itself.
+	 *	@param	example: Example object to hash
+	 *	@param	values: scratch array of dimension values
+	 *	@param	table: table to hash for
+	 *	@param	coordinates: array to put the hashes' coordinates in
+	 */
+	private void project(Example example, double[] values, int table, double[] coordinates){
+		int first = table * this.hashes;
+
+		if(this.family == SAMPLING){
+			for(int j = 0; j < this.hashes; j++){
+				coordinates[j] = example.valueAt(this.attributes[first + j]);
+			}
+			return;
+		}
+
+		// A sparse example only multiplies its non-zero values
+		if(example instanceof SparseExample){
+			SparseExample sparse = (SparseExample) example;
+
+			for(int j = 0; j < this.hashes; j++){
+				int	   offset = (first + j) * this.dimension;
+				double dot	  = 0.0;
+
+				for(int k = 0; k < sparse.nonZeroCount(); k++){
+					dot += this.directions[offset + sparse.indexAt(k)] * sparse.nonZeroAt(k);
+				}
+				coordinates[j] = (dot + this.offsets[first + j]) / this.bucketWidth;
+			}
+			return;
+		}
+
+		example.copyInto(values);
+
+		for(int j = 0; j < this.hashes; j++){
+			int	   offset = (first + j) * this.dimension;
+			double dot	  = 0.0;
+
+			for(int k = 0; k < this.dimension; k++){
+				dot += this.directions[offset + k] * values[k];
+			}
+			coordinates[j] = (dot + this.offsets[first + j]) / this.bucketWidth;
+		}
+	}
+
+	/**
+	 *	Get the key of the bucket with the given coordinates
+	 *	@param	coordinates: hash coordinates (see project())
+	 *	@return	key combining the bucket of every hash function
+	 */
+	private long key(double[] coordinates){
+		long key = 0L;
+
+		for(int j = 0; j < this.hashes; j++){
+			long bucket = (this.family == SAMPLING) ? Double.doubleToLongBits(coordinates[j]) : (long) Math.floor(coordinates[j]);
+			key = (key + bucket) * 0x9E3779B97F4A7C15L;
+			key ^= (key >>> 29);
+		}
+		return key;
+	}
+
+	/**
+	 *	Add the nearest training examples in the query's buckets to a kernel
+	 *	@param	query: Example object to find neighbours of
+	 *	@param	kernel: Kernel to add the examples to, with their positions as ids
+	 */
+	@Override
+	public void search(Example query, Kernel kernel){
+		Scratch scratch = this.scratch.get();
+		scratch.prepare(this.size, this.dimension, this.hashes);
+
+		for(int t = 0; t < this.tables; t++){
+			this.project(query, scratch.values, t, scratch.coordinates);
+			this.visit(t, this.key(scratch.coordinates), query, kernel, scratch);
+
+			if(this.family != SAMPLING){
+				this.probe(t, query, kernel, scratch);
+			}
+		}
+
+		// Too few examples shared a bucket with the query: measure the others so the kernel is full
+		if(kernel.size() < kernel.getK()){
+			for(int i = 0; i < this.size; i++){
+				if(scratch.marks[i] != scratch.stamp){
+					kernel.add(this.metric.distance(query, this.trainSet.get(i)), this.labels[i], i);
+				}
+			}
+		}
+	}
+
+	/**
+	 *	Visit the buckets across the nearest bucket boundaries of one table. A
+	 *	coordinate with fractional part f is f from the boundary below and
+	 *	1 - f from the boundary above; each probe moves one coordinate across
+	 *	the nearest boundary not yet crossed.
+	 *	@param	table: table being searched
+	 *	@param	query: Example object to find neighbours of
+	 *	@param	kernel: nearest examples found so far
+	 *	@param	scratch: this thread's working space, holding the query's coordinates
+	 */
+	private void probe(int table, Example query, Kernel kernel, Scratch scratch){
+		double[] coordinates = scratch.coordinates;
+		double[] costs		 = scratch.costs;
+		int		 moves		 = Math.min(this.probes, 2 * this.hashes);
+
+		for(int j = 0; j < this.hashes; j++){
+			double fraction = coordinates[j] - Math.floor(coordinates[j]);
+			costs[2 * j]	 = fraction;
+			costs[2 * j + 1] = 1.0 - fraction;
+		}
+
+		for(int p = 0; p < moves; p++){
+			int best = 0;
+
+			for(int m = 1; m < 2 * this.hashes; m++){
+				if(costs[m] < costs[best]){
+					best = m;
+				}
+			}
+			costs[best] = Double.POSITIVE_INFINITY;
+
+			// Move one coordinate into the next bucket down (even) or up (odd), then put it back
+			int	   j	  = best / 2;
+			double saved  = coordinates[j];
+			coordinates[j] = Math.floor(saved) + ((best % 2 == 0) ? -0.5 : 1.5);
+
+			this.visit(table, this.key(coordinates), query, kernel, scratch);
+			coordinates[j] = saved;
+		}
+	}
+
+	/**
+	 *	Add the examples of one bucket that this query has not measured yet to a kernel
+	 *	@param	table: table holding the bucket
+	 *	@param	key: key of the bucket
+	 *	@param	query: Example object to find neighbours of
+	 *	@param	kernel: nearest examples found so far
+	 *	@param	scratch: this thread's working space, marking the examples measured
+	 */
+	private void visit(int table, long key, Example query, Kernel kernel, Scratch scratch){
+		int[] bucket = this.buckets.get(table).get(key);
+
+		if(bucket == null){
+			return;
+		}
+
+		for(int i : bucket){
+			if(scratch.marks[i] != scratch.stamp){
+				scratch.marks[i] = scratch.stamp;
+				kernel.add(this.metric.distance(query, this.trainSet.get(i)), this.labels[i], i);
+			}
+		}
+	}
+
+	/**
+	 *	Get the number of indexed examples
+	 *	@return	number of examples
+	 */
+	public int size(){
+		return this.size;
+	}
+
+	/**
+	 *	Get the number of hash tables
+	 *	@return	tables
+	 */
+	public int getTables(){
+		return this.tables;
+	}
+
+	/**
+	 *	Get the number of hash functions making up a key
+	 *	@return	hashes per table
+	 */
+	public int getHashes(){
+		return this.hashes;
+	}
+
+	/**
+	 *	Get the number of extra buckets visited per table
+	 *	@return	probes
+	 */
+	public int getProbes(){
+		return this.probes;
+	}
+
+	/**
+	 *	Get the bucket width used for projections
+	 *	@return	width set in the constructor, or the one chosen in build()
+	 */
+	public double getWidth(){
+		return this.bucketWidth;
+	}
+
+	/**
+	 *	Scratch holds one thread's working space for search(): the query's
+	 *	values and coordinates, and a mark per training example so that an
+	 *	example found in several buckets is measured once.
+	 */
+	private static class Scratch{
+		double[] values		 = new double[0];
+		double[] coordinates = new double[0];
+		double[] costs		 = new double[0];
+		int[]	 marks		 = new int[0];
+		int		 stamp		 = 0;	// marks equal to stamp were measured for the current query
+
+		// Size the arrays for an index and start a new query
+		void prepare(int size, int dimension, int hashes){
+			if(this.marks.length != size){
+				this.marks = new int[size];
+				this.stamp = 0;
+			}
+			if(this.values.length != dimension){
+				this.values = new double[dimension];
+			}
+			if(this.coordinates.length != hashes){
+				this.coordinates = new double[hashes];
+				this.costs		 = new double[2 * hashes];
+			}
+			if(++this.stamp == 0){
+				Arrays.fill(this.marks, 0);
+				this.stamp = 1;
+			}
+		}
+	}
+}
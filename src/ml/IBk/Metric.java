@@ -0,0 +1,26 @@
+/**
+ *	This interface sets the required method for a distance metric between two
+ *	examples. The metrics in the Distance class are available as the constants
+ *	Distance.EUCLIDEAN, Distance.MANHATTAN, Distance.CHEBYSHEV and
+ *	Distance.HAMMING. A metric used with a VPTree must satisfy the triangle
+ *	inequality, as all four of those do.
+ *
+ *	@author		Glenn Abastillas
+ *	@version	1.0.0
+ *	@since		October 18, 2026
+ *
+ *	Metric requires the following methods:
+ *		double distance(Example, Example):	get the distance between two examples
+ *
+ *	Metric is used by the following classes: IBk, KDTree, VPTree
+ */
+package edu.classifier.ml;
+
+import edu.classifier.dataset.Example;
+
+@FunctionalInterface
+public interface Metric{
+
+	public double distance(Example vector1, Example vector2);
+
+}
@@ -0,0 +1,70 @@
+/**
+ *	This interface sets the required methods for a nearest neighbour index
+ *	used by the IBk classifier. An index is built once over the training
+ *	ExampleSet for a Metric and then answers k-nearest neighbour queries under
+ *	that metric without computing the distance from the query to every training
+ *	example. An index adds training examples to a Kernel with their positions
+ *	in the training set as ids, and the Kernel keeps the k nearest, giving ties
+ *	in distance to the example earlier in the training set. An exact index
+ *	(KDTree, VPTree, InvertedIndex) must find the same neighbours as a full
+ *	scan and may only skip examples it knows to be farther than the Kernel's
+ *	worstDistance(); an approximate index (LSHIndex, or a QuantizedIndex,
+ *	which measures compressed codes and may rerank its best candidates
+ *	exactly) may miss some, and IBk.getRecall() measures how many. An index
+ *	that does not support a metric throws an IllegalArgumentException from
+ *	build().
+ *
+ *	IBk.add() hands a new example to append(), which appends it to the
+ *	training set the index was built over and then calls add() to index it.
+ *	An index that can grow without being rebuilt (HNSWIndex, InvertedIndex)
+ *	overrides add(); by default add() returns false and IBk rebuilds the
+ *	index instead. An index searched while examples are added (HNSWIndex)
+ *	overrides append() to do both under its write lock, so a search never
+ *	reads the training set while it grows.
+ *
+ *	search() with a deadline (a System.nanoTime() value) stops once the
+ *	deadline has passed and returns false, leaving the nearest examples found
+ *	so far in the kernel; IBk uses it for classify() under a deadline. An
+ *	index that visits the nearest examples first (KDTree, VPTree) overrides
+ *	it; by default the search runs to the end and returns true.
+ *
+ *	@author		Glenn Abastillas
+ *	@version	1.0.0
+ *	@since		October 18, 2026
+ *
+ *	NeighbourIndex requires the following methods:
+ *		void build(ExampleSet, Metric):	index the training examples for a metric
+ *		void search(Example, Kernel):	add the kernel's k nearest training examples to it
+ *		boolean search(Example, Kernel, long):	search until a deadline; false if it passed first
+ *		boolean add(Example):			index the example last appended to the training set, if supported
+ *		boolean append(ExampleSet, Example):	append an example to the training set and index it, if supported
+ *
+ *	NeighbourIndex is implemented by the following classes: KDTree, VPTree, LSHIndex, QuantizedIndex, HNSWIndex, InvertedIndex
+ */
+package edu.classifier.ml;
+
+import edu.classifier.dataset.Example;
+import edu.classifier.dataset.ExampleSet;
+
+public interface NeighbourIndex{
+
+	public void build(ExampleSet trainSet, Metric metric) throws IllegalArgumentException;
+
+	public void search(Example query, Kernel kernel);
+
+	public default boolean search(Example query, Kernel kernel, long deadline){
+		this.search(query, kernel);
+		return true;
+	}
+
+	public default boolean add(Example example){
+		return false;
+	}
+
+	public default boolean append(ExampleSet trainSet, Example example){
+		int size = trainSet.size();
+		trainSet.add(example);
+		return trainSet.size() == size || this.add(trainSet.get(size));
+	}
+
+}
@@ -0,0 +1,525 @@
+/**
+ *	NeighbourTable holds the distances between the examples of an ExampleSet,
+ *	or each example's nearest neighbours, so that IBk can be evaluated
+ *	by leave-one-out or cross validation for many values of k after a single
+ *	pass of distance calculations. Tuning k over 1 to 50 costs one pass, not
+ *	fifty, and every fold reads the same table.
+ *
+ *	When the symmetric distance matrix fits in MATRIX_BYTES the table is
+ *	full: every distance is computed once per pair (n (n - 1) / 2 distances)
+ *	and an example's nearest neighbours in a fold's training set are picked
+ *	from its row of the matrix. Otherwise each row holds only the depth
+ *	nearest examples, sorted, found by a scan of the whole set. A fold's
+ *	training set leaves out some of a row's neighbours; if fewer than k of the
+ *	neighbours held are in the training set, that row is scanned again, so
+ *	the labels are always those a full scan would give.
+ *
+ *	Neighbours are ordered by (distance, position) and their votes are added
+ *	up nearest first, one k at a time, the way a Kernel counts them, so the
+ *	labels are the same as an IBk trained on the fold's training set with the
+ *	same metric, k, and voting gives. Rows are computed and folds
+ *	are classified on several threads.
+ *
+ *	@author		Glenn Abastillas
+ *	@version	1.0.0
+ *	@since		October 18, 2026
+ *
+ *	NeighbourTable implements the following methods:
+ *		double[] leaveOneOut(int, int):							get the leave-one-out accuracy for k = 1 to a largest k
+ *		double[] crossValidate(ArrayList<ArrayList<ExampleSet>>, int, int):	get the cross validation accuracy for k = 1 to a largest k
+ *		static int getBestK(double[]):							get the k with the highest accuracy
+ *		int size():												get the number of examples in the table
+ *		int getDepth():											get the number of neighbours held per example
+ *		boolean isFull():										check if the table holds the whole distance matrix
+ *		int getRescans():										get the number of rows scanned again because a fold left out too many neighbours
+ *
+ *	NeighbourTable is used to tune IBk; it does not depend on an IBk object.
+ */
+package edu.classifier.ml;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+
+import edu.classifier.dataset.Example;
+import edu.classifier.dataset.ExampleSet;
+import edu.classifier.dataset.ExampleSetView;
+
+public class NeighbourTable{
+
+	public static final long MATRIX_BYTES  = 256L * 1024 * 1024;	// largest distance matrix held
+	public static final int	 DEFAULT_DEPTH = 128;					// neighbours held per row when the table is not full
+
+	private ExampleSet examples;
+	private Metric	   metric;
+	private int		   threads;
+	private int		   size;
+	private int		   depth;		// neighbours held per row
+	private double[]   matrix;		// distance between examples i and j at i * size + j, if the table is full
+	private int[]	   ids;			// depth positions per row, nearest first, if the table is not full
+	private double[]   distances;	// distances parallel to ids
+	private double[]   labels;		// class label of each example
+	private int[]	   codes;		// code of each example's class label, from 0 to classes - 1
+	private int		   classes;		// number of class labels
+	private AtomicInteger rescans = new AtomicInteger();
+
+	/**
+	 *	Constructor computing a full table if the matrix fits in MATRIX_BYTES and
+	 *	DEFAULT_DEPTH neighbours per row otherwise
+	 *	@param	examples: ExampleSet object with labelled examples
+	 *	@param	metric: Metric object to measure distances with
+	 */
+	public NeighbourTable(ExampleSet examples, Metric metric){
+		this(examples, metric, 0, Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 *	Constructor with every setting
+	 *	@param	examples: ExampleSet object with labelled examples
+	 *	@param	metric: Metric object to measure distances with
+	 *	@param	depth: neighbours held per row, size - 1 or more for a full table (only if the matrix fits in MATRIX_BYTES), or 0 for a full table if the matrix fits and DEFAULT_DEPTH otherwise
+	 *	@param	threads: number of worker threads (at least 1)
+	 */
+	public NeighbourTable(ExampleSet examples, Metric metric, int depth, int threads) throws IllegalArgumentException{
+		if(depth < 0 || threads < 1){
+			throw new IllegalArgumentException("In NeighbourTable() constructor, depth must not be negative and threads must be at least 1.");
+		}
+
+		this.examples = examples;
+		this.metric	  = metric;
+		this.threads  = threads;
+		this.size	  = examples.size();
+		this.labels	  = new double[this.size];
+
+		for(int i = 0; i < this.size; i++){
+			this.labels[i] = examples.get(i).getLabel();
+		}
+
+		if(depth == 0){
+			depth = (8L * this.size * this.size <= MATRIX_BYTES) ? this.size - 1 : DEFAULT_DEPTH;
+		}
+		this.depth = Math.max(0, Math.min(depth, this.size - 1));
+
+		// Sizes are checked as longs, so neither the arrays nor the indices into them (e.g., i * size + j) can overflow an int
+		long entries = (this.isFull()) ? (long) this.size * this.size : (long) this.size * this.depth;
+
+		if(this.isFull() && 8L * entries > MATRIX_BYTES){
+			throw new IllegalArgumentException("In NeighbourTable() constructor, a full table of " + this.size + " examples needs " + (8L * entries) + " bytes, more than MATRIX_BYTES; use a smaller depth.");
+		}
+		if(entries > Integer.MAX_VALUE - 8){
+			throw new IllegalArgumentException("In NeighbourTable() constructor, " + this.size + " examples with depth " + this.depth + " need more entries than an array holds; use a smaller depth.");
+		}
+
+		// Give each class label a code from 0, so vote() can tally labels in arrays
+		this.codes	 = new int[this.size];
+		HashMap<Double, Integer> labelCodes = new HashMap<>();
+
+		for(int i = 0; i < this.size; i++){
+			Integer code = labelCodes.get(this.labels[i]);
+
+			if(code == null){
+				code = labelCodes.size();
+				labelCodes.put(this.labels[i], code);
+			}
+			this.codes[i] = code;
+		}
+		this.classes = labelCodes.size();
+
+		if(this.isFull()){
+			this.matrix = new double[this.size * this.size];
+		} else {
+			this.ids	   = new int[this.size * this.depth];
+			this.distances = new double[this.size * this.depth];
+		}
+
+		ExecutorService pool = Executors.newFixedThreadPool(this.threads);
+
+		try{
+			if(this.isFull()){
+				this.fill(pool);
+			} else {
+				this.scan(pool);
+			}
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	/**
+	 *	Fill the symmetric distance matrix, computing each pair once
+	 *	@param	pool: ExecutorService to run on
+	 */
+	private void fill(ExecutorService pool){
+		int n = this.size;
+
+		// Row i measures the examples after it; rows are taken from both ends in turn so every range gets long and short rows
+		this.parallel(n, pool, r -> {
+			int	i = (r % 2 == 0) ? r / 2 : n - 1 - r / 2;
+			Example example = this.examples.get(i);
+
+			for(int j = i + 1; j < n; j++){
+				double distance = this.metric.distance(example, this.examples.get(j));
+				this.matrix[i * n + j] = distance;
+				this.matrix[j * n + i] = distance;
+			}
+		});
+	}
+
+	/**
+	 *	Fill each row with its depth nearest examples by a scan of the whole set
+	 *	@param	pool: ExecutorService to run on
+	 */
+	private void scan(ExecutorService pool){
+		if(this.depth == 0){
+			return;
+		}
+
+		this.parallel(this.size, pool, i -> {
+			Kernel kernel = this.nearest(i, null, this.depth);
+			int[]	 ids		= kernel.getIds();
+			double[] distances	= kernel.getDistances();
+
+			System.arraycopy(ids, 0, this.ids, i * this.depth, ids.length);
+			System.arraycopy(distances, 0, this.distances, i * this.depth, distances.length);
+		});
+	}
+
+	/**
+	 *	Find the nearest examples of one example by measuring every allowed example
+	 *	@param	row: position of the example
+	 *	@param	excluded: positions not allowed as neighbours, or null to allow all
+	 *	@param	k: number of neighbours to find
+	 *	@return	Kernel holding the neighbours, with positions as ids
+	 */
+	private Kernel nearest(int row, boolean[] excluded, int k){
+		Kernel	kernel	= new Kernel(k);
+		Example example = this.examples.get(row);
+
+		for(int j = 0; j < this.size; j++){
+			if(j != row && (excluded == null || !excluded[j])){
+				kernel.add(this.metric.distance(example, this.examples.get(j)), this.labels[j], j);
+			}
+		}
+		return kernel;
+	}
+
+	/**
+	 *	Get the leave-one-out accuracy: every example is classified by all the others
+	 *	@param	maxK: largest k to evaluate
+	 *	@param	voting: Kernel.UNWEIGHTED or Kernel.WEIGHTED
+	 *	@return	accuracy for k = 1 to maxK at index k - 1
+	 */
+	public double[] leaveOneOut(int maxK, int voting) throws IllegalArgumentException{
+		int[] all = new int[this.size];
+
+		for(int i = 0; i < this.size; i++){
+			all[i] = i;
+		}
+
+		long[] correct = this.evaluate(all, null, this.size - 1, maxK, voting);
+		return NeighbourTable.accuracies(correct, this.size);
+	}
+
+	/**
+	 *	Get the cross validation accuracy over folds of the table's ExampleSet
+	 *	(e.g., from DataSet.getFolds()); each test example is classified by its
+	 *	fold's training set
+	 *	@param	folds: list of folds, each a list containing a training and testing ExampleSetView of the table's ExampleSet
+	 *	@param	maxK: largest k to evaluate
+	 *	@param	voting: Kernel.UNWEIGHTED or Kernel.WEIGHTED
+	 *	@return	accuracy over every test example for k = 1 to maxK at index k - 1
+	 */
+	public double[] crossValidate(ArrayList<ArrayList<ExampleSet>> folds, int maxK, int voting) throws IllegalArgumentException{
+		long[] correct = new long[Math.max(0, maxK)];
+		long   tested  = 0;
+
+		for(ArrayList<ExampleSet> fold : folds){
+			int[] train = this.positions(fold.get(0));
+			int[] test	= this.positions(fold.get(1));
+			boolean[] excluded = new boolean[this.size];
+
+			Arrays.fill(excluded, true);
+			for(int position : train){
+				excluded[position] = false;
+			}
+
+			long[] foldCorrect = this.evaluate(test, excluded, train.length, maxK, voting);
+
+			for(int k = 0; k < correct.length; k++){
+				correct[k] += foldCorrect[k];
+			}
+			tested += test.length;
+		}
+
+		return NeighbourTable.accuracies(correct, tested);
+	}
+
+	/**
+	 *	Get the positions in the table's ExampleSet of the examples of a view
+	 *	@param	view: ExampleSetView of the table's ExampleSet
+	 *	@return	positions in the table's ExampleSet
+	 */
+	private int[] positions(ExampleSet view) throws IllegalArgumentException{
+		if(!(view instanceof ExampleSetView) || ((ExampleSetView) view).getParent() != this.examples){
+			throw new IllegalArgumentException("In crossValidate() method, every fold must be a view of the table's ExampleSet.");
+		}
+
+		int[] positions = new int[view.size()];
+
+		for(int i = 0; i < positions.length; i++){
+			positions[i] = ((ExampleSetView) view).getParentIndex(i);
+		}
+		return positions;
+	}
+
+	/**
+	 *	Count the test examples labelled correctly for every k from 1 to maxK
+	 *	@param	test: positions of the test examples
+	 *	@param	excluded: positions not in the training set, or null if every other example is
+	 *	@param	trainSize: number of training examples
+	 *	@param	maxK: largest k to evaluate
+	 *	@param	voting: Kernel.UNWEIGHTED or Kernel.WEIGHTED
+	 *	@return	number labelled correctly for k = 1 to maxK at index k - 1
+	 */
+	private long[] evaluate(int[] test, boolean[] excluded, int trainSize, int maxK, int voting) throws IllegalArgumentException{
+		if(maxK < 1){
+			throw new IllegalArgumentException("In evaluate() method, maxK must be at least 1.");
+		}
+
+		long[][] counts = new long[this.threads * 4][maxK];	// one row of counts per range, added up afterwards
+		int		 ranges = counts.length;
+
+		ExecutorService pool = Executors.newFixedThreadPool(this.threads);
+
+		try{
+			this.parallel(ranges, pool, range -> {
+				int lower = (int) ((long) test.length * range / ranges);
+				int upper = (int) ((long) test.length * (range + 1) / ranges);
+				double[] tally = new double[this.classes];
+				int[]	 first = new int[this.classes];
+
+				for(int t = lower; t < upper; t++){
+					this.vote(test[t], excluded, trainSize, tally, first, voting, counts[range]);
+				}
+			});
+		} finally {
+			pool.shutdownNow();
+		}
+
+		long[] correct = new long[maxK];
+
+		for(long[] count : counts){
+			for(int k = 0; k < maxK; k++){
+				correct[k] += count[k];
+			}
+		}
+		return correct;
+	}
+
+	/**
+	 *	Add one example's neighbours to a running tally of votes one at a time,
+	 *	nearest first, and count after each whether the leading label is the
+	 *	example's. Only the label of the added neighbour gains votes, so only it
+	 *	can take the lead and each k costs O(1). The votes are those of
+	 *	Kernel.getLabel(), summed in the same order, and a tie goes to the label
+	 *	whose nearest neighbour came first, so the label for each k is the one a
+	 *	Kernel holding the k nearest neighbours gives.
+	 *	@param	row: position of the example
+	 *	@param	excluded: positions not in the training set, or null if every other example is
+	 *	@param	trainSize: number of training examples
+	 *	@param	tally: votes of each label code (scratch, classes long)
+	 *	@param	first: neighbour at which each label code was first seen (scratch, classes long)
+	 *	@param	voting: Kernel.UNWEIGHTED or Kernel.WEIGHTED
+	 *	@param	correct: counts to add to, for k = 1 to maxK at index k - 1
+	 */
+	private void vote(int row, boolean[] excluded, int trainSize, double[] tally, int[] first, int voting, long[] correct){
+		int	maxK	  = correct.length;
+		int available = trainSize - ((excluded == null || excluded[row]) ? 0 : 1);	// neighbours the training set offers
+		int wanted	  = Math.min(maxK, available);
+
+		int[]	 ids;
+		double[] distances;
+
+		if(this.isFull()){
+			// Select the nearest allowed neighbours from the row of the matrix
+			Kernel nearest = new Kernel(Math.max(1, wanted));
+
+			for(int j = 0; j < this.size && wanted > 0; j++){
+				if(j != row && (excluded == null || !excluded[j])){
+					nearest.add(this.matrix[row * this.size + j], this.labels[j], j);
+				}
+			}
+			ids		  = nearest.getIds();
+			distances = nearest.getDistances();
+
+		} else {
+			// Take the allowed neighbours from the row
+			int[]	 rowIds		  = new int[wanted];
+			double[] rowDistances = new double[wanted];
+			int		 found		  = 0;
+
+			for(int r = 0; r < this.depth && found < wanted; r++){
+				int id = this.ids[row * this.depth + r];
+
+				if(excluded == null || !excluded[id]){
+					rowIds[found]		= id;
+					rowDistances[found] = this.distances[row * this.depth + r];
+					found++;
+				}
+			}
+
+			if(found < wanted){
+				// The row holds too few allowed neighbours; measure the training set again
+				this.rescans.incrementAndGet();
+				Kernel nearest = this.nearest(row, excluded, wanted);
+				ids		  = nearest.getIds();
+				distances = nearest.getDistances();
+			} else {
+				ids		  = rowIds;
+				distances = rowDistances;
+			}
+		}
+
+		Arrays.fill(tally, 0.0);
+		Arrays.fill(first, -1);
+
+		// With weighted voting, neighbours at distance 0.0 outvote all others; they come first, so the nearest decides
+		boolean exact  = (voting == Kernel.WEIGHTED && ids.length > 0 && distances[0] == 0.0);
+		int		leader = -1;	// label code with the most votes so far
+		int		answer = this.codes[row];
+
+		for(int k = 0; k < maxK; k++){
+			if(k < ids.length){
+				int code = this.codes[ids[k]];
+
+				if(first[code] < 0){
+					first[code] = k;
+				}
+
+				if(voting != Kernel.WEIGHTED){
+					tally[code] += 1.0;
+				} else if(exact){
+					tally[code] += (distances[k] == 0.0) ? 1.0 : 0.0;
+				} else {
+					tally[code] += 1.0 / distances[k];
+				}
+
+				if(leader < 0 || tally[code] > tally[leader] || (tally[code] == tally[leader] && first[code] < first[leader])){
+					leader = code;
+				}
+			}
+			if(leader == answer){
+				correct[k]++;
+			}
+		}
+	}
+
+	// Divide counts by a total
+	private static double[] accuracies(long[] correct, long total){
+		double[] accuracies = new double[correct.length];
+
+		for(int k = 0; k < correct.length; k++){
+			accuracies[k] = (total == 0) ? Double.NaN : (double) correct[k] / total;
+		}
+		return accuracies;
+	}
+
+	/**
+	 *	Get the k with the highest accuracy
+	 *	@param	accuracies: accuracy for k = 1 to maxK at index k - 1 (e.g., from leaveOneOut())
+	 *	@return	smallest k with the highest accuracy
+	 */
+	public static int getBestK(double[] accuracies){
+		int best = 0;
+
+		for(int k = 1; k < accuracies.length; k++){
+			if(accuracies[k] > accuracies[best]){
+				best = k;
+			}
+		}
+		return best + 1;
+	}
+
+	/**
+	 *	Get the number of examples in the table
+	 *	@return	number of examples
+	 */
+	public int size(){
+		return this.size;
+	}
+
+	/**
+	 *	Get the number of neighbours held per example
+	 *	@return	depth
+	 */
+	public int getDepth(){
+		return this.depth;
+	}
+
+	/**
+	 *	Check if the table holds the whole distance matrix
+	 *	@return	true if the table is full
+	 */
+	public boolean isFull(){
+		return this.depth == this.size - 1;
+	}
+
+	/**
+	 *	Get the number of rows scanned again because a fold left out too many of the neighbours held
+	 *	@return	number of rows scanned again since the table was made
+	 */
+	public int getRescans(){
+		return this.rescans.get();
+	}
+
+	/**
+	 *	Run a task for every index in [0, n), split into contiguous ranges on a pool
+	 *	@param	n: number of indices
+	 *	@param	pool: ExecutorService to run on
+	 *	@param	task: runs one index
+	 */
+	private void parallel(int n, ExecutorService pool, IntConsumer task){
+		int tasks = (int) Math.max(1, Math.min(n, this.threads * 4L));
+		ArrayList<Future<?>> results = new ArrayList<>(tasks);
+
+		for(int t = 0; t < tasks; t++){
+			int lower = (int) ((long) n * t / tasks);
+			int upper = (int) ((long) n * (t + 1) / tasks);
+
+			results.add(pool.submit(() -> {
+				for(int i = lower; i < upper; i++){
+					task.accept(i);
+				}
+			}));
+		}
+
+		try{
+			for(Future<?> result : results){
+				result.get();
+			}
+
+		} catch(InterruptedException e){
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while computing neighbours", e);
+
+		} catch(ExecutionException e){
+			if(e.getCause() instanceof RuntimeException){
+				throw (RuntimeException) e.getCause();
+			} else if(e.getCause() instanceof Error){
+				throw (Error) e.getCause();
+			}
+			throw new IllegalStateException("Unable to compute neighbours", e.getCause());
+
+		} finally {
+			for(Future<?> result : results){
+				result.cancel(true);
+			}
+		}
+	}
+}
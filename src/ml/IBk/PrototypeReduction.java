@@ -0,0 +1,400 @@
+/**
+ *	PrototypeReduction shrinks an IBk training set before it is stored, so
+ *	that every later query measures fewer examples. Two reductions are
+ *	available, alone or together:
+ *		EDIT:		Wilson editing removes each example whose k nearest other
+ *					examples vote for a different label (noise and overlap between
+ *					classes)
+ *		CONDENSE:	Hart's condensed nearest neighbour keeps a subset such that
+ *					every training example is labelled correctly by its nearest
+ *					kept example (mostly the examples near class borders)
+ *		BOTH:		edit first, then condense what is left
+ *
+ *	Editing classifies every example independently, so the examples are split
+ *	into ranges that run on several threads. Condensing runs in passes: each
+ *	pass finds, on several threads, the examples that the kept set so far
+ *	labels wrongly, and then walks through them in training set order, keeping
+ *	each one that is still labelled wrongly once the examples kept earlier in
+ *	the pass are counted. Passes repeat until one keeps nothing, so the result
+ *	is consistent as in Hart's algorithm.
+ *
+ *	After reduce(), getReductionRatio() gives the share of examples removed,
+ *	and evaluate() classifies a hold-out set with the full and the reduced
+ *	training sets to give the change in accuracy.
+ *
+ *	@author		Glenn Abastillas
+ *	@version	1.0.0
+ *	@since		October 18, 2026
+ *
+ *	PrototypeReduction implements the following methods:
+ *		ExampleSet reduce(ExampleSet, Metric):	reduce a training set
+ *		void evaluate(ExampleSet):				classify a hold-out set with the full and reduced training sets
+ *		int getOriginalSize():					get the size of the last training set reduced
+ *		int getReducedSize():					get the size of the last reduced training set
+ *		double getReductionRatio():				get the share of examples removed
+ *		double getFullAccuracy():				get the hold-out accuracy with the full training set
+ *		double getReducedAccuracy():			get the hold-out accuracy with the reduced training set
+ *		double getAccuracyChange():				get the reduced accuracy minus the full accuracy
+ *		String toString():						get a one-line report
+ *
+ *	PrototypeReduction is used by the following classes: IBk
+ */
+package edu.classifier.ml;
+
+import java.util.ArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.ObjIntConsumer;
+import java.util.function.Supplier;
+
+import edu.classifier.dataset.Example;
+import edu.classifier.dataset.ExampleSet;
+
+public class PrototypeReduction{
+
+	public static final int EDIT	 = 1;	// Wilson editing
+	public static final int CONDENSE = 2;	// Hart's condensed nearest neighbour
+	public static final int BOTH	 = 3;	// editing, then condensing
+
+	private int		   method;
+	private int		   k;			// neighbours that vote when editing
+	private int		   threads;
+
+	private ExampleSet original		   = new ExampleSet();	// last training set reduced
+	private ExampleSet reduced		   = new ExampleSet();	// last reduced training set
+	private Metric	   metric		   = Distance.EUCLIDEAN;
+	private double	   fullAccuracy	   = Double.NaN;
+	private double	   reducedAccuracy = Double.NaN;
+
+	public PrototypeReduction(){
+		this(BOTH);
+	}
+
+	/**
+	 *	Constructor with the reduction
+	 *	@param	method: EDIT, CONDENSE or BOTH
+	 */
+	public PrototypeReduction(int method) throws IllegalArgumentException{
+		this(method, Kernel.DEFAULT_K, Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 *	Constructor with every setting
+	 *	@param	method: EDIT, CONDENSE or BOTH
+	 *	@param	k: number of nearest other examples that vote when editing (at least 1)
+	 *	@param	threads: number of worker threads (at least 1)
+	 */
+	public PrototypeReduction(int method, int k, int threads) throws IllegalArgumentException{
+		if(method < EDIT || method > BOTH || k < 1 || threads < 1){
+			throw new IllegalArgumentException("In PrototypeReduction() constructor, method must be EDIT, CONDENSE or BOTH, and k and threads at least 1.");
+		}
+		this.method	 = method;
+		this.k		 = k;
+		this.threads = threads;
+	}
+
+	/**
+	 *	Reduce a training set
+	 *	@param	trainSet: ExampleSet object with training examples
+	 *	@param	metric: Metric object to measure distances with
+	 *	@return	new ExampleSet holding the examples kept, in training set order
+	 */
+	public ExampleSet reduce(ExampleSet trainSet, Metric metric){
+		this.original		 = trainSet;
+		this.metric			 = metric;
+		this.fullAccuracy	 = Double.NaN;
+		this.reducedAccuracy = Double.NaN;
+
+		ExecutorService pool = Executors.newFixedThreadPool(this.threads);
+
+		try{
+			int[] kept = new int[trainSet.size()];
+
+			for(int i = 0; i < kept.length; i++){
+				kept[i] = i;
+			}
+			if((this.method & EDIT) != 0){
+				kept = this.edit(trainSet, kept, pool);
+			}
+			if((this.method & CONDENSE) != 0){
+				kept = this.condense(trainSet, kept, pool);
+			}
+
+			this.reduced = new ExampleSet();
+
+			for(int i : kept){
+				this.reduced.add(trainSet.get(i));
+			}
+			return this.reduced;
+
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	/**
+	 *	Wilson editing: keep the examples whose k nearest other examples vote for their own label
+	 *	@param	trainSet: ExampleSet object with training examples
+	 *	@param	candidates: positions of the examples to edit, in training set order
+	 *	@param	pool: ExecutorService to run on
+	 *	@return	positions of the examples kept, in training set order
+	 */
+	private int[] edit(ExampleSet trainSet, int[] candidates, ExecutorService pool){
+		boolean[] keep = new boolean[candidates.length];
+
+		this.parallel(candidates.length, pool, () -> new Kernel(this.k), (kernel, i) -> {
+			Example example = trainSet.get(candidates[i]);
+			kernel.clear();
+
+			for(int j = 0; j < candidates.length; j++){
+				if(j != i){
+					kernel.add(this.metric.distance(example, trainSet.get(candidates[j])), trainSet.get(candidates[j]).getLabel(), j);
+				}
+			}
+			keep[i] = (kernel.size() == 0) || kernel.getMajorityLabel().equals(example.getLabel());
+		});
+
+		return PrototypeReduction.select(candidates, keep);
+	}
+
+	/**
+	 *	Hart's condensed nearest neighbour: keep a subset that labels every candidate correctly with 1-NN
+	 *	@param	trainSet: ExampleSet object with training examples
+	 *	@param	candidates: positions of the examples to condense, in training set order
+	 *	@param	pool: ExecutorService to run on
+	 *	@return	positions of the examples kept, in training set order
+	 */
+	private int[] condense(ExampleSet trainSet, int[] candidates, ExecutorService pool){
+		int		  n		  = candidates.length;
+		boolean[] keep	  = new boolean[n];
+		ArrayList<Integer> kept = new ArrayList<Integer>();	// indices into candidates, in the order kept
+
+		if(n == 0){
+			return candidates;
+		}
+
+		// Start from the first example
+		keep[0] = true;
+		kept.add(0);
+
+		double[] nearest	  = new double[n];	// distance from each candidate to its nearest kept example
+		double[] nearestLabel = new double[n];	// label of that example
+		boolean	 changed	  = true;
+
+		while(changed){
+			changed = false;
+			int snapshot = kept.size();
+			Integer[] prototypes = kept.toArray(new Integer[0]);
+
+			// Find the nearest kept example of every candidate not kept, on several threads
+			this.parallel(n, pool, () -> null, (unused, i) -> {
+				nearest[i] = Double.POSITIVE_INFINITY;
+
+				if(keep[i]){
+					return;
+				}
+
+				Example example = trainSet.get(candidates[i]);
+
+				for(int p : prototypes){
+					double distance = this.metric.distance(example, trainSet.get(candidates[p]));
+
+					if(distance < nearest[i]){
+						nearest[i]		= distance;
+						nearestLabel[i] = trainSet.get(candidates[p]).getLabel();
+					}
+				}
+			});
+
+			// Walk through the candidates labelled wrongly, counting the examples kept earlier in this pass
+			for(int i = 0; i < n; i++){
+				if(keep[i] || nearestLabel[i] == trainSet.get(candidates[i]).getLabel()){
+					continue;
+				}
+
+				Example example = trainSet.get(candidates[i]);
+				double	best	  = nearest[i];
+				double	bestLabel = nearestLabel[i];
+
+				for(int p = snapshot; p < kept.size(); p++){
+					double distance = this.metric.distance(example, trainSet.get(candidates[kept.get(p)]));
+
+					if(distance < best){
+						best	  = distance;
+						bestLabel = trainSet.get(candidates[kept.get(p)]).getLabel();
+					}
+				}
+
+				if(bestLabel != example.getLabel()){
+					keep[i] = true;
+					kept.add(i);
+					changed = true;
+				}
+			}
+		}
+
+		return PrototypeReduction.select(candidates, keep);
+	}
+
+	// Get the positions whose keep flag is set, in order
+	private static int[] select(int[] positions, boolean[] keep){
+		int count = 0;
+
+		for(boolean k : keep){
+			count += k ? 1 : 0;
+		}
+
+		int[] selected = new int[count];
+		int	  next	   = 0;
+
+		for(int i = 0; i < positions.length; i++){
+			if(keep[i]){
+				selected[next++] = positions[i];
+			}
+		}
+		return selected;
+	}
+
+	/**
+	 *	Run a task for every index in [0, n), split into contiguous ranges on a pool
+	 *	@param	n: number of indices
+	 *	@param	pool: ExecutorService to run on
+	 *	@param	state: makes each range's working state (e.g., a Kernel)
+	 *	@param	task: runs one index with its range's state
+	 */
+	private <T> void parallel(int n, ExecutorService pool, Supplier<T> state, ObjIntConsumer<T> task){
+		int tasks = (int) Math.max(1, Math.min(n, this.threads * 4L));
+		ArrayList<Future<?>> results = new ArrayList<>(tasks);
+
+		for(int t = 0; t < tasks; t++){
+			int lower = (int) ((long) n * t / tasks);
+			int upper = (int) ((long) n * (t + 1) / tasks);
+
+			results.add(pool.submit(() -> {
+				T working = state.get();
+
+				for(int i = lower; i < upper; i++){
+					task.accept(working, i);
+				}
+			}));
+		}
+
+		try{
+			for(Future<?> result : results){
+				result.get();
+			}
+
+		} catch(InterruptedException e){
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while reducing the training set", e);
+
+		} catch(ExecutionException e){
+			if(e.getCause() instanceof RuntimeException){
+				throw (RuntimeException) e.getCause();
+			} else if(e.getCause() instanceof Error){
+				throw (Error) e.getCause();
+			}
+			throw new IllegalStateException("Unable to reduce the training set", e.getCause());
+
+		} finally {
+			for(Future<?> result : results){
+				result.cancel(true);
+			}
+		}
+	}
+
+	/**
+	 *	Classify a hold-out set with the full and the reduced training sets of
+	 *	the last reduce(), using 1-NN for CONDENSE and k-NN otherwise
+	 *	@param	holdOut: ExampleSet object with labelled examples not in the training set
+	 */
+	public void evaluate(ExampleSet holdOut){
+		int neighbours = (this.method == CONDENSE) ? 1 : this.k;
+
+		this.fullAccuracy	 = this.accuracy(this.original, holdOut, neighbours);
+		this.reducedAccuracy = this.accuracy(this.reduced, holdOut, neighbours);
+	}
+
+	// Get the share of a hold-out set an IBk trained on a training set labels correctly
+	private double accuracy(ExampleSet trainSet, ExampleSet holdOut, int neighbours){
+		if(holdOut.size() == 0 || trainSet.size() == 0){
+			return Double.NaN;
+		}
+
+		IBk classifier = new IBk(neighbours);
+		classifier.setMetric(this.metric);
+		classifier.train(trainSet);
+
+		ArrayList<Double> labels = classifier.test(holdOut, this.threads);
+		int correct = 0;
+
+		for(int i = 0; i < labels.size(); i++){
+			correct += labels.get(i).equals(holdOut.get(i).getLabel()) ? 1 : 0;
+		}
+		return (double) correct / labels.size();
+	}
+
+	/**
+	 *	Get the size of the last training set reduced
+	 *	@return	number of examples
+	 */
+	public int getOriginalSize(){
+		return this.original.size();
+	}
+
+	/**
+	 *	Get the size of the last reduced training set
+	 *	@return	number of examples
+	 */
+	public int getReducedSize(){
+		return this.reduced.size();
+	}
+
+	/**
+	 *	Get the share of examples removed by the last reduce()
+	 *	@return	1 - reduced size / original size, or 0.0 if nothing was reduced
+	 */
+	public double getReductionRatio(){
+		return (this.original.size() == 0) ? 0.0 : 1.0 - (double) this.reduced.size() / this.original.size();
+	}
+
+	/**
+	 *	Get the hold-out accuracy with the full training set
+	 *	@return	accuracy, or NaN before evaluate()
+	 */
+	public double getFullAccuracy(){
+		return this.fullAccuracy;
+	}
+
+	/**
+	 *	Get the hold-out accuracy with the reduced training set
+	 *	@return	accuracy, or NaN before evaluate()
+	 */
+	public double getReducedAccuracy(){
+		return this.reducedAccuracy;
+	}
+
+	/**
+	 *	Get the change in hold-out accuracy from reducing the training set
+	 *	@return	reduced accuracy minus full accuracy, or NaN before evaluate()
+	 */
+	public double getAccuracyChange(){
+		return this.reducedAccuracy - this.fullAccuracy;
+	}
+
+	/**
+	 *	Get a one-line report of the last reduction
+	 *	@return	sizes, reduction ratio, and accuracies if evaluated
+	 */
+	@Override
+	public String toString(){
+		String report = String.format("Reduced %d examples to %d (%.1f%% removed)", this.getOriginalSize(), this.getReducedSize(), 100.0 * this.getReductionRatio());
+
+		if(!Double.isNaN(this.fullAccuracy)){
+			report += String.format("; hold-out accuracy %.4f -> %.4f (%+.4f)", this.fullAccuracy, this.reducedAccuracy, this.getAccuracyChange());
+		}
+		return report;
+	}
+}
@@ -0,0 +1,512 @@
+/**
+ *	QuantizedIndex is a NeighbourIndex that keeps the training examples as
+ *	compressed codes instead of doubles and scans the codes for the nearest
+ *	examples. Two kinds of codes are available:
+ *		SCALAR:		each value is rounded to one of 256 levels spread between its
+ *					attribute's minimum and maximum, one byte per value (8x smaller)
+ *		PRODUCT:	the attributes are split into subspaces and each example's part
+ *					in a subspace is replaced by the nearest of 256 centroids found
+ *					by k-means, one byte per subspace (8 * dimension / subspaces
+ *					times smaller)
+ *	For product quantization, a query first fills a lookup table with its
+ *	distance to every centroid of every subspace, so the distance to an
+ *	example is a sum (or maximum) of one table entry per subspace.
+ *
+ *	Distances on codes are approximate. With rerank > 0, the rerank nearest
+ *	examples by code are measured again with the exact metric on the training
+ *	set, and only those exact distances go into the Kernel; with rerank 0 the
+ *	approximate distances go into the Kernel directly. An index built with
+ *	rerank 0 keeps no reference to the training set, only the codes and the
+ *	labels, so IBk drops its own training examples too and runs from the
+ *	codes alone; setRerank() cannot turn reranking on for it. While IBk
+ *	still holds the training examples, IBk.getRecall() measures how many of
+ *	the true nearest examples are found.
+ *
+ *	QuantizedIndex supports Distance.EUCLIDEAN, Distance.MANHATTAN and
+ *	Distance.CHEBYSHEV. Once built, it may be searched from several threads at
+ *	once.
+ *
+ *	@author		Glenn Abastillas
+ *	@version	1.0.0
+ *	@since		October 18, 2026
+ *	@update		October 18, 2026	no reference to the training set is kept when rerank is 0
+ *
+ *	QuantizedIndex implements the following methods:
+ *		void build(ExampleSet, Metric):	encode the training examples
+ *		void search(Example, Kernel):	add the nearest training examples by code to a kernel
+ *		int size():						get the number of indexed examples
+ *		int getQuantization():			get SCALAR or PRODUCT
+ *		int getRerank():				get the number of candidates measured exactly
+ *		void setRerank(int):			set the number of candidates measured exactly
+ *		boolean isCodesOnly():			check if the index keeps no training examples
+ *		long getCodeBytes():			get the number of bytes of codes and codebooks
+ *
+ *	QuantizedIndex is used by the following classes: IBk
+ */
+package edu.classifier.ml;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import edu.classifier.dataset.Example;
+import edu.classifier.dataset.ExampleSet;
+
+public class QuantizedIndex implements NeighbourIndex{
+
+	public static final int SCALAR	= 0;	// one byte per value
+	public static final int PRODUCT = 1;	// one byte per subspace
+
+	public static final int DEFAULT_RERANK = 32;
+	public static final int CENTROIDS	   = 256;	// codebook size of a subspace (one byte)
+	public static final int ITERATIONS	   = 10;	// k-means iterations per subspace
+	public static final int SAMPLE		   = 16384;	// most training examples k-means is run on
+
+	// How distances are combined
+	private static final int SQUARED  = 0;	// square root of the sum of squared differences
+	private static final int ABSOLUTE = 1;	// sum of absolute differences
+	private static final int MAXIMUM  = 2;	// largest absolute difference
+
+	private int		   quantization;
+	private int		   subspaces;			// number of subspaces asked for (PRODUCT)
+	private volatile int rerank;
+	private long	   seed;
+
+	private ExampleSet trainSet	 = new ExampleSet();	// examples measured when reranking, or null if built with rerank 0
+	private Metric	   metric	 = Distance.EUCLIDEAN;
+	private int		   operation = SQUARED;
+	private int		   dimension = 0;
+	private int		   size		 = 0;
+	private double[]   labels	 = new double[0];	// class label of each example
+	private byte[]	   codes	 = new byte[0];		// dimension (SCALAR) or parts (PRODUCT) bytes per example
+
+	// Scalar quantization: value = minimum + step * (code + 128)
+	private double[]   minimum	 = new double[0];
+	private double[]   step		 = new double[0];
+
+	// Product quantization: subspace s holds attributes [bounds[s], bounds[s + 1])
+	private int		   parts	 = 0;
+	private int[]	   bounds	 = new int[0];
+	private double[][] codebooks = new double[0][];	// per subspace, CENTROIDS centroids of its attributes, packed
+
+	private ThreadLocal<Scratch> scratch = ThreadLocal.withInitial(Scratch::new);	// each thread's working space for search()
+
+	public QuantizedIndex(){
+		this(SCALAR, 0, DEFAULT_RERANK, 7L);
+	}
+
+	/**
+	 *	Constructor with the kind of codes
+	 *	@param	quantization: SCALAR or PRODUCT
+	 */
+	public QuantizedIndex(int quantization) throws IllegalArgumentException{
+		this(quantization, 0, DEFAULT_RERANK, 7L);
+	}
+
+	/**
+	 *	Constructor with every setting
+	 *	@param	quantization: SCALAR or PRODUCT
+	 *	@param	subspaces: number of subspaces for PRODUCT, or 0 for one per 4 attributes
+	 *	@param	rerank: number of nearest candidates by code to measure exactly, or 0 to use the approximate distances
+	 *	@param	seed: seed of the Random that starts k-means
+	 */
+	public QuantizedIndex(int quantization, int subspaces, int rerank, long seed) throws IllegalArgumentException{
+		if((quantization != SCALAR && quantization != PRODUCT) || subspaces < 0 || rerank < 0){
+			throw new IllegalArgumentException("In QuantizedIndex() constructor, quantization must be SCALAR or PRODUCT, subspaces and rerank at least 0.");
+		}
+		this.quantization = quantization;
+		this.subspaces	  = subspaces;
+		this.rerank		  = rerank;
+		this.seed		  = seed;
+	}
+
+	/**
+	 *	Encode the training examples
+	 *	@param	trainSet: ExampleSet object with training examples
+	 *	@param	metric: Distance.EUCLIDEAN, Distance.MANHATTAN or Distance.CHEBYSHEV
+	 */
+	@Override
+	public void build(ExampleSet trainSet, Metric metric) throws IllegalArgumentException{
+		if(metric == Distance.EUCLIDEAN){
+			this.operation = SQUARED;
+		} else if(metric == Distance.MANHATTAN){
+			this.operation = ABSOLUTE;
+		} else if(metric == Distance.CHEBYSHEV){
+			this.operation = MAXIMUM;
+		} else {
+			throw new IllegalArgumentException("In build() method, a QuantizedIndex only supports Distance.EUCLIDEAN, Distance.MANHATTAN and Distance.CHEBYSHEV.");
+		}
+
+		this.trainSet  = trainSet;
+		this.metric	   = metric;
+		this.size	   = trainSet.size();
+		this.dimension = (this.size == 0) ? 0 : trainSet.get(0).dimension();
+		this.labels	   = new double[this.size];
+
+		for(int i = 0; i < this.size; i++){
+			this.labels[i] = trainSet.get(i).getLabel();
+		}
+
+		this.minimum   = new double[0];
+		this.step	   = new double[0];
+		this.codebooks = new double[0][];
+		this.parts	   = 0;
+
+		if(this.quantization == SCALAR){
+			this.buildScalar();
+		} else {
+			this.buildProduct();
+		}
+
+		// Without reranking the codes are all a search reads
+		if(this.rerank == 0){
+			this.trainSet = null;
+		}
+	}
+
+	/**
+	 *	Find each attribute's range and encode every value in one byte
+	 */
+	private void buildScalar(){
+		double[] values = new double[this.dimension];
+		this.minimum = new double[this.dimension];
+		this.step	 = new double[this.dimension];
+		double[] maximum = new double[this.dimension];
+
+		Arrays.fill(this.minimum, Double.POSITIVE_INFINITY);
+		Arrays.fill(maximum, Double.NEGATIVE_INFINITY);
+
+		for(int i = 0; i < this.size; i++){
+			this.trainSet.get(i).copyInto(values);
+
+			for(int j = 0; j < this.dimension; j++){
+				this.minimum[j] = Math.min(this.minimum[j], values[j]);
+				maximum[j]		= Math.max(maximum[j], values[j]);
+			}
+		}
+
+		for(int j = 0; j < this.dimension; j++){
+			this.step[j] = (maximum[j] - this.minimum[j]) / (CENTROIDS - 1);
+		}
+
+		this.codes = new byte[this.size * this.dimension];
+
+		for(int i = 0; i < this.size; i++){
+			this.trainSet.get(i).copyInto(values);
+
+			for(int j = 0; j < this.dimension; j++){
+				long level = (this.step[j] > 0.0) ? Math.round((values[j] - this.minimum[j]) / this.step[j]) : 0L;
+				this.codes[i * this.dimension + j] = (byte) (Math.max(0L, Math.min(CENTROIDS - 1, level)) - 128);
+			}
+		}
+	}
+
+	/**
+	 *	Split the attributes into subspaces, run k-means in each, and encode
+	 *	every example as the nearest centroid of each subspace
+	 */
+	private void buildProduct(){
+		int wanted = (this.subspaces > 0) ? this.subspaces : (this.dimension + 3) / 4;
+		this.parts	= Math.max(1, Math.min(wanted, Math.max(1, this.dimension)));
+		this.bounds = new int[this.parts + 1];
+
+		for(int s = 0; s <= this.parts; s++){
+			this.bounds[s] = (int) ((long) this.dimension * s / this.parts);
+		}
+
+		// Copy a random sample of examples to run k-means on
+		Random	 randomNumberGenerator = new Random(this.seed);
+		int		 count	= Math.min(this.size, SAMPLE);
+		double[] sample = new double[count * this.dimension];
+		double[] values = new double[this.dimension];
+
+		for(int i = 0; i < count; i++){
+			int example = (count == this.size) ? i : randomNumberGenerator.nextInt(this.size);
+			this.trainSet.get(example).copyInto(values);
+			System.arraycopy(values, 0, sample, i * this.dimension, this.dimension);
+		}
+
+		this.codebooks = new double[this.parts][];
+
+		for(int s = 0; s < this.parts; s++){
+			this.codebooks[s] = this.kMeans(sample, count, this.bounds[s], this.bounds[s + 1], randomNumberGenerator);
+		}
+
+		this.codes = new byte[this.size * this.parts];
+
+		for(int i = 0; i < this.size; i++){
+			this.trainSet.get(i).copyInto(values);
+
+			for(int s = 0; s < this.parts; s++){
+				this.codes[i * this.parts + s] = (byte) QuantizedIndex.nearest(this.codebooks[s], values, this.bounds[s], this.bounds[s + 1] - this.bounds[s]);
+			}
+		}
+	}
+
+	/**
+	 *	Run k-means on the attributes [from, to) of the sampled examples
+	 *	@param	sample: packed values of the sampled examples
+	 *	@param	count: number of sampled examples
+	 *	@param	from: first attribute of the subspace
+	 *	@param	to: one past the last attribute of the subspace
+	 *	@param	randomNumberGenerator: seeded Random that picks the starting centroids
+	 *	@return	CENTROIDS centroids, packed (fewer distinct ones if there are fewer examples)
+	 */
+	private double[] kMeans(double[] sample, int count, int from, int to, Random randomNumberGenerator){
+		int		 width	   = to - from;
+		double[] centroids = new double[CENTROIDS * width];
+		double[] sums	   = new double[CENTROIDS * width];
+		int[]	 members   = new int[CENTROIDS];
+		int[]	 assigned  = new int[count];
+
+		if(count == 0){
+			return centroids;
+		}
+
+		// Start from randomly chosen examples
+		for(int c = 0; c < CENTROIDS; c++){
+			System.arraycopy(sample, randomNumberGenerator.nextInt(count) * this.dimension + from, centroids, c * width, width);
+		}
+
+		for(int iteration = 0; iteration < ITERATIONS; iteration++){
+			Arrays.fill(sums, 0.0);
+			Arrays.fill(members, 0);
+
+			for(int i = 0; i < count; i++){
+				int c = QuantizedIndex.nearest(centroids, sample, i * this.dimension + from, width);
+				assigned[i] = c;
+				members[c]++;
+
+				for(int j = 0; j < width; j++){
+					sums[c * width + j] += sample[i * this.dimension + from + j];
+				}
+			}
+
+			// Move each centroid to the mean of its examples; an empty one stays put
+			for(int c = 0; c < CENTROIDS; c++){
+				if(members[c] > 0){
+					for(int j = 0; j < width; j++){
+						centroids[c * width + j] = sums[c * width + j] / members[c];
+					}
+				}
+			}
+		}
+		return centroids;
+	}
+
+	/**
+	 *	Find the centroid nearest (squared Euclidean) to part of a row
+	 *	@param	centroids: CENTROIDS packed centroids of width values
+	 *	@param	values: array holding the row
+	 *	@param	offset: start of the part in values
+	 *	@param	width: number of values in the part
+	 *	@return	index of the nearest centroid
+	 */
+	private static int nearest(double[] centroids, double[] values, int offset, int width){
+		int	   best			= 0;
+		double bestDistance = Double.POSITIVE_INFINITY;
+
+		for(int c = 0; c < CENTROIDS; c++){
+			double distance = VectorDistance.squaredEuclidean(centroids, c * width, values, offset, width, bestDistance);
+
+			if(distance < bestDistance){
+				best		 = c;
+				bestDistance = distance;
+			}
+		}
+		return best;
+	}
+
+	/**
+	 *	Add the nearest training examples by code to a kernel, measured
+	 *	exactly if rerank is more than 0
+	 *	@param	query: Example object to find neighbours of
+	 *	@param	kernel: Kernel to add the examples to, with their positions as ids
+	 */
+	@Override
+	public void search(Example query, Kernel kernel){
+		if(this.size == 0){
+			return;
+		}
+
+		Scratch scratch = this.scratch.get();
+		int		rerank	= this.rerank;
+		scratch.prepare(this.dimension, this.parts);
+		query.copyInto(scratch.values);
+
+		if(this.quantization == PRODUCT){
+			this.fillTable(scratch.values, scratch.table);
+		}
+
+		// Without reranking, the approximate distances are the result
+		Kernel candidates = kernel;
+
+		if(rerank > 0){
+			candidates = scratch.candidates;
+			candidates.setK(Math.max(rerank, kernel.getK()));
+		}
+
+		for(int i = 0; i < this.size; i++){
+			double distance = (this.quantization == SCALAR) ? this.scalarDistance(scratch.values, i) : this.productDistance(scratch.table, i);
+			candidates.add((this.operation == SQUARED) ? Math.sqrt(distance) : distance, this.labels[i], i);
+		}
+
+		if(rerank > 0){
+			for(int i : candidates.getIds()){
+				kernel.add(this.metric.distance(query, this.trainSet.get(i)), this.labels[i], i);
+			}
+		}
+	}
+
+	/**
+	 *	Get the distance (squared for Euclidean) from a query to the decoded scalar codes of an example
+	 *	@param	query: values of the query
+	 *	@param	example: position of the example
+	 *	@return	approximate distance
+	 */
+	private double scalarDistance(double[] query, int example){
+		int	   offset = example * this.dimension;
+		double result = (this.operation == MAXIMUM && this.dimension == 0) ? Double.NEGATIVE_INFINITY : 0.0;
+
+		for(int j = 0; j < this.dimension; j++){
+			double difference = Math.abs(query[j] - (this.minimum[j] + this.step[j] * (this.codes[offset + j] + 128)));
+
+			switch(this.operation){
+				case SQUARED:
+					result += difference * difference;
+					break;
+				case ABSOLUTE:
+					result += difference;
+					break;
+				default:
+					result = Math.max(result, difference);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 *	Fill a query's lookup table with its distance to every centroid of every subspace
+	 *	@param	query: values of the query
+	 *	@param	table: array of parts * CENTROIDS entries
+	 */
+	private void fillTable(double[] query, double[] table){
+		for(int s = 0; s < this.parts; s++){
+			int		 from	   = this.bounds[s];
+			int		 width	   = this.bounds[s + 1] - from;
+			double[] centroids = this.codebooks[s];
+
+			for(int c = 0; c < CENTROIDS; c++){
+				int entry = s * CENTROIDS + c;
+
+				switch(this.operation){
+					case SQUARED:
+						table[entry] = VectorDistance.squaredEuclidean(query, from, centroids, c * width, width, Double.POSITIVE_INFINITY);
+						break;
+					case ABSOLUTE:
+						table[entry] = VectorDistance.manhattan(query, from, centroids, c * width, width, Double.POSITIVE_INFINITY);
+						break;
+					default:
+						table[entry] = VectorDistance.chebyshev(query, from, centroids, c * width, width, Double.POSITIVE_INFINITY);
+				}
+			}
+		}
+	}
+
+	/**
+	 *	Get the distance (squared for Euclidean) from a query to an example's product codes
+	 *	@param	table: the query's lookup table
+	 *	@param	example: position of the example
+	 *	@return	approximate distance
+	 */
+	private double productDistance(double[] table, int example){
+		int	   offset = example * this.parts;
+		double result = 0.0;
+
+		for(int s = 0; s < this.parts; s++){
+			double entry = table[s * CENTROIDS + (this.codes[offset + s] & 0xFF)];
+			result = (this.operation == MAXIMUM) ? Math.max(result, entry) : result + entry;
+		}
+		return result;
+	}
+
+	/**
+	 *	Get the number of indexed examples
+	 *	@return	number of examples
+	 */
+	public int size(){
+		return this.size;
+	}
+
+	/**
+	 *	Get the kind of codes
+	 *	@return	SCALAR or PRODUCT
+	 */
+	public int getQuantization(){
+		return this.quantization;
+	}
+
+	/**
+	 *	Get the number of nearest candidates by code measured exactly
+	 *	@return	rerank, or 0 if the approximate distances are used
+	 */
+	public int getRerank(){
+		return this.rerank;
+	}
+
+	/**
+	 *	Set the number of nearest candidates by code measured exactly. An index
+	 *	built with rerank 0 keeps no training examples to measure, so reranking
+	 *	cannot be turned on for it; use a new index instead.
+	 *	@param	rerank: number of candidates, or 0 to use the approximate distances
+	 */
+	public void setRerank(int rerank) throws IllegalArgumentException, IllegalStateException{
+		if(rerank < 0){
+			throw new IllegalArgumentException("In setRerank() method, rerank must be at least 0.");
+		}
+		if(rerank > 0 && this.trainSet == null){
+			throw new IllegalStateException("In setRerank() method, the index was built with rerank 0 and keeps no training examples; use a new QuantizedIndex with rerank above 0.");
+		}
+		this.rerank = rerank;
+	}
+
+	/**
+	 *	Check whether a search reads only the codes
+	 *	@return	true if the index was built with rerank 0 and keeps no training examples
+	 */
+	public boolean isCodesOnly(){
+		return this.trainSet == null;
+	}
+
+	/**
+	 *	Get the memory held by the codes and the codebooks or attribute ranges
+	 *	@return	number of bytes
+	 */
+	public long getCodeBytes(){
+		long bytes = this.codes.length + 8L * (this.minimum.length + this.step.length);
+
+		for(double[] codebook : this.codebooks){
+			bytes += 8L * codebook.length;
+		}
+		return bytes;
+	}
+
+	/**
+	 *	Scratch holds one thread's working space for search(): the query's
+	 *	values, its lookup table, and a Kernel for the candidates to rerank.
+	 */
+	private static class Scratch{
+		double[] values		= new double[0];
+		double[] table		= new double[0];
+		Kernel	 candidates = new Kernel(DEFAULT_RERANK);
+
+		// Size the arrays for an index
+		void prepare(int dimension, int parts){
+			if(this.values.length != dimension){
+				this.values = new double[dimension];
+			}
+			if(this.table.length != parts * CENTROIDS){
+				this.table = new double[parts * CENTROIDS];
+			}
+		}
+	}
+}
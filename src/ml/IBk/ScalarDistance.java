@@ -0,0 +1,93 @@
+/**
+ *	ScalarDistance is the plain Java implementation of DistanceFunctions, used
+ *	when the jdk.incubator.vector module is not available. Differences are
+ *	added up one attribute at a time in attribute order, and the bound is
+ *	checked every CHECK attributes.
+ *
+ *	@author		Glenn Abastillas
+ *	@version	1.0.0
+ *	@since		October 18, 2026
+ *
+ *	ScalarDistance implements the following methods:
+ *		double squaredEuclidean(double[], int, double[], int, int, double):	get the sum of squared differences
+ *		double manhattan(double[], int, double[], int, int, double):			get the sum of absolute differences
+ *		double chebyshev(double[], int, double[], int, int, double):			get the largest absolute difference
+ *		double minkowski(double[], int, double[], int, int, double, double):	get the sum of absolute differences raised to a power
+ *
+ *	ScalarDistance is used by the following classes: VectorDistance
+ */
+package edu.classifier.ml;
+
+final class ScalarDistance implements DistanceFunctions{
+
+	private static final int CHECK = 64;	// attributes between checks of the bound
+
+	@Override
+	public double squaredEuclidean(double[] a, int aOffset, double[] b, int bOffset, int length, double bound){
+		double sum = 0.0;
+
+		for(int i = 0; i < length; i += CHECK){
+			int stop = Math.min(length, i + CHECK);
+
+			for(int j = i; j < stop; j++){
+				double difference = a[aOffset + j] - b[bOffset + j];
+				sum += difference * difference;
+			}
+			if(sum > bound){
+				return sum;
+			}
+		}
+		return sum;
+	}
+
+	@Override
+	public double manhattan(double[] a, int aOffset, double[] b, int bOffset, int length, double bound){
+		double sum = 0.0;
+
+		for(int i = 0; i < length; i += CHECK){
+			int stop = Math.min(length, i + CHECK);
+
+			for(int j = i; j < stop; j++){
+				sum += Math.abs(a[aOffset + j] - b[bOffset + j]);
+			}
+			if(sum > bound){
+				return sum;
+			}
+		}
+		return sum;
+	}
+
+	@Override
+	public double chebyshev(double[] a, int aOffset, double[] b, int bOffset, int length, double bound){
+		double max = Double.NEGATIVE_INFINITY;
+
+		for(int i = 0; i < length; i += CHECK){
+			int stop = Math.min(length, i + CHECK);
+
+			for(int j = i; j < stop; j++){
+				max = Math.max(max, Math.abs(a[aOffset + j] - b[bOffset + j]));
+			}
+			if(max > bound){
+				return max;
+			}
+		}
+		return max;
+	}
+
+	@Override
+	public double minkowski(double[] a, int aOffset, double[] b, int bOffset, int length, double p, double bound){
+		double sum = 0.0;
+
+		for(int i = 0; i < length; i += CHECK){
+			int stop = Math.min(length, i + CHECK);
+
+			for(int j = i; j < stop; j++){
+				sum += Math.pow(Math.abs(a[aOffset + j] - b[bOffset + j]), p);
+			}
+			if(sum > bound){
+				return sum;
+			}
+		}
+		return sum;
+	}
+}
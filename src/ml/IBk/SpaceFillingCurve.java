@@ -0,0 +1,369 @@
+/**
+ *	SpaceFillingCurve orders examples along a Morton (Z-order) or Hilbert
+ *	curve, so examples near each other in attribute space end up near each
+ *	other in the order. Copying a training set in that order (see reorder())
+ *	lays the examples out one after another, in the rows of an ExampleColumns
+ *	store when the set is columnar, so a scan of neighbouring examples reads
+ *	neighbouring memory instead of jumping around the heap; indexes use the
+ *	same order inside their leaves.
+ *
+ *	Each example's key is made from up to 63 bits of its quantized values:
+ *	the attributes with the widest spread are kept (at most KEY_BITS /
+ *	MIN_BITS, so each gets at least MIN_BITS bits), each is cut into 2^bits
+ *	equal steps between its smallest and largest value, and the bits of the
+ *	steps are interleaved from the most significant down. A Morton key is the
+ *	interleaving itself; a Hilbert key first turns the steps into the
+ *	transposed Hilbert index (Skilling's method), whose consecutive keys are
+ *	always adjacent cells, so it keeps neighbours together a little better.
+ *
+ *	@author		Glenn Abastillas
+ *	@version	1.0.0
+ *	@since		October 18, 2026
+ *
+ *	SpaceFillingCurve implements the following methods:
+ *		long key(double[], int):					get the key of packed values
+ *		long key(Example):							get the key of an example
+ *		int[] order(ExampleSet):					get the positions of a set's examples in curve order
+ *		void sort(int[], long[], int, int):			sort a range of positions by their keys
+ *		static ExampleSet reorder(ExampleSet, int):	copy a set's examples in curve order
+ *		static ExampleSet reorder(ExampleSet, int[]):	copy a set's examples in a given order
+ *		int getCurve():								get MORTON or HILBERT
+ *
+ *	SpaceFillingCurve is used by the following classes: IBk, KDTree, VPTree
+ */
+package edu.classifier.ml;
+
+import java.util.Arrays;
+
+import edu.classifier.dataset.Example;
+import edu.classifier.dataset.ExampleColumns;
+import edu.classifier.dataset.ExampleSet;
+import edu.classifier.dataset.PackedExample;
+import edu.classifier.dataset.SparseExample;
+
+public class SpaceFillingCurve{
+
+	public static final int NONE	= 0;	// keep the training set order
+	public static final int MORTON	= 1;	// Z-order: interleaved bits of the quantized values
+	public static final int HILBERT = 2;	// Hilbert order
+
+	public static final int KEY_BITS = 63;	// bits in a key
+	public static final int MIN_BITS = 3;	// fewest bits per attribute kept
+
+	private int		 curve;
+	private int		 bits;			// bits per attribute kept
+	private int[]	 attributes;	// attributes kept, widest spread first
+	private double[] minimum;		// smallest value of each attribute kept
+	private double[] scale;			// steps per unit of each attribute kept
+
+	/**
+	 *	Constructor fitting the quantization to a set of examples
+	 *	@param	curve: MORTON or HILBERT
+	 *	@param	examples: ExampleSet object whose value ranges to quantize over
+	 */
+	public SpaceFillingCurve(int curve, ExampleSet examples) throws IllegalArgumentException{
+		if(curve != MORTON && curve != HILBERT){
+			throw new IllegalArgumentException("In SpaceFillingCurve() constructor, curve must be MORTON or HILBERT.");
+		}
+		this.curve = curve;
+
+		int		 n		   = examples.size();
+		int		 dimension = (n == 0) ? 0 : examples.get(0).dimension();
+		double[] low	   = new double[dimension];
+		double[] high	   = new double[dimension];
+		double[] row	   = new double[dimension];
+
+		Arrays.fill(low, Double.POSITIVE_INFINITY);
+		Arrays.fill(high, Double.NEGATIVE_INFINITY);
+
+		for(int i = 0; i < n; i++){
+			examples.get(i).copyInto(row);
+
+			for(int j = 0; j < dimension; j++){
+				low[j]	= Math.min(low[j], row[j]);
+				high[j] = Math.max(high[j], row[j]);
+			}
+		}
+
+		this.fit(low, high);
+	}
+
+	/**
+	 *	Constructor fitting the quantization to packed values
+	 *	@param	curve: MORTON or HILBERT
+	 *	@param	values: packed values, dimension values per example
+	 *	@param	dimension: number of values per example
+	 */
+	public SpaceFillingCurve(int curve, double[] values, int dimension) throws IllegalArgumentException{
+		if(curve != MORTON && curve != HILBERT){
+			throw new IllegalArgumentException("In SpaceFillingCurve() constructor, curve must be MORTON or HILBERT.");
+		}
+		this.curve = curve;
+
+		double[] low  = new double[dimension];
+		double[] high = new double[dimension];
+
+		Arrays.fill(low, Double.POSITIVE_INFINITY);
+		Arrays.fill(high, Double.NEGATIVE_INFINITY);
+
+		for(int i = 0; i + dimension <= values.length && dimension > 0; i += dimension){
+			for(int j = 0; j < dimension; j++){
+				low[j]	= Math.min(low[j], values[i + j]);
+				high[j] = Math.max(high[j], values[i + j]);
+			}
+		}
+
+		this.fit(low, high);
+	}
+
+	/**
+	 *	Keep the attributes with the widest spread and set their steps
+	 *	@param	low: smallest value of each attribute
+	 *	@param	high: largest value of each attribute
+	 */
+	private void fit(double[] low, double[] high){
+		int		  dimension = low.length;
+		Integer[] widest	= new Integer[dimension];
+
+		for(int j = 0; j < dimension; j++){
+			widest[j] = j;
+		}
+		Arrays.sort(widest, (a, b) -> Double.compare(high[b] - low[b], high[a] - low[a]));
+
+		// Attributes with no spread add nothing to the key
+		int varying = 0;
+		while(varying < dimension && high[widest[varying]] > low[widest[varying]]){
+			varying++;
+		}
+
+		int kept		= Math.min(varying, KEY_BITS / MIN_BITS);
+		this.bits		= (kept == 0) ? 0 : Math.min(31, KEY_BITS / kept);
+		this.attributes = new int[kept];
+		this.minimum	= new double[kept];
+		this.scale		= new double[kept];
+
+		for(int a = 0; a < kept; a++){
+			int j = widest[a];
+			this.attributes[a] = j;
+			this.minimum[a]	   = low[j];
+			this.scale[a]	   = ((1L << this.bits) - 1) / (high[j] - low[j]);
+		}
+	}
+
+	/**
+	 *	Get the key of packed values
+	 *	@param	values: packed values
+	 *	@param	offset: index of the example's first value in values
+	 *	@return	position of the example along the curve
+	 */
+	public long key(double[] values, int offset){
+		int	  kept	= this.attributes.length;
+		int[] steps = new int[kept];
+		long  top	= (1L << this.bits) - 1;
+
+		for(int a = 0; a < kept; a++){
+			double step = (values[offset + this.attributes[a]] - this.minimum[a]) * this.scale[a];
+			steps[a] = (int) Math.max(0, Math.min(top, (long) step));
+		}
+
+		if(this.curve == HILBERT){
+			SpaceFillingCurve.transpose(steps, this.bits);
+		}
+
+		// Interleave the bits, most significant first
+		long key = 0L;
+
+		for(int bit = this.bits - 1; bit >= 0; bit--){
+			for(int a = 0; a < kept; a++){
+				key = (key << 1) | ((steps[a] >>> bit) & 1);
+			}
+		}
+		return key;
+	}
+
+	/**
+	 *	Get the key of an example
+	 *	@param	example: Example object
+	 *	@return	position of the example along the curve
+	 */
+	public long key(Example example){
+		double[] values = new double[example.dimension()];
+		example.copyInto(values);
+		return this.key(values, 0);
+	}
+
+	/**
+	 *	Turn quantized coordinates into the transposed Hilbert index in place
+	 *	(Skilling, "Programming the Hilbert curve", 2004)
+	 *	@param	x: coordinates, each of bits bits
+	 *	@param	bits: bits per coordinate
+	 */
+	private static void transpose(int[] x, int bits){
+		int n = x.length;
+
+		if(n == 0 || bits == 0){
+			return;
+		}
+
+		int m = 1 << (bits - 1);
+
+		// Inverse undo
+		for(int q = m; q > 1; q >>>= 1){
+			int p = q - 1;
+
+			for(int i = 0; i < n; i++){
+				if((x[i] & q) != 0){
+					x[0] ^= p;
+				} else {
+					int t = (x[0] ^ x[i]) & p;
+					x[0] ^= t;
+					x[i] ^= t;
+				}
+			}
+		}
+
+		// Gray encode
+		for(int i = 1; i < n; i++){
+			x[i] ^= x[i - 1];
+		}
+
+		int t = 0;
+		for(int q = m; q > 1; q >>>= 1){
+			if((x[n - 1] & q) != 0){
+				t ^= q - 1;
+			}
+		}
+		for(int i = 0; i < n; i++){
+			x[i] ^= t;
+		}
+	}
+
+	/**
+	 *	Get the positions of a set's examples in curve order
+	 *	@param	examples: ExampleSet object
+	 *	@return	positions in examples, sorted by key; examples with equal keys keep their order
+	 */
+	public int[] order(ExampleSet examples){
+		int		 n		   = examples.size();
+		int[]	 positions = new int[n];
+		long[]	 keys	   = new long[n];
+		double[] row	   = new double[(n == 0) ? 0 : examples.get(0).dimension()];
+
+		for(int i = 0; i < n; i++){
+			examples.get(i).copyInto(row);
+			positions[i] = i;
+			keys[i]		 = this.key(row, 0);
+		}
+
+		this.sort(positions, keys, 0, n);
+		return positions;
+	}
+
+	/**
+	 *	Sort a range of positions by their keys; equal keys keep their order
+	 *	@param	positions: positions to sort
+	 *	@param	keys: key of each position, at the same index (sorted along with positions)
+	 *	@param	from: first index of the range
+	 *	@param	to: one past the last index of the range
+	 */
+	public void sort(int[] positions, long[] keys, int from, int to){
+		if(to - from < 2){
+			return;
+		}
+
+		// Merge sort through a buffer, so the order is stable
+		int	   length	= to - from;
+		int[]  position = new int[length];
+		long[] key		= new long[length];
+
+		for(int width = 1; width < length; width *= 2){
+			for(int lower = 0; lower < length; lower += 2 * width){
+				int middle = Math.min(length, lower + width);
+				int upper  = Math.min(length, lower + 2 * width);
+				int i	   = lower;
+				int j	   = middle;
+
+				for(int out = lower; out < upper; out++){
+					if(j >= upper || (i < middle && keys[from + i] <= keys[from + j])){
+						position[out] = positions[from + i];
+						key[out]	  = keys[from + i++];
+					} else {
+						position[out] = positions[from + j];
+						key[out]	  = keys[from + j++];
+					}
+				}
+			}
+			System.arraycopy(position, 0, positions, from, length);
+			System.arraycopy(key, 0, keys, from, length);
+		}
+	}
+
+	/**
+	 *	Copy a set's examples into a new ExampleSet in curve order. A columnar
+	 *	set is copied into a new ExampleColumns store with its rows in curve
+	 *	order, so neighbouring examples are neighbouring entries of every
+	 *	column, wherever the garbage collector moves the arrays. Otherwise the
+	 *	copies are separate objects allocated one after another, which puts
+	 *	them near each other only until the collector moves them. Sparse
+	 *	examples stay sparse and packed examples stay packed; any other example
+	 *	is copied as a plain Example.
+	 *	@param	examples: ExampleSet object to reorder
+	 *	@param	curve: NONE, MORTON, or HILBERT
+	 *	@return	new ExampleSet in curve order, or examples itself for NONE
+	 */
+	public static ExampleSet reorder(ExampleSet examples, int curve) throws IllegalArgumentException{
+		if(curve == NONE){
+			return examples;
+		}
+		return SpaceFillingCurve.reorder(examples, new SpaceFillingCurve(curve, examples).order(examples));
+	}
+
+	/**
+	 *	Copy a set's examples into a new ExampleSet in a given order (e.g., one
+	 *	from order(), kept by the caller to map the copies back to their
+	 *	positions in examples), the same way as reorder(ExampleSet, int)
+	 *	@param	examples: ExampleSet object to reorder
+	 *	@param	order: position in examples of each example of the copy
+	 *	@return	new ExampleSet in the given order
+	 */
+	public static ExampleSet reorder(ExampleSet examples, int[] order){
+		if(examples.isColumnar()){
+			ExampleColumns source  = examples.getColumns();
+			ExampleColumns columns = new ExampleColumns(source.dimension(), order.length);
+			double[]	   values  = new double[source.dimension()];
+
+			for(int position : order){
+				Example example = examples.get(position);
+				example.copyInto(values);
+				columns.add(values, example.getLabel());
+			}
+			return new ExampleSet(columns, examples.getMembership());
+		}
+
+		ExampleSet reordered = new ExampleSet();
+
+		for(int position : order){
+			Example	 example = examples.get(position);
+
+			if(example instanceof PackedExample){
+				PackedExample packed = (PackedExample) example;
+				reordered.add(new PackedExample(packed.getWords().clone(), packed.getOffsets(), packed.getLabel()));
+				continue;
+			}
+
+			double[] values	 = new double[example.dimension()];
+			example.copyInto(values);
+
+			reordered.add((example instanceof SparseExample) ? new SparseExample(values, example.getLabel()) : new Example(values, example.getLabel()));
+		}
+		return reordered;
+	}
+
+	/**
+	 *	Get the curve
+	 *	@return	MORTON or HILBERT
+	 */
+	public int getCurve(){
+		return this.curve;
+	}
+}
@@ -0,0 +1,306 @@
+/**
+ *	TileScorer finds the nearest training examples for a batch of test
+ *	examples by computing distances tile by tile: a block of test examples
+ *	against a block of training examples, both packed into contiguous double[]
+ *	arrays, instead of going through Example objects one pair at a time. The
+ *	training block is sized to stay in the L2 cache (L2_BYTES) while every test
+ *	example of the query block, sized for the L1 cache (L1_BYTES), is compared
+ *	with it, so each training value is read from memory once per query block
+ *	rather than once per test example.
+ *
+ *	Euclidean distance can use the squared-norm expansion
+ *	||a||^2 + ||b||^2 - 2 a.b with the norms of the training examples computed
+ *	once (see setNormExpansion()). This turns the inner loop into a dot product
+ *	but rounds differently from Distance.getEuclideanDistance(), so near-ties
+ *	may order differently; it is off by default. Without it every distance is
+ *	computed by VectorDistance exactly as the Distance method would compute
+ *	it, so the neighbours are the same as a full scan, and a training example
+ *	stops being measured once it is farther than the k-th nearest so far.
+ *
+ *	TileScorer supports Distance.EUCLIDEAN, Distance.MANHATTAN,
+ *	Distance.CHEBYSHEV and Distance.HAMMING. Once made, it may be used from
+ *	several threads at once. add() appends a training example to the packed
+ *	arrays, which grow by doubling, so it must not run while classify() does.
+ *	setPositions() gives the kernels a map of ids (see Kernel.setPositions()),
+ *	so ties go by the positions the training examples had before IBk
+ *	reordered them.
+ *
+ *	@author		Glenn Abastillas
+ *	@version	1.0.0
+ *	@since		October 18, 2026
+ *
+ *	TileScorer implements the following methods:
+ *		void classify(ExampleSet, int, int, int, int, Double[]):	classify a range of test examples tile by tile
+ *		void add(Example):										append a training example to the packed arrays
+ *		void setNormExpansion(boolean):							use the squared-norm expansion for Euclidean distance
+ *		boolean getNormExpansion():								check if the squared-norm expansion is used
+ *		void setPositions(int[]):								set the map of ids the kernels record
+ *		int getQueryBlock():									get the number of test examples in a tile
+ *		int getTrainBlock():									get the number of training examples in a tile
+ *
+ *	TileScorer is used by the following classes: IBk
+ */
+package edu.classifier.ml;
+
+import java.util.Arrays;
+
+import edu.classifier.dataset.Example;
+import edu.classifier.dataset.ExampleSet;
+
+public class TileScorer{
+
+	public static final int L1_BYTES = 32 * 1024;	// data cache per core the query block is sized for
+	public static final int L2_BYTES = 256 * 1024;	// cache per core the training block is sized for
+
+	// How distances are computed
+	private static final int SQUARED  = 0;	// square root of the sum of squared differences
+	private static final int ABSOLUTE = 1;	// sum of absolute differences
+	private static final int MAXIMUM  = 2;	// largest absolute difference
+	private static final int MISMATCH = 3;	// number of unequal values
+
+	private static final double TOLERANCE = 1e-9;	// relative slack on the squared bound so ties are measured in full
+
+	private int		 dimension;
+	private int		 size;
+	private int		 operation;
+	private boolean	 normExpansion = false;
+	private double[] points;	// training values, dimension values per example, in training set order; may have room for more
+	private double[] norms;		// squared norm of each training example; may have room for more
+	private double[] labels;	// class label of each training example; may have room for more
+	private int[]	 positions = null;	// map of ids given to each Kernel, or null
+	private int		 queryBlock;
+	private int		 trainBlock;
+
+	/**
+	 *	Constructor packing the training examples for a metric
+	 *	@param	trainSet: ExampleSet object with training examples
+	 *	@param	metric: Distance.EUCLIDEAN, Distance.MANHATTAN, Distance.CHEBYSHEV or Distance.HAMMING
+	 */
+	public TileScorer(ExampleSet trainSet, Metric metric) throws IllegalArgumentException{
+		if(metric == Distance.EUCLIDEAN){
+			this.operation = SQUARED;
+		} else if(metric == Distance.MANHATTAN){
+			this.operation = ABSOLUTE;
+		} else if(metric == Distance.CHEBYSHEV){
+			this.operation = MAXIMUM;
+		} else if(metric == Distance.HAMMING){
+			this.operation = MISMATCH;
+		} else {
+			throw new IllegalArgumentException("In TileScorer() constructor, only the Distance metric constants are supported.");
+		}
+
+		this.size	   = trainSet.size();
+		this.dimension = (this.size == 0) ? 0 : trainSet.get(0).dimension();
+		this.points	   = new double[this.size * this.dimension];
+		this.norms	   = new double[this.size];
+		this.labels	   = new double[this.size];
+
+		double[] row = new double[this.dimension];
+
+		// Copy every training example into one packed array
+		for(int i = 0; i < this.size; i++){
+			trainSet.get(i).copyInto(row);
+			System.arraycopy(row, 0, this.points, i * this.dimension, this.dimension);
+			this.norms[i]  = TileScorer.dot(row, 0, row, 0, this.dimension);
+			this.labels[i] = trainSet.get(i).getLabel();
+		}
+
+		this.sizeBlocks();
+	}
+
+	/**
+	 *	Size the query and training blocks for the dimension
+	 */
+	private void sizeBlocks(){
+		// Half of each cache for the block, leaving room for the other block and the kernels
+		int rowBytes	= Math.max(1, this.dimension) * 8;
+		this.queryBlock = Math.max(1, L1_BYTES / 2 / rowBytes);
+		this.trainBlock = Math.max(1, L2_BYTES / 2 / rowBytes);
+	}
+
+	/**
+	 *	Append a training example to the packed arrays, doubling them when they
+	 *	are full, so appending n examples costs O(n * dimension) in all
+	 *	@param	example: Example object appended to the training set
+	 */
+	public void add(Example example){
+		if(this.size == 0){
+			this.dimension = example.dimension();
+			this.sizeBlocks();
+		}
+
+		if(this.size == this.labels.length){
+			int capacity = Math.max(16, 2 * this.size);
+			this.points	 = Arrays.copyOf(this.points, capacity * this.dimension);
+			this.norms	 = Arrays.copyOf(this.norms, capacity);
+			this.labels	 = Arrays.copyOf(this.labels, capacity);
+		}
+
+		double[] row = new double[this.dimension];
+		example.copyInto(row);
+		System.arraycopy(row, 0, this.points, this.size * this.dimension, this.dimension);
+		this.norms[this.size]  = TileScorer.dot(row, 0, row, 0, this.dimension);
+		this.labels[this.size] = example.getLabel();
+		this.size++;
+	}
+
+	/**
+	 *	Use the squared-norm expansion for Euclidean distance
+	 *	@param	normExpansion: true to compute ||a||^2 + ||b||^2 - 2 a.b
+	 */
+	public void setNormExpansion(boolean normExpansion){
+		this.normExpansion = normExpansion;
+	}
+
+	/**
+	 *	Check if the squared-norm expansion is used for Euclidean distance
+	 *	@return	true if it is used
+	 */
+	public boolean getNormExpansion(){
+		return this.normExpansion;
+	}
+
+	/**
+	 *	Set the ids the kernels record for the training examples
+	 *	@param	positions: id to record for each training example, or null to record its position here (see Kernel.setPositions())
+	 */
+	public void setPositions(int[] positions){
+		this.positions = positions;
+	}
+
+	/**
+	 *	Get the number of test examples in a tile
+	 *	@return	query block size
+	 */
+	public int getQueryBlock(){
+		return this.queryBlock;
+	}
+
+	/**
+	 *	Get the number of training examples in a tile
+	 *	@return	training block size
+	 */
+	public int getTrainBlock(){
+		return this.trainBlock;
+	}
+
+	/**
+	 *	Classify a range of test examples tile by tile
+	 *	@param	testSet: ExampleSet object containing test Example objects
+	 *	@param	from: first test example to classify
+	 *	@param	to: one past the last test example to classify
+	 *	@param	k: number of nearest training examples that vote
+	 *	@param	voting: Kernel.UNWEIGHTED or Kernel.WEIGHTED
+	 *	@param	classifications: array to put the label of test example i at index i
+	 */
+	public void classify(ExampleSet testSet, int from, int to, int k, int voting, Double[] classifications){
+		int		 block	= Math.min(this.queryBlock, Math.max(1, to - from));
+		double[] query	= new double[block * this.dimension];
+		double[] norms	= new double[block];
+		double[] row	= new double[this.dimension];
+		Kernel[] kernels = new Kernel[block];
+
+		for(int q = 0; q < block; q++){
+			kernels[q] = new Kernel(k);
+			kernels[q].setPositions(this.positions);
+		}
+
+		// Loop through the test examples one query block at a time
+		for(int lower = from; lower < to; lower += block){
+			int count = Math.min(block, to - lower);
+
+			for(int q = 0; q < count; q++){
+				testSet.get(lower + q).copyInto(row);
+				System.arraycopy(row, 0, query, q * this.dimension, this.dimension);
+				norms[q] = TileScorer.dot(row, 0, row, 0, this.dimension);
+				kernels[q].clear();
+			}
+
+			// Compare the query block with one training block at a time
+			for(int start = 0; start < this.size; start += this.trainBlock){
+				this.tile(query, norms, count, start, Math.min(this.size, start + this.trainBlock), kernels);
+			}
+
+			for(int q = 0; q < count; q++){
+				classifications[lower + q] = kernels[q].getLabel(voting);
+			}
+		}
+	}
+
+	/**
+	 *	Compare every test example of a query block with every training example of a training block
+	 *	@param	query: packed values of the query block
+	 *	@param	queryNorms: squared norm of each test example of the query block
+	 *	@param	count: number of test examples in the query block
+	 *	@param	start: first training example of the training block
+	 *	@param	end: one past the last training example of the training block
+	 *	@param	kernels: one Kernel per test example of the query block
+	 */
+	private void tile(double[] query, double[] queryNorms, int count, int start, int end, Kernel[] kernels){
+		int d = this.dimension;
+
+		for(int q = 0; q < count; q++){
+			Kernel kernel = kernels[q];
+			int	   qo	  = q * d;
+
+			for(int t = start; t < end; t++){
+				int	   to	 = t * d;
+				double worst = kernel.worstDistance();	// distances past this are abandoned
+				double distance;
+
+				switch(this.operation){
+					case SQUARED:
+						if(this.normExpansion){
+							double squared = queryNorms[q] + this.norms[t] - 2.0 * TileScorer.dot(query, qo, this.points, to, d);
+							distance = Math.sqrt(Math.max(0.0, squared));
+						} else {
+							double bound   = worst * worst * (1.0 + TOLERANCE);
+							double squared = VectorDistance.squaredEuclidean(query, qo, this.points, to, d, bound);
+
+							if(squared > bound){
+								continue;
+							}
+							distance = Math.sqrt(squared);
+						}
+						break;
+
+					case ABSOLUTE:
+						distance = VectorDistance.manhattan(query, qo, this.points, to, d, worst);
+						break;
+
+					case MAXIMUM:
+						distance = VectorDistance.chebyshev(query, qo, this.points, to, d, worst);
+						break;
+
+					default:
+						distance = 0.0;
+						for(int j = 0; j < d; j++){
+							if(query[qo + j] != this.points[to + j]){
+								distance += 1;
+							}
+						}
+				}
+
+				kernel.add(distance, this.labels[t], t);
+			}
+		}
+	}
+
+	/**
+	 *	Get the dot product of two rows of packed arrays
+	 *	@param	a: packed array
+	 *	@param	aOffset: start of the row in a
+	 *	@param	b: packed array
+	 *	@param	bOffset: start of the row in b
+	 *	@param	length: number of values in a row
+	 *	@return	dot product
+	 */
+	private static double dot(double[] a, int aOffset, double[] b, int bOffset, int length){
+		double sum = 0.0;
+
+		for(int j = 0; j < length; j++){
+			sum += a[aOffset + j] * b[bOffset + j];
+		}
+		return sum;
+	}
+}
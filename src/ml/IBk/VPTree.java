@@ -0,0 +1,316 @@
+/**
+ *	VPTree (vantage-point tree) is a NeighbourIndex for any Metric that
+ *	satisfies the triangle inequality, including Distance.MANHATTAN,
+ *	Distance.CHEBYSHEV and Distance.HAMMING. It only ever calls the metric, so
+ *	it works on mixed nominal and numeric data where a KDTree cannot be used.
+ *
+ *	Each inner node picks one of its examples as the vantage point and
+ *	measures the distance from it to the node's other examples. The nearer
+ *	half (distance <= radius, the median) goes to the inside child and the
+ *	farther half (distance >= radius) to the outside child. Each leaf holds at
+ *	most LEAF_SIZE examples. By the triangle inequality, an example on the
+ *	inside is at least (d - radius) from a query that is d from the vantage
+ *	point, and an example on the outside at least (radius - d), so a child
+ *	is skipped when that bound is larger than the k-th nearest distance found
+ *	so far. Building takes O(n log n) distance calculations.
+ *
+ *	Query distances are computed with the same Metric as a full scan, and the
+ *	Kernel gives ties to the example earlier in the training set, so search()
+ *	finds the same neighbours as a full scan. The bounds are loosened by
+ *	TOLERANCE (relative) for rounding in the metric, so a neighbour is never
+ *	skipped because of it. Once built, a VPTree may be searched from several
+ *	threads at once.
+ *
+ *	With setCurve(), the examples of each leaf are visited along a
+ *	SpaceFillingCurve; if the training set was reordered along the same curve
+ *	(see IBk.setReordering()), a leaf scan then walks forward through memory.
+ *
+ *	search() with a deadline checks the clock before each leaf once examples
+ *	have been found and stops once the deadline has passed. The child on the
+ *	query's side of the radius is visited first, so the examples found by
+ *	then are mostly near ones.
+ *
+ *	@author		Glenn Abastillas
+ *	@version	1.0.0
+ *	@since		October 18, 2026
+ *
+ *	VPTree implements the following methods:
+ *		void build(ExampleSet, Metric):	build the tree over the training examples
+ *		void search(Example, Kernel):	add the k nearest training examples to a kernel
+ *		boolean search(Example, Kernel, long):	search until a deadline; false if it passed first
+ *		void setCurve(int):				visit the examples of each leaf along a SpaceFillingCurve
+ *		int size():						get the number of indexed examples
+ *
+ *	VPTree is used by the following classes: IBk
+ */
+package edu.classifier.ml;
+
+import java.util.Random;
+
+import edu.classifier.dataset.Example;
+import edu.classifier.dataset.ExampleSet;
+
+public class VPTree implements NeighbourIndex{
+
+	public static final int	   LEAF_SIZE = 16;		// most examples kept in one leaf
+	public static final double TOLERANCE = 1e-9;	// relative slack on the triangle inequality bounds
+
+	private static final long NO_DEADLINE = Long.MIN_VALUE;	// deadline of a search that runs to the end
+
+	private ExampleSet trainSet	 = new ExampleSet();
+	private Metric	   metric	 = Distance.EUCLIDEAN;
+	private long	   seed		 = 7L;				// seed of the Random that picks vantage points
+	private int		   curve	 = SpaceFillingCurve.NONE;	// order of the examples inside a leaf
+	private int		   size		 = 0;
+	private int[]	   positions = new int[0];		// positions in the training set, in tree order
+	private double[]   labels	 = new double[0];	// class label of each example, in training set order
+
+	// Nodes, one entry per node; node 0 is the root
+	private int[]	 vantage = new int[0];		// position (training set) of a node's vantage point, or -1 for a leaf
+	private double[] radius	 = new double[0];	// median distance from the vantage point
+	private int[]	 lower	 = new int[0];		// first example (tree order) of a node, vantage point excluded
+	private int[]	 upper	 = new int[0];		// one past the last example (tree order) of a node
+	private int[]	 inside	 = new int[0];		// child node holding the examples within radius
+	private int[]	 outside = new int[0];		// child node holding the examples beyond radius
+	private int		 nodes	 = 0;
+
+	public VPTree(){
+		// Empty constructor
+	}
+
+	/**
+	 *	Constructor with the seed used to pick vantage points
+	 *	@param	seed: seed of the Random that picks vantage points
+	 */
+	public VPTree(long seed){
+		this.seed = seed;
+	}
+
+	/**
+	 *	Set the order of the examples inside each leaf, used from the next build()
+	 *	@param	curve: SpaceFillingCurve.NONE, MORTON, or HILBERT
+	 */
+	public void setCurve(int curve) throws IllegalArgumentException{
+		if(curve != SpaceFillingCurve.NONE && curve != SpaceFillingCurve.MORTON && curve != SpaceFillingCurve.HILBERT){
+			throw new IllegalArgumentException("In setCurve() method, curve must be SpaceFillingCurve.NONE, MORTON, or HILBERT.");
+		}
+		this.curve = curve;
+	}
+
+	/**
+	 *	Build the tree over the training examples
+	 *	@param	trainSet: ExampleSet object with training examples
+	 *	@param	metric: Metric object satisfying the triangle inequality
+	 */
+	@Override
+	public void build(ExampleSet trainSet, Metric metric){
+		this.trainSet  = trainSet;
+		this.metric	   = metric;
+		this.size	   = trainSet.size();
+		this.positions = new int[this.size];
+
+		this.labels	   = new double[this.size];
+
+		for(int i = 0; i < this.size; i++){
+			this.positions[i] = i;
+			this.labels[i]	  = trainSet.get(i).getLabel();
+		}
+
+		// Every inner node takes one vantage point and leaves at least LEAF_SIZE / 2 examples per child
+		int capacity = 4 * this.size / LEAF_SIZE + 1;
+		this.vantage = new int[capacity];
+		this.radius	 = new double[capacity];
+		this.lower	 = new int[capacity];
+		this.upper	 = new int[capacity];
+		this.inside	 = new int[capacity];
+		this.outside = new int[capacity];
+		this.nodes	 = 0;
+
+		if(this.size > 0){
+			this.buildNode(0, this.size, new double[this.size], new Random(this.seed));
+		}
+
+		// Order the examples inside each leaf along the curve
+		if(this.curve != SpaceFillingCurve.NONE && this.size > 0){
+			SpaceFillingCurve spaceFillingCurve = new SpaceFillingCurve(this.curve, trainSet);
+			long[] keys = new long[this.size];
+
+			for(int i = 0; i < this.size; i++){
+				keys[i] = spaceFillingCurve.key(trainSet.get(this.positions[i]));
+			}
+			for(int node = 0; node < this.nodes; node++){
+				if(this.vantage[node] < 0){
+					spaceFillingCurve.sort(this.positions, keys, this.lower[node], this.upper[node]);
+				}
+			}
+		}
+	}
+
+	/**
+	 *	Build the node holding the examples in positions[from, to)
+	 *	@param	from: first example of the node
+	 *	@param	to: one past the last example of the node
+	 *	@param	distances: scratch space, one entry per example
+	 *	@param	randomNumberGenerator: seeded Random that picks vantage points
+	 *	@return	index of the new node
+	 */
+	private int buildNode(int from, int to, double[] distances, Random randomNumberGenerator){
+		int node = this.nodes++;
+		this.vantage[node] = -1;
+		this.lower[node]   = from;
+		this.upper[node]   = to;
+
+		if(to - from <= LEAF_SIZE){
+			return node;
+		}
+
+		// Move a random vantage point to the front of the node
+		this.swap(distances, from, from + randomNumberGenerator.nextInt(to - from));
+		Example vantagePoint = this.trainSet.get(this.positions[from]);
+
+		for(int i = from + 1; i < to; i++){
+			distances[i] = this.metric.distance(vantagePoint, this.trainSet.get(this.positions[i]));
+		}
+
+		// Split the other examples at the median distance
+		int middle = (from + 1 + to) >>> 1;
+		this.select(distances, from + 1, to - 1, middle);
+
+		this.vantage[node] = this.positions[from];
+		this.radius[node]  = distances[middle];
+		this.lower[node]   = from + 1;
+		this.inside[node]  = this.buildNode(from + 1, middle, distances, randomNumberGenerator);
+		this.outside[node] = this.buildNode(middle, to, distances, randomNumberGenerator);
+		return node;
+	}
+
+	/**
+	 *	Reorder positions[from, to] (and their distances) so that the example at
+	 *	target has the distance it would have if they were sorted, with smaller
+	 *	distances before it and larger distances after it (quickselect)
+	 *	@param	distances: distance of each example from the vantage point
+	 *	@param	from: first example to reorder
+	 *	@param	to: last example to reorder (inclusive)
+	 *	@param	target: example whose place to find
+	 */
+	private void select(double[] distances, int from, int to, int target){
+		while(from < to){
+			double pivot = distances[(from + to) >>> 1];
+			int i = from;
+			int j = to;
+
+			while(i <= j){
+				while(distances[i] < pivot){
+					i++;
+				}
+				while(distances[j] > pivot){
+					j--;
+				}
+				if(i <= j){
+					this.swap(distances, i++, j--);
+				}
+			}
+
+			if(target <= j){
+				to = j;
+			} else if(target >= i){
+				from = i;
+			} else {
+				return;
+			}
+		}
+	}
+
+	// Swap two examples (tree order) and their distances
+	private void swap(double[] distances, int i, int j){
+		int	   position = this.positions[i];
+		double distance = distances[i];
+
+		this.positions[i] = this.positions[j];
+		distances[i]	  = distances[j];
+		this.positions[j] = position;
+		distances[j]	  = distance;
+	}
+
+	/**
+	 *	Add the k nearest training examples to a kernel
+	 *	@param	query: Example object to find neighbours of
+	 *	@param	kernel: Kernel to add the examples to, with their positions as ids
+	 */
+	@Override
+	public void search(Example query, Kernel kernel){
+		this.search(query, kernel, NO_DEADLINE);
+	}
+
+	/**
+	 *	Add the nearest training examples found before a deadline to a kernel
+	 *	@param	query: Example object to find neighbours of
+	 *	@param	kernel: Kernel to add the examples to, with their positions as ids
+	 *	@param	deadline: System.nanoTime() value to stop at
+	 *	@return	true if the search finished before the deadline
+	 */
+	@Override
+	public boolean search(Example query, Kernel kernel, long deadline){
+		return (this.size == 0) || this.searchNode(0, query, kernel, deadline);
+	}
+
+	/**
+	 *	Search a node, the child on the query's side of the radius first
+	 *	@param	node: node to search
+	 *	@param	query: Example object to find neighbours of
+	 *	@param	kernel: nearest examples found so far
+	 *	@param	deadline: System.nanoTime() value to stop at, or NO_DEADLINE
+	 *	@return	false if the deadline passed before the node was searched in full
+	 */
+	private boolean searchNode(int node, Example query, Kernel kernel, long deadline){
+
+		// Leaf: check every example in it, unless examples have been found and the deadline has passed
+		if(this.vantage[node] < 0){
+			if(deadline != NO_DEADLINE && kernel.size() > 0 && System.nanoTime() - deadline >= 0){
+				return false;
+			}
+			for(int i = this.lower[node]; i < this.upper[node]; i++){
+				kernel.add(this.metric.distance(query, this.trainSet.get(this.positions[i])), this.labels[this.positions[i]], this.positions[i]);
+			}
+			return true;
+		}
+
+		double distance = this.metric.distance(query, this.trainSet.get(this.vantage[node]));
+		double radius	= this.radius[node];
+		kernel.add(distance, this.labels[this.vantage[node]], this.vantage[node]);
+
+		// Loosen the bounds by the rounding the metric may have made in either distance
+		double slack = TOLERANCE * (distance + radius);
+
+		if(distance < radius){
+			return this.searchChild(this.inside[node], 0.0, query, kernel, deadline)
+				&& this.searchChild(this.outside[node], radius - distance - slack, query, kernel, deadline);
+		}
+		return this.searchChild(this.outside[node], 0.0, query, kernel, deadline)
+			&& this.searchChild(this.inside[node], distance - radius - slack, query, kernel, deadline);
+	}
+
+	/**
+	 *	Search a child node unless every example in it is farther than the k-th nearest so far
+	 *	@param	node: child node to search
+	 *	@param	bound: lower bound on the distance from the query to the examples in node
+	 *	@param	query: Example object to find neighbours of
+	 *	@param	kernel: nearest examples found so far
+	 *	@param	deadline: System.nanoTime() value to stop at, or NO_DEADLINE
+	 *	@return	false if the deadline passed before the node was searched in full
+	 */
+	private boolean searchChild(int node, double bound, Example query, Kernel kernel, long deadline){
+		if(bound <= kernel.worstDistance()){
+			return this.searchNode(node, query, kernel, deadline);
+		}
+		return true;
+	}
+
+	/**
+	 *	Get the number of indexed examples
+	 *	@return	number of examples
+	 */
+	public int size(){
+		return this.size;
+	}
+}
@@ -0,0 +1,187 @@
+/**
+ *	VectorDistance contains static methods to calculate the distance between
+ *	two rows of double[] arrays: squared Euclidean, Manhattan, Chebyshev and
+ *	Minkowski-p. It is the primitive core of the Distance metrics, the KDTree
+ *	and the TileScorer, and can be used by any other code holding values in
+ *	arrays (e.g., clustering).
+ *
+ *	When the class is loaded it tries to load SimdDistance, which works on
+ *	several attributes at once with the JDK Vector API (jdk.incubator.vector).
+ *	If the module is not available, or the system property SCALAR_PROPERTY is
+ *	"true", it uses ScalarDistance, a plain loop, instead. SimdDistance is in
+ *	the src-simd source root, compiled by build.sh only when the module is
+ *	present. The same implementation is used for every call, so distances
+ *	computed anywhere in one JVM agree to the last bit and ties are broken the
+ *	same way.
+ *
+ *	The methods that take a bound stop early once the partial result is
+ *	larger than the bound and return that partial result, which is then also
+ *	larger than the bound. A search passes the k-th nearest distance found so
+ *	far (squared, or raised to p, to match the result) so that most of a far
+ *	example is never read. A result that is not larger than the bound is the
+ *	same as the result without one.
+ *
+ *	@author		Glenn Abastillas
+ *	@version	1.0.0
+ *	@since		October 18, 2026
+ *
+ *	VectorDistance implements the following methods:
+ *		double squaredEuclidean(double[], double[]):							get the sum of squared differences
+ *		double squaredEuclidean(double[], int, double[], int, int, double):		get the sum of squared differences, stopping above a bound
+ *		double euclidean(double[], double[]):									get the Euclidean distance
+ *		double manhattan(double[], double[]):									get the sum of absolute differences
+ *		double manhattan(double[], int, double[], int, int, double):			get the sum of absolute differences, stopping above a bound
+ *		double chebyshev(double[], double[]):									get the largest absolute difference
+ *		double chebyshev(double[], int, double[], int, int, double):			get the largest absolute difference, stopping above a bound
+ *		double minkowski(double[], double[], double):							get the Minkowski distance of order p
+ *		double minkowskiSum(double[], int, double[], int, int, double, double):	get the sum of absolute differences raised to p, stopping above a bound
+ *		boolean isVectorized():													check if the Vector API implementation is used
+ *
+ *	VectorDistance is used by the following classes: Distance, KDTree, TileScorer
+ */
+package edu.classifier.ml;
+
+public final class VectorDistance{
+
+	public static final String SCALAR_PROPERTY = "edu.classifier.ml.scalarDistance";	// set to "true" to skip the Vector API
+
+	private static final DistanceFunctions FUNCTIONS = VectorDistance.load();
+
+	private VectorDistance(){
+		// Static methods only
+	}
+
+	/**
+	 *	Load SimdDistance if the Vector API is available, or ScalarDistance
+	 *	@return	DistanceFunctions object used by every call
+	 */
+	private static DistanceFunctions load(){
+		if(!Boolean.getBoolean(SCALAR_PROPERTY)){
+			try{
+				return (DistanceFunctions) Class.forName("edu.classifier.ml.SimdDistance").getDeclaredConstructor().newInstance();
+			} catch(ReflectiveOperationException | LinkageError e){
+				// The jdk.incubator.vector module is not resolved; fall back to the plain loop
+			}
+		}
+		return new ScalarDistance();
+	}
+
+	/**
+	 *	Check if the Vector API implementation is used
+	 *	@return	true if distances are computed with jdk.incubator.vector
+	 */
+	public static boolean isVectorized(){
+		return !(FUNCTIONS instanceof ScalarDistance);
+	}
+
+	/**
+	 *	Calculate the sum of squared differences between two arrays
+	 *	@param	a: array of values
+	 *	@param	b: array of values, at least as long as a
+	 *	@return	squared Euclidean distance
+	 */
+	public static double squaredEuclidean(double[] a, double[] b){
+		return FUNCTIONS.squaredEuclidean(a, 0, b, 0, a.length, Double.POSITIVE_INFINITY);
+	}
+
+	/**
+	 *	Calculate the sum of squared differences between two rows, stopping once it is larger than a bound
+	 *	@param	a: array of values
+	 *	@param	aOffset: start of the row in a
+	 *	@param	b: array of values
+	 *	@param	bOffset: start of the row in b
+	 *	@param	length: number of values in a row
+	 *	@param	bound: squared distance beyond which the result is not needed
+	 *	@return	squared Euclidean distance, or a partial sum larger than bound
+	 */
+	public static double squaredEuclidean(double[] a, int aOffset, double[] b, int bOffset, int length, double bound){
+		return FUNCTIONS.squaredEuclidean(a, aOffset, b, bOffset, length, bound);
+	}
+
+	/**
+	 *	Calculate the Euclidean distance between two arrays
+	 *	@param	a: array of values
+	 *	@param	b: array of values, at least as long as a
+	 *	@return	Euclidean distance
+	 */
+	public static double euclidean(double[] a, double[] b){
+		return Math.sqrt(VectorDistance.squaredEuclidean(a, b));
+	}
+
+	/**
+	 *	Calculate the sum of absolute differences between two arrays
+	 *	@param	a: array of values
+	 *	@param	b: array of values, at least as long as a
+	 *	@return	Manhattan distance
+	 */
+	public static double manhattan(double[] a, double[] b){
+		return FUNCTIONS.manhattan(a, 0, b, 0, a.length, Double.POSITIVE_INFINITY);
+	}
+
+	/**
+	 *	Calculate the sum of absolute differences between two rows, stopping once it is larger than a bound
+	 *	@param	a: array of values
+	 *	@param	aOffset: start of the row in a
+	 *	@param	b: array of values
+	 *	@param	bOffset: start of the row in b
+	 *	@param	length: number of values in a row
+	 *	@param	bound: distance beyond which the result is not needed
+	 *	@return	Manhattan distance, or a partial sum larger than bound
+	 */
+	public static double manhattan(double[] a, int aOffset, double[] b, int bOffset, int length, double bound){
+		return FUNCTIONS.manhattan(a, aOffset, b, bOffset, length, bound);
+	}
+
+	/**
+	 *	Calculate the largest absolute difference between two arrays
+	 *	@param	a: array of values
+	 *	@param	b: array of values, at least as long as a
+	 *	@return	Chebyshev distance, or NEGATIVE_INFINITY if a is empty
+	 */
+	public static double chebyshev(double[] a, double[] b){
+		return FUNCTIONS.chebyshev(a, 0, b, 0, a.length, Double.POSITIVE_INFINITY);
+	}
+
+	/**
+	 *	Calculate the largest absolute difference between two rows, stopping once it is larger than a bound
+	 *	@param	a: array of values
+	 *	@param	aOffset: start of the row in a
+	 *	@param	b: array of values
+	 *	@param	bOffset: start of the row in b
+	 *	@param	length: number of values in a row
+	 *	@param	bound: distance beyond which the result is not needed
+	 *	@return	Chebyshev distance, or a partial maximum larger than bound
+	 */
+	public static double chebyshev(double[] a, int aOffset, double[] b, int bOffset, int length, double bound){
+		return FUNCTIONS.chebyshev(a, aOffset, b, bOffset, length, bound);
+	}
+
+	/**
+	 *	Calculate the Minkowski distance of order p between two arrays
+	 *	@param	a: array of values
+	 *	@param	b: array of values, at least as long as a
+	 *	@param	p: order of the distance (1 is Manhattan, 2 is Euclidean)
+	 *	@return	p-th root of the sum of absolute differences raised to p
+	 */
+	public static double minkowski(double[] a, double[] b, double p) throws IllegalArgumentException{
+		if(!(p > 0.0)){
+			throw new IllegalArgumentException("In minkowski() method, p must be greater than 0.");
+		}
+		return Math.pow(FUNCTIONS.minkowski(a, 0, b, 0, a.length, p, Double.POSITIVE_INFINITY), 1.0 / p);
+	}
+
+	/**
+	 *	Calculate the sum of absolute differences raised to p between two rows, stopping once it is larger than a bound
+	 *	@param	a: array of values
+	 *	@param	aOffset: start of the row in a
+	 *	@param	b: array of values
+	 *	@param	bOffset: start of the row in b
+	 *	@param	length: number of values in a row
+	 *	@param	p: order of the distance
+	 *	@param	bound: sum beyond which the result is not needed (the distance raised to p)
+	 *	@return	sum of absolute differences raised to p, or a partial sum larger than bound
+	 */
+	public static double minkowskiSum(double[] a, int aOffset, double[] b, int bOffset, int length, double p, double bound){
+		return FUNCTIONS.minkowski(a, aOffset, b, bOffset, length, p, bound);
+	}
+}
@@ -41,7 +41,7 @@ public class Perceptron{
 	private void initializeWeights(Example example, Double initialValue){
 
 		// Loop through the Example object's attributes to size the weights HashMap
-		for(int i=0; i<example.size(); i++){
+		for(int i=0; i<example.dimension(); i++){
 			weights.put(i, initialValue);
 		}
 	}
@@ -64,12 +64,13 @@ public class Perceptron{
 	 *	@return	Double value resulting from a dot product of the vectors
 	 */
 	private Double dot(Example example){
-		Double indexicalProduct;
-		Double sumOfProducts;
+		double indexicalProduct;
+		double sumOfProducts = 0.0;
+		int dimension = example.dimension();
 
 		// Loop through the example and weight vectors
-		for(int i=0; i < example.size(); i++){
-			indexicalProduct = weights.get(i) * example.getValue(i);
+		for(int i=0; i < dimension; i++){
+			indexicalProduct = weights.get(i) * example.valueAt(i);
 			sumOfProducts += indexicalProduct;
 		}
 
@@ -83,10 +84,11 @@ public class Perceptron{
 	 */
 	private void updateWeights(Example example, Double correction){
 		Double updatedWeight;
+		int dimension = example.dimension();
 
 		// Loop through the example values and weights to update them
-		for(int i=0; i < example.size(); i++){
-			updatedWeight = weights.get(i) + (example.getValue(i) * correction);
+		for(int i=0; i < dimension; i++){
+			updatedWeight = weights.get(i) + (example.valueAt(i) * correction);
 			weights.put(i, updatedWeight);
 		}
 	}
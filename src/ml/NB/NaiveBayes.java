@@ -3,10 +3,16 @@
  *	of a data value appearing by calculating it's probability given the a 
  *	particular class label.
  *	
+ *	SparseExamples are counted by their non-zero values only; the count of 0.0
+ *	for each attribute is inferred from the number of examples with the label.
+ *	They are also scored by their non-zero values only, starting from a cached
+ *	score of the all-zero example for each label.
+ *	
  *	@author		Glenn Abastillas
  *	@version	1.0.0
  *	@since		March 27, 2016
  *	
+ *	@update		October 18, 2026	counting and scoring of SparseExamples scale with their non-zero values
  */
 package edu.classifier.ml;
 
@@ -16,6 +22,7 @@ import java.util.Collections;
 import edu.classifier.dataset.DataSet;
 import edu.classifier.dataset.Example;
 import edu.classifier.dataset.ExampleSet;
+import edu.classifier.dataset.SparseExample;
 import edu.classifier.dataset.AttributeSet;
 import edu.classifier.ml.NaiveBayesMath;
 
@@ -28,6 +35,13 @@ public class NaiveBayes{
 	private HashMap<Double, HashMap<Integer, HashMap<Double, Double>>> trainSet = new HashMap<>();
 	private HashMap<Double, Double> trainSetLabelCounts = new HashMap<>();
 	private ArrayList<Integer> trainSetAttributeTypes = new ArrayList<>();
+	private int trainSetDimension = 0;	// most attribute values seen in a counted example
+
+	/**	Score terms of the value 0.0 for each class label, made the first time a SparseExample is scored:
+	 *	key		== Double		class label
+	 *	value	== double[]		term of 0.0 for each attribute, followed by the sum of those terms
+	 */
+	private HashMap<Double, double[]> zeroTerms = new HashMap<>();
 	
 	public NaiveBayes(){
 		// Empty constructor
@@ -46,15 +60,119 @@ public class NaiveBayes{
 	 *	@param	trainSet: ExampleSet object with training examples
 	 */
 	public void train(AttributeSet attributeSet, ExampleSet trainSet){
-		ArrayList<Double> trainSetLabels = new ArrayList<>(trainSet.getLabels());
+		// Loop through the trainSet's labels and get counts for the attributes given that label
+		for(Map.Entry<Double, Integer> labelCount : trainSet.getLabelCounts().entrySet()){
+			this.trainSet.put(labelCount.getKey(), this.getCounts(trainSet.getExamplesWithLabel(labelCount.getKey())));
+			this.trainSetLabelCounts.put(labelCount.getKey(), (double) labelCount.getValue());
+		}
+
+		trainSetAttributeTypes = attributeSet.getTypes();
+		this.zeroTerms.clear();
+	}
+
+	/**
+	 *	Train the NaiveBayes classifier one example at a time (e.g., from a GlaReader)
+	 *	so that the training examples never have to be held in memory together
+	 *	@param	attributeSet: AttributeSet describing the examples
+	 *	@param	examples: Iterator over the training examples
+	 */
+	public void train(AttributeSet attributeSet, Iterator<Example> examples){
 
-		// Loop through the trainSetLabels and get counts for the attributes given that label
-		for(Double trainSetLabel : trainSetLabels){
-			this.trainSet.put(trainSetLabel, this.getCounts(trainSet.getExamplesWithLabel(trainSetLabel)));
-			this.trainSetLabelCounts.put(trainSetLabel, (double) trainSet.getExamplesWithLabel(trainSetLabel).size());
+		// Loop through the examples and add each one to the counts for its label
+		while(examples.hasNext()){
+			this.count(examples.next());
 		}
 
+		this.countZeros();
 		trainSetAttributeTypes = attributeSet.getTypes();
+		this.zeroTerms.clear();
+	}
+
+	/**
+	 *	Add one example to the class label counts and attribute value counts. Only
+	 *	the non-zero values of a SparseExample are counted; call countZeros() once
+	 *	the examples have been counted to add the zeros.
+	 *	@param	example: Example object to count
+	 */
+	protected void count(Example example){
+		Double classLabel = example.getLabel();
+		HashMap<Integer, HashMap<Double, Double>> labelCounts = this.trainSet.get(classLabel);
+
+		if(labelCounts == null){
+			labelCounts = new HashMap<>();
+			this.trainSet.put(classLabel, labelCounts);
+			this.trainSetLabelCounts.put(classLabel, 0.0);
+		}
+
+		this.trainSetLabelCounts.put(classLabel, this.trainSetLabelCounts.get(classLabel) + 1.0);
+		this.trainSetDimension = Math.max(this.trainSetDimension, example.dimension());
+		this.zeroTerms.clear();
+
+		// Loop through the non-zero values of a sparse example
+		if(example instanceof SparseExample){
+			SparseExample sparse = (SparseExample) example;
+
+			for(int k=0; k<sparse.nonZeroCount(); k++){
+				NaiveBayes.count(labelCounts, sparse.indexAt(k), sparse.nonZeroAt(k));
+			}
+			return;
+		}
+
+		// Loop through the attributes and count this example's value for each
+		for(int i=0; i<example.dimension(); i++){
+			NaiveBayes.count(labelCounts, i, example.valueAt(i));
+		}
+	}
+
+	/**
+	 *	Add one to the count of a value of an attribute
+	 *	@param	labelCounts: attribute value counts of a class label
+	 *	@param	attributeIndex: attribute's index
+	 *	@param	attributeValue: value of the attribute
+	 */
+	private static void count(HashMap<Integer, HashMap<Double, Double>> labelCounts, int attributeIndex, double attributeValue){
+		HashMap<Double, Double> featureCounts = labelCounts.get(attributeIndex);
+
+		if(featureCounts == null){
+			featureCounts = new HashMap<>();
+			labelCounts.put(attributeIndex, featureCounts);
+		}
+
+		featureCounts.merge(attributeValue, 1.0, Double::sum);
+	}
+
+	/**
+	 *	Add the zeros left out by count() for SparseExamples. Every counted
+	 *	example has one value for each attribute, so the examples of a label not
+	 *	counted for an attribute had 0.0 there.
+	 */
+	protected void countZeros(){
+		for(Map.Entry<Double, HashMap<Integer, HashMap<Double, Double>>> labelCounts : this.trainSet.entrySet()){
+			NaiveBayes.countZeros(labelCounts.getValue(), this.trainSetLabelCounts.get(labelCounts.getKey()), this.trainSetDimension);
+		}
+	}
+
+	/**
+	 *	Add the zeros left out for the attributes of one class label
+	 *	@param	labelCounts: attribute value counts of a class label
+	 *	@param	examples: number of examples counted for the class label
+	 *	@param	dimension: number of attributes
+	 */
+	private static void countZeros(HashMap<Integer, HashMap<Double, Double>> labelCounts, double examples, int dimension){
+		for(int i=0; i<dimension; i++){
+			HashMap<Double, Double> featureCounts = labelCounts.get(i);
+
+			if(featureCounts == null){
+				featureCounts = new HashMap<>();
+				labelCounts.put(i, featureCounts);
+			}
+
+			double zeros = examples - NaiveBayesMath.sum(featureCounts.values());
+
+			if(zeros > 0.0){
+				featureCounts.merge(0.0, zeros, Double::sum);
+			}
+		}
 	}
 
 	/**
@@ -89,34 +207,34 @@ public class NaiveBayes{
 	}
 
 	/**
-	 *	Count the data values in the specified ExampleSet input
+	 *	Count the data values in the specified ExampleSet input. Only the non-zero
+	 *	values of SparseExamples are visited; their zeros are inferred.
 	 *	@param	trainSetStratum:
-	 *	@return	List with two items: (1) class label counts and (2) HashMap of Attribute counts
+	 *	@return	HashMap of Attribute counts: attribute index to (attribute value to count)
 	 */
 	protected HashMap<Integer, HashMap<Double, Double>> getCounts(ExampleSet exampleSet){
 		HashMap<Integer, HashMap<Double, Double>> exampleSetCounts = new HashMap<>();
+		int dimension = exampleSet.get(0).dimension();
 
-		// Loop through all the attributes
-		for(int i=0; i<exampleSet.get(0).size(); i++){
-
-			// Make a HashMap mapping the attribute value to its frequency
-			HashMap<Double, Double> featureCounts = new HashMap<>();
-
-			// Get all the attribute values for this attribute - list and set
-			ArrayList<Double> featureValues  = exampleSet.getFeatureValues(i);
-			HashSet<Double> featureValuesSet = new HashSet<>(featureValues);
+		// Loop through the examples and count each value (or each non-zero value of a sparse example)
+		for(Example example : exampleSet){
+			if(example instanceof SparseExample){
+				SparseExample sparse = (SparseExample) example;
 
-			// Loop through the attribute values for this attribute
-			for(Double value : featureValuesSet){
-
-				// Count the occurrence of each attribute value
-				featureCounts.put(value, (double) Collections.frequency(featureValues, value));
+				for(int k=0; k<sparse.nonZeroCount(); k++){
+					NaiveBayes.count(exampleSetCounts, sparse.indexAt(k), sparse.nonZeroAt(k));
+				}
+			} else {
+				for(int i=0; i<example.dimension(); i++){
+					NaiveBayes.count(exampleSetCounts, i, example.valueAt(i));
+				}
 			}
-
-			// Map this attribute index to a list of the attributes
-			exampleSetCounts.put(i, featureCounts);
 		}
 
+		// Add the zeros left out for sparse examples
+		NaiveBayes.countZeros(exampleSetCounts, exampleSet.size(), dimension);
+		this.trainSetDimension = Math.max(this.trainSetDimension, dimension);
+
 		return exampleSetCounts;
 	}
 
@@ -159,20 +277,67 @@ public class NaiveBayes{
 		Double classProbability  = getProbabilityForClass(classLabel);
 		Double outputProbability = -Math.log10(classProbability);
 
-		// Loop through the example's feature values and calculate their probabilities
-		for(int i=0; i<example.size(); i++){
-			Double attributeProbability = getProbabilityForAttribute(classLabel, i, example.getValue(i));
-			
-			// Calculate the total output probability; if 0.0 or NaN, assign 0.0
-			if(attributeProbability.equals(0.0) || Double.isNaN(attributeProbability)){
-				outputProbability += 0.0;
-			} else {
-				outputProbability += -Math.log10(attributeProbability);
+		// Start a sparse example from the score of the all-zero example and correct it at each non-zero value
+		if(example instanceof SparseExample){
+			SparseExample sparse = (SparseExample) example;
+			double[] zeroTerms	 = this.getZeroTerms(classLabel);
+
+			outputProbability += zeroTerms[zeroTerms.length-1];
+
+			for(int k=0; k<sparse.nonZeroCount(); k++){
+				int i = sparse.indexAt(k);
+				outputProbability += getTerm(classLabel, i, sparse.nonZeroAt(k)) - zeroTerms[i];
 			}
+			return outputProbability;
+		}
+
+		// Loop through the example's feature values and calculate their probabilities
+		int dimension = example.dimension();
+
+		for(int i=0; i<dimension; i++){
+			outputProbability += getTerm(classLabel, i, example.valueAt(i));
 		}
 		return outputProbability;
 	}
 
+	/**
+	 *	Get the score term of one attribute value: -log10 of its probability, or
+	 *	0.0 if the probability is 0.0 or NaN
+	 *	@param	classLabel: class whose probability to calculate
+	 *	@param	attributeIndex: attribute's index
+	 *	@param	attributeValue: attribute's value at specified index
+	 *	@return	score term
+	 */
+	private double getTerm(Double classLabel, int attributeIndex, double attributeValue){
+		Double attributeProbability = getProbabilityForAttribute(classLabel, attributeIndex, attributeValue);
+
+		// Calculate the term; if 0.0 or NaN, assign 0.0
+		if(attributeProbability.equals(0.0) || Double.isNaN(attributeProbability)){
+			return 0.0;
+		}
+		return -Math.log10(attributeProbability);
+	}
+
+	/**
+	 *	Get the score terms of the value 0.0 for a class label, computing them the first time
+	 *	@param	classLabel: class whose terms to get
+	 *	@return	term of 0.0 for each attribute, followed by the sum of those terms
+	 */
+	private double[] getZeroTerms(Double classLabel){
+		double[] terms = this.zeroTerms.get(classLabel);
+
+		if(terms == null){
+			terms = new double[this.trainSetDimension + 1];
+
+			for(int i=0; i<this.trainSetDimension; i++){
+				terms[i] = getTerm(classLabel, i, 0.0);
+				terms[this.trainSetDimension] += terms[i];
+			}
+			this.zeroTerms.put(classLabel, terms);
+		}
+		return terms;
+	}
+
 	/**
 	 *	Get specified class probability
 	 *	@param	classLabel: class whose probability to calculate
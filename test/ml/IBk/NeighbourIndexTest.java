@@ -0,0 +1,197 @@
+/**
+ *	NeighbourIndexTest checks that the exact neighbour searches of IBk find
+ *	the same neighbours as a full scan (IBk with no index): KDTree, VPTree,
+ *	InvertedIndex, and the TileScorer without the squared-norm expansion.
+ *	Each runs on small seeded data sets, one of them tie-heavy nominal data
+ *	where many training examples are at the same distance from a query, so
+ *	the ids of the neighbours must match, not only the labels. It also checks
+ *	that reordering the training set along a SpaceFillingCurve changes no
+ *	label.
+ *
+ *	Run with build.sh test; the process exits with status 1 if a check fails.
+ *
+ *	@author		Glenn Abastillas
+ *	@version	1.0.0
+ *	@since		October 18, 2026
+ *
+ *	NeighbourIndexTest implements the following methods:
+ *		static ExampleSet nominal(int, int, int, Random):		make examples with a few values per attribute
+ *		static ExampleSet gaussian(int, int, Random):			make examples with normally distributed values
+ *		static void compare(String, IBk, IBk, ExampleSet):	check that two classifiers find the same neighbours
+ */
+package edu.classifier.ml;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Random;
+
+import edu.classifier.dataset.Example;
+import edu.classifier.dataset.ExampleSet;
+
+public class NeighbourIndexTest{
+
+	private static int checks	= 0;
+	private static int failures = 0;
+
+	/**
+	 *	Make examples whose values are codes 0 to values - 1, so many are at the same distance
+	 *	@param	size: number of examples
+	 *	@param	dimension: number of attributes
+	 *	@param	values: number of values per attribute
+	 *	@param	randomNumberGenerator: seeded Random
+	 *	@return	ExampleSet object with labels 0, 1 and 2
+	 */
+	static ExampleSet nominal(int size, int dimension, int values, Random randomNumberGenerator){
+		ExampleSet examples = new ExampleSet();
+
+		for(int i = 0; i < size; i++){
+			double[] row = new double[dimension];
+
+			for(int j = 0; j < dimension; j++){
+				row[j] = randomNumberGenerator.nextInt(values);
+			}
+			examples.add(new Example(row, (double) randomNumberGenerator.nextInt(3)));
+		}
+		return examples;
+	}
+
+	/**
+	 *	Make examples with normally distributed values
+	 *	@param	size: number of examples
+	 *	@param	dimension: number of attributes
+	 *	@param	randomNumberGenerator: seeded Random
+	 *	@return	ExampleSet object with labels 0, 1 and 2
+	 */
+	static ExampleSet gaussian(int size, int dimension, Random randomNumberGenerator){
+		ExampleSet examples = new ExampleSet();
+
+		for(int i = 0; i < size; i++){
+			double[] row = new double[dimension];
+
+			for(int j = 0; j < dimension; j++){
+				row[j] = randomNumberGenerator.nextGaussian();
+			}
+			examples.add(new Example(row, (double) randomNumberGenerator.nextInt(3)));
+		}
+		return examples;
+	}
+
+	/**
+	 *	Check that a classifier finds the same neighbours, in the same order,
+	 *	and gives the same labels as a full scan
+	 *	@param	name: name of the case, printed if it fails
+	 *	@param	scan: IBk with no index
+	 *	@param	other: IBk to check
+	 *	@param	testSet: ExampleSet object with test examples
+	 */
+	static void compare(String name, IBk scan, IBk other, ExampleSet testSet){
+		Kernel expected = new Kernel(scan.getK());
+		Kernel actual	= new Kernel(other.getK());
+		int	   wrong	= 0;
+
+		for(Example e : testSet){
+			Double label = scan.classify(e, expected);
+
+			if(!label.equals(other.classify(e, actual)) || !Arrays.equals(expected.getIds(), actual.getIds())){
+				wrong++;
+			}
+		}
+		NeighbourIndexTest.check(name, wrong == 0, wrong + " of " + testSet.size() + " test examples differ");
+	}
+
+	// Check that a classifier labels a test set the same as a full scan, e.g. through test()
+	private static void compareLabels(String name, ArrayList<Double> expected, ArrayList<Double> actual){
+		int wrong = 0;
+
+		for(int i = 0; i < expected.size(); i++){
+			if(!expected.get(i).equals(actual.get(i))){
+				wrong++;
+			}
+		}
+		NeighbourIndexTest.check(name, wrong == 0, wrong + " of " + expected.size() + " labels differ");
+	}
+
+	// Count a check, and print it if it failed
+	private static void check(String name, boolean passed, String detail){
+		checks++;
+
+		if(!passed){
+			failures++;
+			System.out.println("FAILED " + name + ": " + detail);
+		}
+	}
+
+	// Make an IBk over a training set
+	private static IBk train(ExampleSet trainSet, Metric metric, int k, int voting, NeighbourIndex index){
+		IBk ibk = new IBk(k);
+		ibk.setMetric(metric);
+		ibk.setVoting(voting);
+		ibk.setIndex(index);
+		ibk.train(trainSet);
+		return ibk;
+	}
+
+	public static void main(String[] args){
+		Random random = new Random(11);
+
+		ExampleSet nominalTrain	 = NeighbourIndexTest.nominal(600, 6, 3, random);
+		ExampleSet nominalTest	 = NeighbourIndexTest.nominal(150, 6, 3, random);
+		ExampleSet gaussianTrain = NeighbourIndexTest.gaussian(600, 5, random);
+		ExampleSet gaussianTest	 = NeighbourIndexTest.gaussian(150, 5, random);
+
+		for(int k : new int[]{1, 4, 7}){
+			for(int voting : new int[]{Kernel.UNWEIGHTED, Kernel.WEIGHTED}){
+				String suffix = " k=" + k + " voting=" + voting;
+
+				// Tie-heavy nominal data
+				IBk hamming	  = NeighbourIndexTest.train(nominalTrain, Distance.HAMMING, k, voting, null);
+				IBk euclidean = NeighbourIndexTest.train(nominalTrain, Distance.EUCLIDEAN, k, voting, null);
+
+				NeighbourIndexTest.compare("InvertedIndex nominal" + suffix, hamming, NeighbourIndexTest.train(nominalTrain, Distance.HAMMING, k, voting, new InvertedIndex()), nominalTest);
+				NeighbourIndexTest.compare("VPTree Hamming nominal" + suffix, hamming, NeighbourIndexTest.train(nominalTrain, Distance.HAMMING, k, voting, new VPTree()), nominalTest);
+				NeighbourIndexTest.compare("KDTree nominal" + suffix, euclidean, NeighbourIndexTest.train(nominalTrain, Distance.EUCLIDEAN, k, voting, new KDTree()), nominalTest);
+				NeighbourIndexTest.compare("VPTree Euclidean nominal" + suffix, euclidean, NeighbourIndexTest.train(nominalTrain, Distance.EUCLIDEAN, k, voting, new VPTree()), nominalTest);
+
+				// Continuous data
+				for(Metric metric : new Metric[]{Distance.EUCLIDEAN, Distance.MANHATTAN, Distance.CHEBYSHEV}){
+					IBk scan = NeighbourIndexTest.train(gaussianTrain, metric, k, voting, null);
+					NeighbourIndexTest.compare("VPTree gaussian " + metric + suffix, scan, NeighbourIndexTest.train(gaussianTrain, metric, k, voting, new VPTree()), gaussianTest);
+				}
+				IBk gaussian = NeighbourIndexTest.train(gaussianTrain, Distance.EUCLIDEAN, k, voting, null);
+				NeighbourIndexTest.compare("KDTree gaussian" + suffix, gaussian, NeighbourIndexTest.train(gaussianTrain, Distance.EUCLIDEAN, k, voting, new KDTree()), gaussianTest);
+
+				// Tiles without the squared-norm expansion, on one thread and on several
+				for(Metric metric : new Metric[]{Distance.EUCLIDEAN, Distance.MANHATTAN, Distance.CHEBYSHEV, Distance.HAMMING}){
+					for(ExampleSet[] data : new ExampleSet[][]{{nominalTrain, nominalTest}, {gaussianTrain, gaussianTest}}){
+						IBk scan  = NeighbourIndexTest.train(data[0], metric, k, voting, null);
+						IBk tiled = NeighbourIndexTest.train(data[0], metric, k, voting, null);
+						tiled.setTiled(true);
+
+						ArrayList<Double> expected = scan.test(data[1]);
+						NeighbourIndexTest.compareLabels("TileScorer " + metric + suffix, expected, tiled.test(data[1]));
+						NeighbourIndexTest.compareLabels("TileScorer threads " + metric + suffix, expected, tiled.test(data[1], 3));
+					}
+				}
+
+				// Reordering keeps the labels and the neighbours
+				for(int curve : new int[]{SpaceFillingCurve.MORTON, SpaceFillingCurve.HILBERT}){
+					IBk reordered = new IBk(k);
+					reordered.setMetric(Distance.HAMMING);
+					reordered.setVoting(voting);
+					reordered.setReordering(curve);
+					reordered.train(nominalTrain);
+					NeighbourIndexTest.compare("reordered curve=" + curve + suffix, hamming, reordered, nominalTest);
+
+					reordered.setIndex(new InvertedIndex());
+					NeighbourIndexTest.compare("reordered InvertedIndex curve=" + curve + suffix, hamming, reordered, nominalTest);
+				}
+			}
+		}
+
+		System.out.println("NeighbourIndexTest: " + (checks - failures) + " of " + checks + " checks passed");
+
+		if(failures > 0){
+			System.exit(1);
+		}
+	}
+}
@@ -0,0 +1,182 @@
+/**
+ *	NeighbourTableTest checks that the accuracies a NeighbourTable computes
+ *	for every k are those of IBk trained the slow way: leave-one-out against
+ *	an IBk trained on every other example, and cross validation against an
+ *	IBk trained on each fold's training set. Both the full table and a table
+ *	holding only a few neighbours per row (so folds force rows to be scanned
+ *	again) are checked, with both kinds of voting, on seeded continuous data
+ *	and on tie-heavy nominal data.
+ *
+ *	Run with build.sh test; the process exits with status 1 if a check fails.
+ *
+ *	@author		Glenn Abastillas
+ *	@version	1.0.0
+ *	@since		October 18, 2026
+ *
+ *	NeighbourTableTest implements the following methods:
+ *		static double[] leaveOneOut(ExampleSet, Metric, int, int):							get leave-one-out accuracies with one IBk per example
+ *		static double[] crossValidate(ArrayList<ArrayList<ExampleSet>>, Metric, int, int):	get cross validation accuracies with one IBk per fold
+ *		static ArrayList<ArrayList<ExampleSet>> folds(ExampleSet, int):					split a set into views for cross validation
+ */
+package edu.classifier.ml;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Random;
+
+import edu.classifier.dataset.Example;
+import edu.classifier.dataset.ExampleSet;
+import edu.classifier.dataset.ExampleSetView;
+
+public class NeighbourTableTest{
+
+	private static int checks	= 0;
+	private static int failures = 0;
+
+	/**
+	 *	Get the leave-one-out accuracies by training an IBk on every other example
+	 *	@param	examples: ExampleSet object with labelled examples
+	 *	@param	metric: Metric object to measure distances with
+	 *	@param	maxK: largest k to evaluate
+	 *	@param	voting: Kernel.UNWEIGHTED or Kernel.WEIGHTED
+	 *	@return	accuracy for k = 1 to maxK at index k - 1
+	 */
+	static double[] leaveOneOut(ExampleSet examples, Metric metric, int maxK, int voting){
+		double[] accuracies = new double[maxK];
+		int		 n			= examples.size();
+
+		for(int k = 1; k <= maxK; k++){
+			int correct = 0;
+
+			for(int i = 0; i < n; i++){
+				int[] others = new int[n - 1];
+
+				for(int j = 0, o = 0; j < n; j++){
+					if(j != i){
+						others[o++] = j;
+					}
+				}
+
+				IBk ibk = new IBk(k);
+				ibk.setMetric(metric);
+				ibk.setVoting(voting);
+				ibk.train(new ExampleSetView(examples, others));
+
+				if(ibk.classify(examples.get(i)).equals(examples.get(i).getLabel())){
+					correct++;
+				}
+			}
+			accuracies[k - 1] = (double) correct / n;
+		}
+		return accuracies;
+	}
+
+	/**
+	 *	Get the cross validation accuracies by training an IBk on each fold's training set
+	 *	@param	folds: list of folds, each a training and a testing ExampleSet
+	 *	@param	metric: Metric object to measure distances with
+	 *	@param	maxK: largest k to evaluate
+	 *	@param	voting: Kernel.UNWEIGHTED or Kernel.WEIGHTED
+	 *	@return	accuracy over every test example for k = 1 to maxK at index k - 1
+	 */
+	static double[] crossValidate(ArrayList<ArrayList<ExampleSet>> folds, Metric metric, int maxK, int voting){
+		double[] accuracies = new double[maxK];
+
+		for(int k = 1; k <= maxK; k++){
+			int correct = 0;
+			int tested	= 0;
+
+			for(ArrayList<ExampleSet> fold : folds){
+				IBk ibk = new IBk(k);
+				ibk.setMetric(metric);
+				ibk.setVoting(voting);
+				ibk.train(fold.get(0));
+
+				ArrayList<Double> labels = ibk.test(fold.get(1));
+
+				for(int i = 0; i < labels.size(); i++){
+					if(labels.get(i).equals(fold.get(1).get(i).getLabel())){
+						correct++;
+					}
+				}
+				tested += labels.size();
+			}
+			accuracies[k - 1] = (double) correct / tested;
+		}
+		return accuracies;
+	}
+
+	/**
+	 *	Split a set into folds of views: example i is tested in fold i % count
+	 *	and trains every other fold
+	 *	@param	examples: ExampleSet object to split
+	 *	@param	count: number of folds
+	 *	@return	list of folds, each a training and a testing ExampleSetView of examples
+	 */
+	static ArrayList<ArrayList<ExampleSet>> folds(ExampleSet examples, int count){
+		ArrayList<ArrayList<ExampleSet>> folds = new ArrayList<>(count);
+		int n = examples.size();
+
+		for(int f = 0; f < count; f++){
+			int[] train = new int[n];
+			int[] test	= new int[n];
+			int	  t		= 0;
+			int	  s		= 0;
+
+			for(int i = 0; i < n; i++){
+				if(i % count == f){
+					test[s++] = i;
+				} else {
+					train[t++] = i;
+				}
+			}
+
+			ArrayList<ExampleSet> fold = new ArrayList<>(2);
+			fold.add(new ExampleSetView(examples, Arrays.copyOf(train, t)));
+			fold.add(new ExampleSetView(examples, Arrays.copyOf(test, s)));
+			folds.add(fold);
+		}
+		return folds;
+	}
+
+	// Count a check, and print it if it failed
+	private static void check(String name, double[] expected, double[] actual){
+		checks++;
+
+		if(!Arrays.equals(expected, actual)){
+			failures++;
+			System.out.println("FAILED " + name + ": expected " + Arrays.toString(expected) + " but got " + Arrays.toString(actual));
+		}
+	}
+
+	public static void main(String[] args){
+		Random random = new Random(13);
+		int	   maxK	  = 9;
+
+		ExampleSet nominal	= NeighbourIndexTest.nominal(160, 5, 3, random);
+		ExampleSet gaussian = NeighbourIndexTest.gaussian(160, 4, random);
+
+		ArrayList<ArrayList<ExampleSet>> nominalFolds  = NeighbourTableTest.folds(nominal, 5);
+		ArrayList<ArrayList<ExampleSet>> gaussianFolds = NeighbourTableTest.folds(gaussian, 5);
+
+		for(int voting : new int[]{Kernel.UNWEIGHTED, Kernel.WEIGHTED}){
+			for(int depth : new int[]{0, 12}){
+				String suffix = " depth=" + depth + " voting=" + voting;
+
+				NeighbourTable hamming	 = new NeighbourTable(nominal, Distance.HAMMING, depth, 2);
+				NeighbourTable euclidean = new NeighbourTable(gaussian, Distance.EUCLIDEAN, depth, 2);
+
+				NeighbourTableTest.check("leave-one-out nominal" + suffix, NeighbourTableTest.leaveOneOut(nominal, Distance.HAMMING, maxK, voting), hamming.leaveOneOut(maxK, voting));
+				NeighbourTableTest.check("leave-one-out gaussian" + suffix, NeighbourTableTest.leaveOneOut(gaussian, Distance.EUCLIDEAN, maxK, voting), euclidean.leaveOneOut(maxK, voting));
+				NeighbourTableTest.check("cross validation nominal" + suffix, NeighbourTableTest.crossValidate(nominalFolds, Distance.HAMMING, maxK, voting), hamming.crossValidate(nominalFolds, maxK, voting));
+				NeighbourTableTest.check("cross validation gaussian" + suffix, NeighbourTableTest.crossValidate(gaussianFolds, Distance.EUCLIDEAN, maxK, voting), euclidean.crossValidate(gaussianFolds, maxK, voting));
+			}
+		}
+
+		System.out.println("NeighbourTableTest: " + (checks - failures) + " of " + checks + " checks passed");
+
+		if(failures > 0){
+			System.exit(1);
+		}
+	}
+}